@@ -0,0 +1,99 @@
+package duke.benchmark;
+
+import duke.logic.tasks.Deadline;
+import duke.logic.tasks.Event;
+import duke.logic.tasks.Task;
+import duke.logic.tasks.ToDo;
+import duke.storage.FileStorage;
+import duke.storage.InMemoryStorage;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.stream.Stream;
+
+/**
+ * Builds task lists of a given size for the benchmarks, saved in a temporary directory
+ * so that the benchmarks never touch src/data.
+ */
+public class BenchmarkData {
+    private static final String[] WORDS = {"read", "book", "return", "project", "meeting", "buy", "milk", "report"};
+    private static final String[] TAGS = {"", "work", "home", "school"};
+    private static final LocalDate START_DATE = LocalDate.parse("2021-01-01");
+
+    private BenchmarkData() {
+    }
+
+    /**
+     * Generates a deterministic mix of todo, deadline and event tasks with ids 1 to size.
+     *
+     * @param size Number of tasks.
+     * @return The generated tasks.
+     */
+    public static ArrayList<Task> generateTasks(int size) {
+        ArrayList<Task> tasks = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            String description = WORDS[i % WORDS.length] + " " + WORDS[(i / WORDS.length) % WORDS.length] + " " + i;
+            String tag = TAGS[i % TAGS.length];
+            Task task;
+            switch (i % 3) {
+            case 0:
+                task = new ToDo(description, tag);
+                break;
+            case 1:
+                task = new Deadline(description, tag, START_DATE.plusDays(i % 365));
+                break;
+            default:
+                task = new Event(description, tag, START_DATE.plusDays(i % 365));
+                break;
+            }
+            if (i % 4 == 0) {
+                task.markAsDone();
+            }
+            task.setId(i + 1);
+            tasks.add(task);
+        }
+        return tasks;
+    }
+
+    /**
+     * Creates a temporary data directory holding a save file with the given number of tasks.
+     *
+     * @param size Number of tasks in the save file.
+     * @return The temporary data directory.
+     * @throws IOException If the directory cannot be created.
+     */
+    public static Path createDataDirectory(int size) throws IOException {
+        Path directory = Files.createTempDirectory("duke-bench");
+        new FileStorage(directory.toString()).saveTaskListToHardDisk(generateTasks(size));
+        return directory;
+    }
+
+    /**
+     * Creates an in-memory storage holding the given number of tasks, to measure without the disk.
+     *
+     * @param size Number of saved tasks.
+     * @return The storage.
+     */
+    public static InMemoryStorage createInMemoryStorage(int size) {
+        InMemoryStorage storage = new InMemoryStorage();
+        storage.saveTaskListToHardDisk(generateTasks(size));
+        return storage;
+    }
+
+    /**
+     * Deletes a temporary data directory created by {@link #createDataDirectory(int)}.
+     *
+     * @param directory The directory to delete.
+     * @throws IOException If the directory cannot be listed.
+     */
+    public static void deleteDataDirectory(Path directory) throws IOException {
+        try (Stream<Path> paths = Files.walk(directory)) {
+            paths.sorted(Comparator.reverseOrder()).map(Path::toFile).forEach(File::delete);
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package duke.benchmark;
+
+import duke.exception.DukeCorruptedSaveException;
+import duke.logic.tasks.Task;
+import duke.storage.ChunkedTaskParser;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures how parsing a whole save file scales with the number of cores parsing its chunks.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class ParallelLoadBenchmark {
+    @Param({"100000", "1000000"})
+    private int size;
+
+    @Param({"1", "2", "4", "8"})
+    private int threads;
+
+    private byte[] saveFile;
+    private ForkJoinPool pool;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        StringBuilder lines = new StringBuilder();
+        for (Task task : BenchmarkData.generateTasks(size)) {
+            lines.append(task.toSaveInHardDisk()).append(System.lineSeparator());
+        }
+        saveFile = lines.toString().getBytes(StandardCharsets.UTF_8);
+        pool = new ForkJoinPool(threads);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        pool.shutdown();
+    }
+
+    @Benchmark
+    public ArrayList<Task> parse() throws DukeCorruptedSaveException {
+        return ChunkedTaskParser.parse(saveFile, StandardCharsets.UTF_8, "duke.txt", 0, pool);
+    }
+}
@@ -0,0 +1,112 @@
+package duke.benchmark;
+
+import duke.exception.DukeInvalidCommandException;
+import duke.logic.parser.Parser;
+import duke.logic.tasks.TaskList;
+import duke.logic.tasks.ToDo;
+import duke.logic.tasks.Workspace;
+import duke.storage.FileStorage;
+import duke.storage.Storage;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures {@link Parser#invokeCommand(String)} end to end for every command type,
+ * including the save that follows each mutating command, to the disk or to memory.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class ParserBenchmark {
+    @Param({"1000", "10000", "100000", "1000000"})
+    private int size;
+
+    @Param({"list", "find", "todo", "deadline", "event", "done", "tag", "delete", "bye"})
+    private String command;
+
+    // "memory" leaves out the cost of saving, to compare with "file"
+    @Param({"file", "memory"})
+    private String storage;
+
+    private Path directory;
+    private Workspace workspace;
+    private TaskList taskList;
+    private Parser parser;
+    private String input;
+
+    @Setup(Level.Iteration)
+    public void setUp() throws IOException {
+        if (storage.equals(Storage.MEMORY_STORAGE)) {
+            workspace = new Workspace(BenchmarkData.createInMemoryStorage(size));
+        } else {
+            directory = BenchmarkData.createDataDirectory(size);
+            workspace = new Workspace(new FileStorage(directory.toString()));
+        }
+        taskList = workspace.getActiveList();
+        parser = new Parser(workspace);
+        input = getInput();
+    }
+
+    /**
+     * Puts back a task for each delete so that the list size stays constant during an iteration.
+     */
+    @Setup(Level.Invocation)
+    public void refill() {
+        if (command.equals("delete")) {
+            taskList.addTask(new ToDo("refill", ""));
+        }
+    }
+
+    @TearDown(Level.Iteration)
+    public void tearDown() throws IOException {
+        workspace.close();
+        if (directory != null) {
+            BenchmarkData.deleteDataDirectory(directory);
+            directory = null;
+        }
+    }
+
+    private String getInput() {
+        switch (command) {
+        case "find":
+            return "find report 7";
+        case "todo":
+            return "todo borrow book";
+        case "deadline":
+            return "deadline return book /by 2021-06-06";
+        case "event":
+            return "event project meeting /at 2021-08-06";
+        case "done":
+            return "done " + (size / 2);
+        case "tag":
+            return "tag " + (size / 2) + " work";
+        case "delete":
+            return "delete " + (size + 1);
+        default:
+            return command;
+        }
+    }
+
+    @Benchmark
+    public String invokeCommand() throws DukeInvalidCommandException {
+        return parser.invokeCommand(input);
+    }
+}
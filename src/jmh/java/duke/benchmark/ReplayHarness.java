@@ -0,0 +1,182 @@
+package duke.benchmark;
+
+import duke.logic.Duke;
+import duke.monitoring.LatencyHistogram;
+import duke.monitoring.WorkloadTrace;
+import duke.storage.FileStorage;
+import duke.storage.Storage;
+
+import java.io.IOException;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Replays a workload through {@link Duke#getResponse(String)} on a fresh task list and reports the throughput,
+ * the latency percentiles overall and per command, the allocation rate and the garbage collections.
+ * The workload is either a trace recorded with -Dduke.trace.file, or synthesized by {@link WorkloadGenerator}.
+ *
+ * <pre>
+ * replay TRACE_FILE [--size N] [--speed original|max] [--storage file|memory]
+ * synthesize [--size N] [--commands N] [--mix add=40,find=30,done=20,delete=10] [--seed N] [--save TRACE_FILE]
+ *     [--storage file|memory]
+ * </pre>
+ *
+ * The size is the number of tasks in the list before the workload. The tasks are saved in a temporary directory,
+ * or in memory with --storage memory to measure the commands without the cost of the disk.
+ * A recorded trace is replayed as fast as possible unless --speed original is given, which waits between
+ * the commands as long as the user did.
+ */
+public class ReplayHarness {
+    private static final String USAGE = "Usage:\n"
+            + "  replay TRACE_FILE [--size N] [--speed original|max] [--storage file|memory]\n"
+            + "  synthesize [--size N] [--commands N] [--mix " + WorkloadGenerator.DEFAULT_MIX + "] [--seed N]"
+            + " [--save TRACE_FILE] [--storage file|memory]";
+    private static final int DEFAULT_COMMANDS = 10_000;
+
+    private final LatencyHistogram latencies = new LatencyHistogram();
+    // Latencies by command name, in alphabetical order
+    private final Map<String, LatencyHistogram> latenciesByCommand = new TreeMap<>();
+
+    /**
+     * Runs the harness.
+     *
+     * @param args The mode and its options, see the usage above.
+     * @throws IOException If the trace or the task list cannot be read or written.
+     * @throws InterruptedException If interrupted while waiting between commands.
+     */
+    public static void main(String[] args) throws IOException, InterruptedException {
+        if (args.length == 0) {
+            System.err.println(USAGE);
+            System.exit(1);
+        }
+        Map<String, String> options = new TreeMap<>();
+        boolean isReplay = args[0].equals("replay");
+        if ((!isReplay && !args[0].equals("synthesize")) || (isReplay && args.length < 2)) {
+            System.err.println(USAGE);
+            System.exit(1);
+        }
+        for (int i = isReplay ? 2 : 1; i < args.length; i += 2) {
+            if (!args[i].startsWith("--") || i + 1 == args.length) {
+                System.err.println(USAGE);
+                System.exit(1);
+            }
+            options.put(args[i].substring(2), args[i + 1]);
+        }
+        int size = Integer.parseInt(options.getOrDefault("size", "0"));
+        List<WorkloadTrace.Entry> workload;
+        boolean isOriginalSpeed = false;
+        if (isReplay) {
+            workload = WorkloadTrace.read(Paths.get(args[1]));
+            isOriginalSpeed = options.getOrDefault("speed", "max").equals("original");
+        } else {
+            int commandCount = Integer.parseInt(options.getOrDefault("commands", String.valueOf(DEFAULT_COMMANDS)));
+            long seed = Long.parseLong(options.getOrDefault("seed", "42"));
+            workload = new WorkloadGenerator(options.getOrDefault("mix", WorkloadGenerator.DEFAULT_MIX))
+                    .generate(size, commandCount, seed);
+            if (options.containsKey("save")) {
+                WorkloadTrace.write(workload, Paths.get(options.get("save")));
+            }
+        }
+        boolean isInMemory = options.getOrDefault("storage", "file").equals(Storage.MEMORY_STORAGE);
+        System.out.println(new ReplayHarness().run(workload, size, isOriginalSpeed, isInMemory));
+    }
+
+    /**
+     * Replays a workload on a temporary task list, which is deleted afterwards.
+     *
+     * @param workload The commands.
+     * @param size The number of tasks in the list before the workload.
+     * @param isOriginalSpeed Whether to wait until the offset of each command before running it.
+     * @param isInMemory Whether to save the task list in memory rather than in files.
+     * @return The report.
+     * @throws IOException If the temporary task list cannot be created.
+     * @throws InterruptedException If interrupted while waiting between commands.
+     */
+    public String run(List<WorkloadTrace.Entry> workload, int size, boolean isOriginalSpeed, boolean isInMemory)
+            throws IOException, InterruptedException {
+        Path directory = isInMemory ? null : BenchmarkData.createDataDirectory(size);
+        try {
+            Duke duke = new Duke(isInMemory ? BenchmarkData.createInMemoryStorage(size)
+                    : new FileStorage(directory.toString()));
+            // the load is not part of the workload
+            duke.getTaskCount();
+            com.sun.management.ThreadMXBean threads =
+                    (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+            long threadId = Thread.currentThread().getId();
+            long allocatedBefore = threads.getThreadAllocatedBytes(threadId);
+            long[] collectionsBefore = getCollections();
+            long startNanos = System.nanoTime();
+            for (WorkloadTrace.Entry entry : workload) {
+                if (isOriginalSpeed) {
+                    long waitMillis = entry.getOffsetMillis() - (System.nanoTime() - startNanos) / 1_000_000;
+                    if (waitMillis > 0) {
+                        Thread.sleep(waitMillis);
+                    }
+                }
+                long commandStart = System.nanoTime();
+                duke.getResponse(entry.getCommand());
+                long nanos = System.nanoTime() - commandStart;
+                latencies.record(nanos);
+                latenciesByCommand.computeIfAbsent(getCommandName(entry.getCommand()), name -> new LatencyHistogram())
+                        .record(nanos);
+            }
+            long elapsedNanos = System.nanoTime() - startNanos;
+            long allocated = threads.getThreadAllocatedBytes(threadId) - allocatedBefore;
+            long[] collectionsAfter = getCollections();
+            duke.close();
+            return formatReport(workload.size(), size, isInMemory, elapsedNanos, allocated,
+                    collectionsAfter[0] - collectionsBefore[0], collectionsAfter[1] - collectionsBefore[1]);
+        } finally {
+            if (directory != null) {
+                BenchmarkData.deleteDataDirectory(directory);
+            }
+        }
+    }
+
+    private static String getCommandName(String command) {
+        String trimmed = command.trim();
+        int space = trimmed.indexOf(' ');
+        return (space < 0 ? trimmed : trimmed.substring(0, space)).toLowerCase();
+    }
+
+    /**
+     * Returns the number of garbage collections so far and the milliseconds they took, over all collectors.
+     */
+    private static long[] getCollections() {
+        long[] collections = new long[2];
+        for (GarbageCollectorMXBean collector : ManagementFactory.getGarbageCollectorMXBeans()) {
+            collections[0] += Math.max(0, collector.getCollectionCount());
+            collections[1] += Math.max(0, collector.getCollectionTime());
+        }
+        return collections;
+    }
+
+    private String formatReport(int commandCount, int size, boolean isInMemory, long elapsedNanos,
+            long allocatedBytes, long collections, long collectionMillis) {
+        double seconds = elapsedNanos / 1e9;
+        StringBuilder report = new StringBuilder();
+        report.append(String.format("Replayed %d commands on %d tasks saved %s in %.3fs: %.1f commands/s%n",
+                commandCount, size, isInMemory ? "in memory" : "in files", seconds, commandCount / seconds));
+        report.append("latency: ").append(formatHistogram(latencies)).append(System.lineSeparator());
+        for (Map.Entry<String, LatencyHistogram> command : latenciesByCommand.entrySet()) {
+            report.append(String.format("  %s: %d commands, %s%n", command.getKey(), command.getValue().getCount(),
+                    formatHistogram(command.getValue())));
+        }
+        report.append(String.format("allocated: %.1fMB on the replaying thread, %.1fMB/s, %.1fKB per command%n",
+                allocatedBytes / 1e6, allocatedBytes / 1e6 / seconds,
+                commandCount == 0 ? 0 : allocatedBytes / 1e3 / commandCount));
+        report.append(String.format("gc: %d collections, %dms", collections, collectionMillis));
+        return report.toString();
+    }
+
+    private static String formatHistogram(LatencyHistogram histogram) {
+        return String.format("p50 %.3fms, p90 %.3fms, p99 %.3fms, max %.3fms",
+                histogram.getPercentile(50) / 1e6, histogram.getPercentile(90) / 1e6,
+                histogram.getPercentile(99) / 1e6, histogram.getMax() / 1e6);
+    }
+}
@@ -0,0 +1,97 @@
+package duke.benchmark;
+
+import duke.logic.index.AutocompleteIndex;
+import duke.logic.index.FuzzyIndex;
+import duke.logic.index.SortedView;
+import duke.logic.parser.Parser;
+import duke.logic.query.Query;
+import duke.logic.tasks.TaskList;
+import duke.storage.FileStorage;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the read-only operations of the task list: searching and rendering.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class TaskListBenchmark {
+    @Param({"1000", "10000", "100000", "1000000"})
+    private int size;
+
+    // a common word and a word matching a single task
+    @Param({"book", "report 7"})
+    private String keyword;
+
+    private Path directory;
+    private TaskList taskList;
+    private AutocompleteIndex autocompleteIndex;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        directory = BenchmarkData.createDataDirectory(size);
+        taskList = new TaskList(new FileStorage(directory.toString()));
+        autocompleteIndex = new AutocompleteIndex(Parser.getCommandNames());
+        taskList.addListener(autocompleteIndex);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        BenchmarkData.deleteDataDirectory(directory);
+    }
+
+    @Benchmark
+    public String findTask() {
+        return taskList.findTask(keyword);
+    }
+
+    @Benchmark
+    public String findTaskFuzzy() {
+        return taskList.findTaskFuzzy(keyword);
+    }
+
+    @Benchmark
+    public List<String> suggest() {
+        return autocompleteIndex.suggest("find " + keyword.substring(0, 2));
+    }
+
+    @Benchmark
+    public String query() {
+        return taskList.queryTasks(new Query(false, "work", null, null, FuzzyIndex.getWords(keyword)), false);
+    }
+
+    @Benchmark
+    public String render() {
+        return taskList.toString();
+    }
+
+    @Benchmark
+    public String renderByDate() {
+        return taskList.listTasks(SortedView.Order.DATE);
+    }
+
+    @Benchmark
+    public String summarize() {
+        return taskList.summarizeTasks();
+    }
+}
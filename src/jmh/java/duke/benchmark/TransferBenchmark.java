@@ -0,0 +1,73 @@
+package duke.benchmark;
+
+import duke.exception.DukeImportException;
+import duke.logic.tasks.Task;
+import duke.storage.TaskFormat;
+import duke.storage.TaskTransfer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures importing and exporting the task list as CSV and JSON Lines.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class TransferBenchmark {
+    @Param({"10000", "100000", "1000000"})
+    private int size;
+
+    @Param({".csv", ".jsonl"})
+    private String extension;
+
+    private Path file;
+    private Path exportFile;
+    private TaskFormat format;
+    private ArrayList<Task> tasks;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        file = Files.createTempFile("duke-import", extension);
+        exportFile = Files.createTempFile("duke-export", extension);
+        format = TaskFormat.forFileName(extension);
+        tasks = BenchmarkData.generateTasks(size);
+        TaskTransfer.exportTasks(tasks, file, format);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(file);
+        Files.deleteIfExists(exportFile);
+    }
+
+    @Benchmark
+    public List<Task> importTasks() throws IOException, DukeImportException {
+        return TaskTransfer.importTasks(file, format);
+    }
+
+    @Benchmark
+    public int exportTasks() throws IOException {
+        return TaskTransfer.exportTasks(tasks, exportFile, format);
+    }
+}
@@ -0,0 +1,76 @@
+package duke.benchmark;
+
+import duke.logic.tasks.TaskList;
+import duke.storage.FileStorage;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the time from opening a task list to the answer of its first typo tolerant search, with the text
+ * index saved by the previous run or without it, when the search scans the list while the index is built.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class WarmStartBenchmark {
+    @Param({"10000", "100000", "1000000"})
+    private int size;
+
+    // "saved" to start with the text index of the previous run, "none" to start without it
+    @Param({"saved", "none"})
+    private String textIndex;
+
+    private Path directory;
+    private TaskList taskList;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        directory = BenchmarkData.createDataDirectory(size);
+        TaskList firstRun = new TaskList(new FileStorage(directory.toString()));
+        // waits for the index, which close then saves
+        firstRun.findTaskFuzzy("report");
+        firstRun.close();
+    }
+
+    @Setup(Level.Invocation)
+    public void removeSavedIndex() throws IOException {
+        if (textIndex.equals("none")) {
+            Files.deleteIfExists(directory.resolve("text.index"));
+        }
+    }
+
+    @TearDown(Level.Invocation)
+    public void closeTaskList() {
+        taskList.close();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        BenchmarkData.deleteDataDirectory(directory);
+    }
+
+    @Benchmark
+    public String openAndSearch() {
+        taskList = new TaskList(new FileStorage(directory.toString()));
+        return taskList.findTaskFuzzy("reprot");
+    }
+}
@@ -0,0 +1,125 @@
+package duke.benchmark;
+
+import duke.monitoring.WorkloadTrace;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Synthesizes workloads of add, find, done, delete and list commands in a given mix, on a task list of a
+ * given size. The size of the list is followed along the workload, so every done and delete refers to a task
+ * that exists when the commands are replayed in order.
+ */
+public class WorkloadGenerator {
+    public static final String DEFAULT_MIX = "add=40,find=30,done=20,delete=10";
+    private static final String[] WORDS = {"read", "book", "return", "project", "meeting", "buy", "milk", "report"};
+    private static final String[] KINDS = {"add", "find", "done", "delete", "list"};
+
+    private final Map<String, Integer> weights;
+    private final int totalWeight;
+
+    /**
+     * Constructs a generator for the given mix.
+     *
+     * @param mix The weight of each kind of command, e.g. {@value #DEFAULT_MIX}.
+     *     The kinds are add, find, done, delete and list, those left out are not generated.
+     */
+    public WorkloadGenerator(String mix) {
+        weights = parseMix(mix);
+        int total = 0;
+        for (int weight : weights.values()) {
+            total += weight;
+        }
+        if (total == 0) {
+            throw new IllegalArgumentException("The mix " + mix + " has no command");
+        }
+        totalWeight = total;
+    }
+
+    private static Map<String, Integer> parseMix(String mix) {
+        Map<String, Integer> weights = new LinkedHashMap<>();
+        for (String part : mix.split(",")) {
+            String[] kindAndWeight = part.trim().split("=");
+            if (kindAndWeight.length != 2 || !List.of(KINDS).contains(kindAndWeight[0])) {
+                throw new IllegalArgumentException("Invalid mix " + mix + ", expected e.g. " + DEFAULT_MIX);
+            }
+            int weight = Integer.parseInt(kindAndWeight[1]);
+            if (weight < 0) {
+                throw new IllegalArgumentException("Invalid mix " + mix + ", the weights cannot be negative");
+            }
+            weights.put(kindAndWeight[0], weight);
+        }
+        return weights;
+    }
+
+    /**
+     * Generates a workload. The commands are all at offset 0, so they are replayed back to back.
+     *
+     * @param initialSize The number of tasks in the list before the workload.
+     * @param commandCount The number of commands.
+     * @param seed The seed of the random choices, the same seed gives the same workload.
+     * @return The commands.
+     */
+    public List<WorkloadTrace.Entry> generate(int initialSize, int commandCount, long seed) {
+        Random random = new Random(seed);
+        List<WorkloadTrace.Entry> entries = new ArrayList<>(commandCount);
+        int size = initialSize;
+        for (int i = 0; i < commandCount; i++) {
+            String kind = pickKind(random);
+            if (size == 0 && (kind.equals("done") || kind.equals("delete"))) {
+                // there is no task to refer to yet
+                kind = "add";
+            }
+            String command;
+            switch (kind) {
+            case "add":
+                command = generateAdd(random, size);
+                size++;
+                break;
+            case "find":
+                command = "find " + WORDS[random.nextInt(WORDS.length)];
+                break;
+            case "done":
+                command = "done " + (random.nextInt(size) + 1);
+                break;
+            case "delete":
+                command = "delete " + (random.nextInt(size) + 1);
+                size--;
+                break;
+            default:
+                command = "list";
+                break;
+            }
+            entries.add(new WorkloadTrace.Entry(0, command));
+        }
+        return entries;
+    }
+
+    private String pickKind(Random random) {
+        int value = random.nextInt(totalWeight);
+        for (Map.Entry<String, Integer> weight : weights.entrySet()) {
+            value -= weight.getValue();
+            if (value < 0) {
+                return weight.getKey();
+            }
+        }
+        throw new AssertionError("The weights add up to " + totalWeight);
+    }
+
+    private static String generateAdd(Random random, int size) {
+        String description = WORDS[random.nextInt(WORDS.length)] + " " + WORDS[random.nextInt(WORDS.length)]
+                + " " + size;
+        String date = "2021-" + String.format("%02d-%02d", random.nextInt(12) + 1, random.nextInt(28) + 1);
+        switch (random.nextInt(3)) {
+        case 0:
+            return "todo " + description;
+        case 1:
+            return "deadline " + description + " /by " + date;
+        default:
+            return "event " + description + " /at " + date;
+        }
+    }
+}
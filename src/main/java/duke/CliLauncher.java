@@ -0,0 +1,13 @@
+package duke;
+
+import duke.gui.TextUi;
+
+/**
+ * Entry point of the text user interface, for terminals, scripts and cron jobs.
+ * Unlike {@link Launcher}, it never loads JavaFX, so it doesn't pay for starting the toolkit.
+ */
+public class CliLauncher {
+    public static void main(String[] args) {
+        new TextUi().start();
+    }
+}
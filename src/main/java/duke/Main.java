@@ -4,6 +4,7 @@ import java.io.IOException;
 
 import duke.gui.MainWindow;
 import duke.logic.Duke;
+import duke.monitoring.Metrics;
 import javafx.application.Application;
 import javafx.fxml.FXMLLoader;
 import javafx.scene.Scene;
@@ -28,6 +29,7 @@ public class Main extends Application {
             stage.setScene(scene);
             fxmlLoader.<MainWindow>getController().setDuke(duke);
             stage.show();
+            Metrics.recordFirstPrompt();
         } catch (IOException e) {
             e.printStackTrace();
         }
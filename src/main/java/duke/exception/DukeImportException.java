@@ -0,0 +1,16 @@
+package duke.exception;
+
+/**
+ * Exception when a file to import has an invalid record.
+ */
+public class DukeImportException extends Exception {
+
+    /**
+     * Constructor for the duke.exception.
+     *
+     * @param message Exception message, saying which line is invalid.
+     */
+    public DukeImportException(String message) {
+        super(message);
+    }
+}
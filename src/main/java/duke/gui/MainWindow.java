@@ -1,14 +1,32 @@
 package duke.gui;
 
 import duke.logic.Duke;
+import duke.logic.tasks.Task;
+import duke.monitoring.UserInputEvent;
+import javafx.application.Platform;
+import javafx.beans.property.ReadOnlyObjectWrapper;
+import javafx.beans.property.ReadOnlyStringWrapper;
 import javafx.fxml.FXML;
+import javafx.geometry.Side;
 import javafx.scene.control.Button;
+import javafx.scene.control.ContextMenu;
+import javafx.scene.control.MenuItem;
 import javafx.scene.control.ScrollPane;
+import javafx.scene.control.TableCell;
+import javafx.scene.control.TableColumn;
+import javafx.scene.control.TableView;
 import javafx.scene.control.TextField;
 import javafx.scene.image.Image;
 import javafx.scene.layout.AnchorPane;
 import javafx.scene.layout.VBox;
 import javafx.stage.Stage;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+
 /**
  * Controller for MainWindow. Provides the layout for the other controls.
  */
@@ -21,8 +39,30 @@ public class MainWindow extends AnchorPane {
     private TextField userInput;
     @FXML
     private Button sendButton;
+    @FXML
+    private TableView<Task> taskTable;
+    @FXML
+    private TableColumn<Task, Task> indexColumn;
+    @FXML
+    private TableColumn<Task, String> typeColumn;
+    @FXML
+    private TableColumn<Task, String> doneColumn;
+    @FXML
+    private TableColumn<Task, String> descriptionColumn;
+    @FXML
+    private TableColumn<Task, String> dateColumn;
+    @FXML
+    private TableColumn<Task, String> tagColumn;
 
     private Duke duke;
+    private final ContextMenu suggestionMenu = new ContextMenu();
+    // Looks the suggestions up off the FX thread, only the ones for the latest input are shown
+    private final ExecutorService suggestionExecutor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "autocomplete");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final AtomicLong latestSuggestionRequest = new AtomicLong();
 
     private Image userImage = new Image(this.getClass().getResourceAsStream("/images/DaUser.png"));
     private Image dukeImage = new Image(this.getClass().getResourceAsStream("/images/DaDuke.png"));
@@ -30,10 +70,88 @@ public class MainWindow extends AnchorPane {
     @FXML
     public void initialize() {
         scrollPane.vvalueProperty().bind(dialogContainer.heightProperty());
+        initializeTaskTable();
+        userInput.textProperty().addListener((observable, oldText, text) -> requestSuggestions(text));
+    }
+
+    /**
+     * Looks up the suggestions for the input on the autocomplete thread. A lookup is skipped if the input
+     * changed again before it started, and its suggestions are dropped if it changed before they are shown.
+     */
+    private void requestSuggestions(String text) {
+        long request = latestSuggestionRequest.incrementAndGet();
+        if (duke == null || text.isBlank()) {
+            suggestionMenu.hide();
+            return;
+        }
+        suggestionExecutor.execute(() -> {
+            if (request != latestSuggestionRequest.get()) {
+                return;
+            }
+            List<String> suggestions = duke.getSuggestions(text);
+            Platform.runLater(() -> showSuggestions(request, suggestions));
+        });
     }
 
+    private void showSuggestions(long request, List<String> suggestions) {
+        if (request != latestSuggestionRequest.get()) {
+            return;
+        }
+        if (suggestions.isEmpty()) {
+            suggestionMenu.hide();
+            return;
+        }
+        List<MenuItem> items = new ArrayList<>();
+        for (String suggestion : suggestions) {
+            MenuItem item = new MenuItem(suggestion);
+            item.setOnAction(event -> {
+                userInput.setText(suggestion);
+                userInput.positionCaret(suggestion.length());
+            });
+            items.add(item);
+        }
+        suggestionMenu.getItems().setAll(items);
+        if (!suggestionMenu.isShowing()) {
+            suggestionMenu.show(userInput, Side.TOP, 0, 0);
+        }
+    }
+
+    /**
+     * Sets up the task table. Only the visible rows have cells, and the fixed row height spares measuring
+     * every row, so the table stays responsive with any number of tasks.
+     */
+    private void initializeTaskTable() {
+        taskTable.setFixedCellSize(24);
+        indexColumn.setCellValueFactory(cell -> new ReadOnlyObjectWrapper<>(cell.getValue()));
+        // the index is the row position, updated by the table itself when rows are inserted or removed above
+        indexColumn.setCellFactory(column -> new TableCell<>() {
+            @Override
+            protected void updateItem(Task task, boolean isEmpty) {
+                super.updateItem(task, isEmpty);
+                setText(isEmpty || task == null ? null : String.valueOf(getIndex() + 1));
+            }
+        });
+        typeColumn.setCellValueFactory(cell -> new ReadOnlyStringWrapper(cell.getValue().getClass().getSimpleName()));
+        doneColumn.setCellValueFactory(cell -> new ReadOnlyStringWrapper(cell.getValue().getStatusIcon()));
+        descriptionColumn.setCellValueFactory(cell -> new ReadOnlyStringWrapper(cell.getValue().getDescription()));
+        dateColumn.setCellValueFactory(cell -> new ReadOnlyStringWrapper(
+                cell.getValue().getDate() == null ? "" : cell.getValue().getDate().toString()));
+        tagColumn.setCellValueFactory(cell -> new ReadOnlyStringWrapper(cell.getValue().getTag()));
+    }
+
+    /**
+     * Sets the Duke instance replying to the user, shows its tasks in the task table and its reminders
+     * as they come.
+     *
+     * @param d The Duke instance.
+     */
     public void setDuke(Duke d) {
         duke = d;
+        TaskTableModel taskTableModel = new TaskTableModel();
+        taskTable.setItems(taskTableModel.getRows());
+        duke.addTaskListListener(taskTableModel);
+        duke.setReminderListener(message -> Platform.runLater(() ->
+                dialogContainer.getChildren().add(DialogBox.getDukeDialog(message, dukeImage))));
     }
 
     /**
@@ -42,13 +160,22 @@ public class MainWindow extends AnchorPane {
      */
     @FXML
     private void handleUserInput() {
+        UserInputEvent event = new UserInputEvent();
+        event.begin();
         String input = userInput.getText();
         String response = duke.getResponse(input);
+        long startTime = System.nanoTime();
         dialogContainer.getChildren().addAll(
                 DialogBox.getUserDialog(input, userImage),
                 DialogBox.getDukeDialog(response, dukeImage)
         );
         userInput.clear();
+        duke.recordRenderTime(System.nanoTime() - startTime);
+        event.end();
+        if (event.shouldCommit()) {
+            event.command = input.trim().split(" ", 2)[0];
+            event.commit();
+        }
         
         if (duke.isExited) {
             Stage stage = (Stage) userInput.getScene().getWindow();
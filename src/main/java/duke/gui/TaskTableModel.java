@@ -0,0 +1,98 @@
+package duke.gui;
+
+import duke.logic.tasks.PersistentTaskTree;
+import duke.logic.tasks.Task;
+import duke.logic.tasks.TaskListListener;
+import javafx.application.Platform;
+import javafx.collections.FXCollections;
+import javafx.collections.ObservableList;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * The rows of the task table, one per task in list order, following the changes of the task list.
+ * Each change replaces, inserts or removes only the row of the changed task, so the table redraws only
+ * the rows that changed. Changes come from the command thread and are queued, then applied in batches
+ * on the JavaFX thread.
+ */
+public class TaskTableModel implements TaskListListener {
+    private final ObservableList<Task> rows = FXCollections.observableArrayList();
+    private final ConcurrentLinkedQueue<Runnable> pendingUpdates = new ConcurrentLinkedQueue<>();
+    private final AtomicBoolean isDrainScheduled = new AtomicBoolean();
+
+    /**
+     * Returns the rows, only to be read on the JavaFX thread.
+     *
+     * @return The tasks in list order.
+     */
+    public ObservableList<Task> getRows() {
+        return rows;
+    }
+
+    @Override
+    public void onTasksLoaded(PersistentTaskTree tasks) {
+        List<Task> loadedTasks = new ArrayList<>(tasks.size());
+        for (Task task : tasks) {
+            loadedTasks.add(task);
+        }
+        enqueue(() -> rows.setAll(loadedTasks));
+    }
+
+    @Override
+    public void onTaskChanged(Task oldTask, Task newTask) {
+        enqueue(() -> apply(oldTask, newTask));
+    }
+
+    private void apply(Task oldTask, Task newTask) {
+        int position = findRow(newTask == null ? oldTask.getId() : newTask.getId());
+        if (newTask == null) {
+            if (position >= 0) {
+                rows.remove(position);
+            }
+        } else if (position >= 0) {
+            rows.set(position, newTask);
+        } else {
+            rows.add(-position - 1, newTask);
+        }
+    }
+
+    /**
+     * Finds the row of a task by binary search, since the rows are in id order.
+     *
+     * @return The row, or -(insertion row) - 1 if the task has no row.
+     */
+    private int findRow(int id) {
+        int low = 0;
+        int high = rows.size() - 1;
+        while (low <= high) {
+            int middle = (low + high) >>> 1;
+            int middleId = rows.get(middle).getId();
+            if (middleId < id) {
+                low = middle + 1;
+            } else if (middleId > id) {
+                high = middle - 1;
+            } else {
+                return middle;
+            }
+        }
+        return -low - 1;
+    }
+
+    private void enqueue(Runnable update) {
+        pendingUpdates.add(update);
+        if (isDrainScheduled.compareAndSet(false, true)) {
+            Platform.runLater(this::drain);
+        }
+    }
+
+    private void drain() {
+        isDrainScheduled.set(false);
+        Runnable update;
+        while ((update = pendingUpdates.poll()) != null) {
+            update.run();
+        }
+    }
+}
@@ -1,9 +1,7 @@
 package duke.gui;
 
-import duke.exception.DukeInvalidCommandException;
-import duke.logic.command.ByeCommand;
-import duke.logic.parser.Parser;
-import duke.logic.tasks.TaskList;
+import duke.logic.Duke;
+import duke.monitoring.Metrics;
 
 import java.util.Scanner;
 
@@ -12,7 +10,7 @@ import java.util.Scanner;
  */
 public class TextUi {
     private final Scanner sc = new Scanner(System.in);
-    private final TaskList tasks = new TaskList();
+    private final Duke duke = new Duke();
     /**
      * Greets the user.
      */
@@ -49,11 +47,12 @@ public class TextUi {
     }
 
     /**
-     * Prints out the formatted version of any string content between two horizontal lines
+     * Prints out the formatted version of any string content between two horizontal lines.
+     * Synchronized since reminders are printed from another thread.
      *
      * @param content Content to display.
      */
-    public static void displayWithLines(String content) {
+    public static synchronized void displayWithLines(String content) {
         insertSeparateLine();
         System.out.println("\t" + " " + content);
         insertSeparateLine();
@@ -64,21 +63,14 @@ public class TextUi {
      */
     public void start() {
         sendGreetings();
-        String currentCommand = sc.nextLine().trim();
-        Parser parser = new Parser(tasks);
-
-        // a bit of hard-code here
-        // find a way to get rid of this while loop condition
-        while (!currentCommand.equals("bye")) {
-            try {
-                displayWithLines(parser.invokeCommand(currentCommand));
-            } catch (DukeInvalidCommandException e) {
-                displayWithLines(e.getMessage());
-            }
-            currentCommand = sc.nextLine().trim();
+        Metrics.recordFirstPrompt();
+        duke.setReminderListener(TextUi::displayWithLines);
+        while (!duke.isExited && sc.hasNextLine()) {
+            String response = duke.getResponse(sc.nextLine().trim());
+            long startTime = System.nanoTime();
+            displayWithLines(response);
+            duke.recordRenderTime(System.nanoTime() - startTime);
         }
-        // can't access the task list from here so null is used
-        displayWithLines(new ByeCommand().executeCommand(null));
         sc.close();
     }
 }
@@ -1,25 +1,99 @@
 package duke.logic;
 
 import duke.exception.DukeInvalidCommandException;
+import duke.logic.index.AutocompleteIndex;
 import duke.logic.parser.Parser;
-import duke.logic.tasks.TaskList;
+import duke.logic.reminder.ReminderScheduler;
+import duke.logic.tasks.TaskListListener;
+import duke.logic.tasks.Workspace;
+import duke.monitoring.Metrics;
+import duke.monitoring.Phase;
+import duke.monitoring.WorkloadRecorder;
+import duke.storage.Storage;
 
-import java.util.Locale;
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
 
 /**
  * Main program
  */
 public class Duke {
+    private static final String STATS_FILENAME = "stats.txt";
+
     private Parser parser;
-    private TaskList taskList;
+    private Workspace workspace;
+    private AutocompleteIndex autocompleteIndex;
+    private File statsFile;
+    // Records the commands in a trace file to replay them later, null unless asked for
+    private final WorkloadRecorder workloadRecorder = WorkloadRecorder.fromSystemProperty();
+    // Receives the reminders, which are kept until a user interface is there to show them
+    private Consumer<String> reminderListener;
+    private final List<String> pendingReminders = new ArrayList<>();
     public boolean isExited;
 
     /**
      * Constructs a Duke object
      */
     public Duke() {
-        this.taskList = new TaskList();
-        this.parser = new Parser(taskList);
+        this(Storage.fromSystemProperties());
+    }
+
+    /**
+     * Constructs a Duke object backed by the given storage.
+     *
+     * @param storage Where the default task list is loaded from and saved to, the other lists are saved under it.
+     */
+    public Duke(Storage storage) {
+        this.workspace = new Workspace(storage);
+        this.parser = new Parser(workspace);
+        this.statsFile = storage.getDataFile(STATS_FILENAME);
+        this.workspace.addListener(new ReminderScheduler(this::remind));
+        this.autocompleteIndex = new AutocompleteIndex(Parser.getCommandNames());
+        this.workspace.addListener(autocompleteIndex);
+    }
+
+    /**
+     * Suggests how to complete the input being typed, from the command names and the words and tags
+     * of the tasks in use. Waits for the tasks to be indexed, so it should not be called on the user interface thread.
+     *
+     * @param input The input typed so far.
+     * @return The suggested inputs.
+     */
+    public List<String> getSuggestions(String input) {
+        return autocompleteIndex.suggest(input);
+    }
+
+    /**
+     * Sets where reminders of upcoming deadlines and events are shown, and shows the reminders sent so far.
+     * The listener is called on the reminder thread.
+     *
+     * @param listener Receives the reminder messages.
+     */
+    public synchronized void setReminderListener(Consumer<String> listener) {
+        this.reminderListener = listener;
+        pendingReminders.forEach(listener);
+        pendingReminders.clear();
+    }
+
+    /**
+     * Adds a listener notified of every change to the task list in use, e.g. to show the tasks in a view.
+     * It gets the tasks of the other list when the user switches lists.
+     *
+     * @param listener The listener.
+     */
+    public void addTaskListListener(TaskListListener listener) {
+        workspace.addListener(listener);
+    }
+
+    private synchronized void remind(String message) {
+        if (reminderListener == null) {
+            pendingReminders.add(message);
+        } else {
+            reminderListener.accept(message);
+        }
     }
 
     /**
@@ -29,6 +103,9 @@ public class Duke {
      * @return A string describing the program's response to the user input.
      */
     public String getResponse(String userCommandText) {
+        if (workloadRecorder != null) {
+            workloadRecorder.record(userCommandText);
+        }
         String result;
         try {
             result = parser.invokeCommand(userCommandText);
@@ -37,9 +114,50 @@ public class Duke {
         }
         if (userCommandText.trim().equals("bye")) {
             this.isExited = true;
+            exportStats();
+            // doesn't wait for the lists still loading, the indexes that changed are saved in the background
+            workspace.closeOnExit();
+            if (workloadRecorder != null) {
+                workloadRecorder.close();
+            }
         }
         return result;
     }
-    
-    
+
+    /**
+     * Returns the number of tasks in the list in use, waiting for it to be loaded.
+     *
+     * @return The number of tasks.
+     */
+    public int getTaskCount() {
+        return workspace.getActiveList().getSize();
+    }
+
+    /**
+     * Waits for every change to be saved, saves the indexes that changed and stops following the save files,
+     * e.g. before deleting them.
+     */
+    public void close() {
+        workspace.close();
+    }
+
+    /**
+     * Records how long the user interface took to display the response of the last command.
+     *
+     * @param nanos The display duration in nanoseconds.
+     */
+    public void recordRenderTime(long nanos) {
+        Metrics.recordPhase(parser.getLastCommandName(), Phase.RENDER, nanos);
+    }
+
+    private void exportStats() {
+        if (statsFile == null) {
+            return;
+        }
+        try {
+            Metrics.exportToFile(statsFile);
+        } catch (IOException e) {
+            // statistics are best effort, exiting must not fail because of them
+        }
+    }
 }
@@ -0,0 +1,23 @@
+package duke.logic.command;
+
+import duke.logic.tasks.TaskList;
+
+import java.time.LocalDate;
+
+public class ArchiveCommand extends Command {
+    private LocalDate doneBefore;
+
+    /**
+     * Constructs a command archiving the done tasks.
+     *
+     * @param doneBefore Only tasks done before this date are archived, null to archive every done task.
+     */
+    public ArchiveCommand(LocalDate doneBefore) {
+        this.doneBefore = doneBefore;
+    }
+
+    @Override
+    public String executeCommand(TaskList taskList) {
+        return taskList.archiveDoneTasks(doneBefore);
+    }
+}
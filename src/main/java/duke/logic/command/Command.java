@@ -7,4 +7,13 @@ import duke.logic.tasks.TaskList;
 
 public abstract class Command {
     public abstract String executeCommand(TaskList taskList);
+
+    /**
+     * Returns the name of the command type, e.g. todo for a ToDoCommand.
+     *
+     * @return The command type name.
+     */
+    public String getName() {
+        return getClass().getSimpleName().replace("Command", "").toLowerCase();
+    }
 }
@@ -0,0 +1,40 @@
+package duke.logic.command;
+
+import duke.logic.tasks.TaskList;
+
+import java.time.LocalDate;
+
+public class ConflictsCommand extends Command {
+    // Length of the range looked at when none is given, starting today
+    private static final int DEFAULT_RANGE_YEARS = 1;
+
+    private final LocalDate from;
+    private final LocalDate to;
+
+    /**
+     * Constructs a command listing the conflicting events from today to a year from now.
+     */
+    public ConflictsCommand() {
+        this(null, null);
+    }
+
+    /**
+     * Constructs a command listing the conflicting events within a range of dates.
+     *
+     * @param from The first date of the range.
+     * @param to The last date of the range.
+     */
+    public ConflictsCommand(LocalDate from, LocalDate to) {
+        this.from = from;
+        this.to = to;
+    }
+
+    @Override
+    public String executeCommand(TaskList taskList) {
+        if (from == null) {
+            LocalDate today = LocalDate.now();
+            return taskList.findConflictingEvents(today, today.plusYears(DEFAULT_RANGE_YEARS));
+        }
+        return taskList.findConflictingEvents(from, to);
+    }
+}
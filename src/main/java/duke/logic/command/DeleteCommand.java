@@ -4,13 +4,22 @@ import duke.logic.tasks.TaskList;
 
 public class DeleteCommand extends Command {
     private int taskIndex;
+    private boolean isById;
 
     public DeleteCommand(int taskIndex) {
+        this(taskIndex, false);
+    }
+
+    public DeleteCommand(int taskIndex, boolean isById) {
         this.taskIndex = taskIndex;
+        this.isById = isById;
     }
 
     @Override
     public String executeCommand(TaskList taskList) {
+        if (isById) {
+            return taskList.deleteTaskById(taskIndex);
+        }
         return taskList.deleteTask(taskIndex);
     }
 }
@@ -4,13 +4,22 @@ import duke.logic.tasks.TaskList;
 
 public class DoneCommand extends Command {
     private int taskIndex;
+    private boolean isById;
 
     public DoneCommand(int taskIndex) {
+        this(taskIndex, false);
+    }
+
+    public DoneCommand(int taskIndex, boolean isById) {
         this.taskIndex = taskIndex;
+        this.isById = isById;
     }
 
     @Override
     public String executeCommand(TaskList taskList) {
+        if (isById) {
+            return taskList.markTaskAsDoneById(taskIndex);
+        }
         return taskList.markTaskAsDone(taskIndex);
     }
 }
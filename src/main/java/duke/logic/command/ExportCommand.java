@@ -0,0 +1,34 @@
+package duke.logic.command;
+
+import duke.logic.tasks.TaskList;
+import duke.storage.TaskFormat;
+import duke.storage.TaskTransfer;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+public class ExportCommand extends Command {
+    private Path file;
+    private TaskFormat format;
+
+    /**
+     * Constructs a command writing the task list to a file.
+     *
+     * @param file The file, replaced if it exists.
+     * @param format The format of the file.
+     */
+    public ExportCommand(Path file, TaskFormat format) {
+        this.file = file;
+        this.format = format;
+    }
+
+    @Override
+    public String executeCommand(TaskList taskList) {
+        try {
+            int count = TaskTransfer.exportTasks(taskList.getSnapshot(), file, format);
+            return "Noted. I've exported " + count + (count == 1 ? " task" : " tasks") + " to " + file;
+        } catch (IOException e) {
+            return "OOPS!!! Can't write " + file;
+        }
+    }
+}
@@ -4,13 +4,38 @@ import duke.logic.tasks.TaskList;
 
 public class FindCommand extends Command {
     private String keyword;
+    private Mode mode;
+
+    /**
+     * How the keyword is matched.
+     */
+    public enum Mode {
+        // tasks in the list containing the keyword
+        EXACT,
+        // tasks in the list with words close to the keyword, ranked by edit distance
+        FUZZY,
+        // archived tasks containing the keyword
+        ARCHIVE
+    }
 
     public FindCommand(String keyword) {
+        this(keyword, Mode.EXACT);
+    }
+
+    public FindCommand(String keyword, Mode mode) {
         this.keyword = keyword;
+        this.mode = mode;
     }
 
     @Override
     public String executeCommand(TaskList taskList) {
-        return taskList.findTask(keyword);
+        switch (mode) {
+        case FUZZY:
+            return taskList.findTaskFuzzy(keyword);
+        case ARCHIVE:
+            return taskList.findArchivedTask(keyword);
+        default:
+            return taskList.findTask(keyword);
+        }
     }
 }
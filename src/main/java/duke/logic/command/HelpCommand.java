@@ -0,0 +1,38 @@
+package duke.logic.command;
+
+import duke.logic.tasks.TaskList;
+
+public class HelpCommand extends Command {
+    private static final String HELP_MESSAGE = "Here are the commands you can use:\n"
+            + "\t todo <description>\n"
+            + "\t deadline <description> /by <yyyy-mm-dd> [/every day|week|month|year]\n"
+            + "\t event <description> /at <yyyy-mm-dd> [/to <yyyy-mm-dd>] [/every day|week|month|year]\n"
+            + "\t list [by:date|status|tag]\n"
+            + "\t find [--archive] <keyword>\n"
+            + "\t find ~<keyword>\n"
+            + "\t query [--explain] [done:true|false] [tag:<tag>] [before:<yyyy-mm-dd>] [after:<yyyy-mm-dd>] "
+            + "[text:<word>]\n"
+            + "\t overlaps <yyyy-mm-dd> [<yyyy-mm-dd>]\n"
+            + "\t conflicts [<yyyy-mm-dd> <yyyy-mm-dd>]\n"
+            + "\t done <index or @id>\n"
+            + "\t delete <index or @id>\n"
+            + "\t tag <index or @id> <tag>\n"
+            + "\t archive [<days since done>]\n"
+            + "\t import <file.csv or file.jsonl>\n"
+            + "\t export <file.csv or file.jsonl>\n"
+            + "\t use <list name>\n"
+            + "\t undo\n"
+            + "\t redo\n"
+            + "\t summary\n"
+            + "\t stats\n"
+            + "\t help\n"
+            + "\t bye";
+
+    /**
+     * Returns the list of commands. The task list is not used, so this never waits for it to load.
+     */
+    @Override
+    public String executeCommand(TaskList taskList) {
+        return HELP_MESSAGE;
+    }
+}
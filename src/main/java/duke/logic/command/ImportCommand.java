@@ -0,0 +1,46 @@
+package duke.logic.command;
+
+import duke.exception.DukeImportException;
+import duke.logic.tasks.Task;
+import duke.logic.tasks.TaskList;
+import duke.storage.TaskFormat;
+import duke.storage.TaskTransfer;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+
+public class ImportCommand extends Command {
+    private Path file;
+    private TaskFormat format;
+
+    /**
+     * Constructs a command adding the tasks of a file to the task list.
+     *
+     * @param file The file.
+     * @param format The format of the file.
+     */
+    public ImportCommand(Path file, TaskFormat format) {
+        this.file = file;
+        this.format = format;
+    }
+
+    /**
+     * Reads the whole file before changing the task list, so an invalid line imports nothing.
+     */
+    @Override
+    public String executeCommand(TaskList taskList) {
+        List<Task> tasks;
+        try {
+            tasks = TaskTransfer.importTasks(file, format);
+        } catch (IOException e) {
+            return "OOPS!!! Can't read " + file;
+        } catch (DukeImportException e) {
+            return e.getMessage();
+        }
+        if (tasks.isEmpty()) {
+            return "There are no tasks in " + file;
+        }
+        return taskList.addTasks(tasks);
+    }
+}
@@ -1,10 +1,24 @@
 package duke.logic.command;
 
+import duke.logic.index.SortedView;
 import duke.logic.tasks.TaskList;
 
 public class ListCommand extends Command {
+    private SortedView.Order order;
+
+    public ListCommand() {
+        this(null);
+    }
+
+    public ListCommand(SortedView.Order order) {
+        this.order = order;
+    }
+
     @Override
     public String executeCommand(TaskList taskList) {
-        return taskList.toString();
+        if (order == null) {
+            return taskList.toString();
+        }
+        return taskList.listTasks(order);
     }
 }
@@ -0,0 +1,26 @@
+package duke.logic.command;
+
+import duke.logic.tasks.TaskList;
+
+import java.time.LocalDate;
+
+public class OverlapsCommand extends Command {
+    private final LocalDate from;
+    private final LocalDate to;
+
+    /**
+     * Constructs a command listing the events overlapping a range of dates.
+     *
+     * @param from The first date of the range.
+     * @param to The last date of the range.
+     */
+    public OverlapsCommand(LocalDate from, LocalDate to) {
+        this.from = from;
+        this.to = to;
+    }
+
+    @Override
+    public String executeCommand(TaskList taskList) {
+        return taskList.findOverlappingEvents(from, to);
+    }
+}
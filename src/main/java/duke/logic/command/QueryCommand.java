@@ -0,0 +1,25 @@
+package duke.logic.command;
+
+import duke.logic.query.Query;
+import duke.logic.tasks.TaskList;
+
+public class QueryCommand extends Command {
+    private Query query;
+    private boolean isExplained;
+
+    /**
+     * Constructs a command finding the tasks matching a query.
+     *
+     * @param query The query.
+     * @param isExplained Whether to show the plan of the query instead of the tasks.
+     */
+    public QueryCommand(Query query, boolean isExplained) {
+        this.query = query;
+        this.isExplained = isExplained;
+    }
+
+    @Override
+    public String executeCommand(TaskList taskList) {
+        return taskList.queryTasks(query, isExplained);
+    }
+}
@@ -0,0 +1,11 @@
+package duke.logic.command;
+
+import duke.logic.tasks.TaskList;
+import duke.monitoring.Metrics;
+
+public class StatsCommand extends Command {
+    @Override
+    public String executeCommand(TaskList taskList) {
+        return Metrics.getReport();
+    }
+}
@@ -5,14 +5,23 @@ import duke.logic.tasks.TaskList;
 public class TagCommand extends Command {
     private int index;
     private String tag;
+    private boolean isById;
     
     public TagCommand(int index, String tag) {
+        this(index, tag, false);
+    }
+
+    public TagCommand(int index, String tag, boolean isById) {
         this.index = index;
         this.tag = tag;
+        this.isById = isById;
     }
     
     @Override
     public String executeCommand(TaskList taskList) {
+        if (isById) {
+            return taskList.tagTaskById(index, tag);
+        }
         return taskList.tagTask(index, tag);
     }
 }
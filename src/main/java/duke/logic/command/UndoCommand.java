@@ -0,0 +1,10 @@
+package duke.logic.command;
+
+import duke.logic.tasks.TaskList;
+
+public class UndoCommand extends Command {
+    @Override
+    public String executeCommand(TaskList taskList) {
+        return taskList.undo();
+    }
+}
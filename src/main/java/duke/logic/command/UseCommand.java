@@ -0,0 +1,28 @@
+package duke.logic.command;
+
+import duke.logic.tasks.TaskList;
+import duke.logic.tasks.Workspace;
+
+public class UseCommand extends Command {
+    private Workspace workspace;
+    private String listName;
+
+    /**
+     * Constructs a command switching to another task list.
+     *
+     * @param workspace The task lists of the user.
+     * @param listName The name of the list to use.
+     */
+    public UseCommand(Workspace workspace, String listName) {
+        this.workspace = workspace;
+        this.listName = listName;
+    }
+
+    /**
+     * Uses the named list. The task list in use is not needed, so this never waits for it to load.
+     */
+    @Override
+    public String executeCommand(TaskList taskList) {
+        return workspace.use(listName);
+    }
+}
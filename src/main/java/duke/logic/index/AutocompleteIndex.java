@@ -0,0 +1,147 @@
+package duke.logic.index;
+
+import duke.logic.tasks.PersistentTaskTree;
+import duke.logic.tasks.Task;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Index of the command names, tags and description words, completing the word being typed.
+ * The words are kept in prefix tries counting the tasks using each word, so a word disappears from the
+ * suggestions once no task uses it anymore. Words without letters, like numbers, are not suggested.
+ */
+public class AutocompleteIndex extends IncrementalIndex<AutocompleteIndex.Vocabulary> {
+    public static final int MAX_SUGGESTIONS = 8;
+    private static final String FUZZY_PREFIX = "~";
+    private static final String TAG_COMMAND = "tag";
+    // Commands followed by a description or a search keyword
+    private static final List<String> DESCRIPTION_COMMANDS = List.of("todo", "deadline", "event", "find");
+
+    private final List<String> commandNames;
+
+    /**
+     * The description words and the tags of the tasks.
+     */
+    static class Vocabulary {
+        private final PrefixTrie words = new PrefixTrie();
+        private final PrefixTrie tags = new PrefixTrie();
+
+        private void add(Task task) {
+            for (String word : FuzzyIndex.getWords(task.getDescription())) {
+                if (FuzzyIndex.hasLetter(word)) {
+                    words.add(word);
+                }
+            }
+            if (!task.getTag().isEmpty()) {
+                tags.add(task.getTag());
+            }
+        }
+
+        private void remove(Task task) {
+            for (String word : FuzzyIndex.getWords(task.getDescription())) {
+                if (FuzzyIndex.hasLetter(word)) {
+                    words.remove(word);
+                }
+            }
+            if (!task.getTag().isEmpty()) {
+                tags.remove(task.getTag());
+            }
+        }
+    }
+
+    /**
+     * Constructs an index completing the given command names as well as the words of the tasks.
+     *
+     * @param commandNames The command names, in lower case.
+     */
+    public AutocompleteIndex(List<String> commandNames) {
+        super("autocomplete-index");
+        List<String> sortedNames = new ArrayList<>(commandNames);
+        Collections.sort(sortedNames);
+        this.commandNames = sortedNames;
+    }
+
+    @Override
+    protected Vocabulary build(PersistentTaskTree tasks) {
+        Vocabulary vocabulary = new Vocabulary();
+        for (Task task : tasks) {
+            vocabulary.add(task);
+        }
+        return vocabulary;
+    }
+
+    @Override
+    protected void update(Vocabulary vocabulary, Task oldTask, Task newTask) {
+        if (oldTask != null && newTask != null && oldTask.getDescription().equals(newTask.getDescription())
+                && oldTask.getTag().equals(newTask.getTag())) {
+            return;
+        }
+        if (oldTask != null) {
+            vocabulary.remove(oldTask);
+        }
+        if (newTask != null) {
+            vocabulary.add(newTask);
+        }
+    }
+
+    /**
+     * Suggests how to complete the last word of the input: the command name for the first word, a tag for
+     * the tag of a tag command, and a description word for the arguments of todo, deadline, event and find.
+     * Waits for the index to be built, so it should not be called on the user interface thread.
+     *
+     * @param input The input typed so far.
+     * @return The input with its last word completed, at most {@value #MAX_SUGGESTIONS} of them.
+     */
+    public List<String> suggest(String input) {
+        String text = input.stripLeading();
+        int lastSpace = text.lastIndexOf(' ');
+        String lastWord = text.substring(lastSpace + 1);
+        if (lastWord.isEmpty()) {
+            return Collections.emptyList();
+        }
+        if (lastSpace < 0) {
+            return completeCommandName(lastWord.toLowerCase());
+        }
+        String beforeLastWord = text.substring(0, lastSpace + 1);
+        String[] previousWords = beforeLastWord.trim().split(" +");
+        String command = previousWords[0].toLowerCase();
+        List<String> completions;
+        if (command.equals(TAG_COMMAND) && previousWords.length == 2) {
+            completions = completeTag(lastWord);
+        } else if (DESCRIPTION_COMMANDS.contains(command)) {
+            boolean isFuzzy = lastWord.startsWith(FUZZY_PREFIX);
+            if (isFuzzy) {
+                beforeLastWord += FUZZY_PREFIX;
+                lastWord = lastWord.substring(FUZZY_PREFIX.length());
+            }
+            completions = lastWord.isEmpty() ? Collections.emptyList() : completeWord(lastWord.toLowerCase());
+        } else {
+            completions = Collections.emptyList();
+        }
+        List<String> suggestions = new ArrayList<>();
+        for (String completion : completions) {
+            suggestions.add(beforeLastWord + completion);
+        }
+        return suggestions;
+    }
+
+    private List<String> completeCommandName(String prefix) {
+        List<String> suggestions = new ArrayList<>();
+        for (String name : commandNames) {
+            if (name.startsWith(prefix) && suggestions.size() < MAX_SUGGESTIONS) {
+                suggestions.add(name);
+            }
+        }
+        return suggestions;
+    }
+
+    private synchronized List<String> completeTag(String prefix) {
+        return getIndex().tags.complete(prefix, MAX_SUGGESTIONS);
+    }
+
+    private synchronized List<String> completeWord(String prefix) {
+        return getIndex().words.complete(prefix, MAX_SUGGESTIONS);
+    }
+}
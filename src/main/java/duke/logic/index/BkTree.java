@@ -0,0 +1,213 @@
+package duke.logic.index;
+
+import java.io.DataOutput;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.BiConsumer;
+import java.util.function.ToIntFunction;
+
+/**
+ * Burkhard-Keller tree of words, finding every word within an edit distance of a query
+ * while only comparing the query to a small part of the words.
+ * Words can only be added, callers skip the words they no longer use. Not thread safe.
+ */
+public class BkTree {
+    private Node root;
+    private int size;
+    // Rows of the edit distance table, reused between comparisons
+    private int[] previousRow = new int[16];
+    private int[] currentRow = new int[16];
+
+    private static class Node {
+        private final String word;
+        // Child at each edit distance from this word, index 0 is unused
+        private Node[] children;
+
+        private Node(String word) {
+            this.word = word;
+        }
+
+        private Node getChild(int distance) {
+            return children == null || distance >= children.length ? null : children[distance];
+        }
+
+        private void setChild(int distance, Node child) {
+            if (children == null) {
+                children = new Node[Math.max(distance + 1, 4)];
+            } else if (distance >= children.length) {
+                children = Arrays.copyOf(children, distance + 1);
+            }
+            children[distance] = child;
+        }
+    }
+
+    /**
+     * Adds a word, doing nothing if it is already in the tree.
+     *
+     * @param word The word.
+     */
+    public void add(String word) {
+        if (root == null) {
+            root = new Node(word);
+            size++;
+            return;
+        }
+        Node node = root;
+        while (true) {
+            int distance = computeEditDistance(node.word, word);
+            if (distance == 0) {
+                return;
+            }
+            Node child = node.getChild(distance);
+            if (child == null) {
+                node.setChild(distance, new Node(word));
+                size++;
+                return;
+            }
+            node = child;
+        }
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Finds the words within the given edit distance of the query.
+     * By the triangle inequality, only the children at a distance within maxDistance of the
+     * distance between the query and their parent can hold matches.
+     *
+     * @param query The query word.
+     * @param maxDistance The largest edit distance accepted.
+     * @param consumer Receives each matching word and its distance.
+     */
+    public void search(String query, int maxDistance, BiConsumer<String, Integer> consumer) {
+        if (root == null) {
+            return;
+        }
+        List<Node> pending = new ArrayList<>();
+        pending.add(root);
+        while (!pending.isEmpty()) {
+            Node node = pending.remove(pending.size() - 1);
+            int distance = computeEditDistance(node.word, query);
+            if (distance <= maxDistance) {
+                consumer.accept(node.word, distance);
+            }
+            if (node.children == null) {
+                continue;
+            }
+            int last = Math.min(distance + maxDistance, node.children.length - 1);
+            for (int d = Math.max(1, distance - maxDistance); d <= last; d++) {
+                if (node.children[d] != null) {
+                    pending.add(node.children[d]);
+                }
+            }
+        }
+    }
+
+    /**
+     * Writes the shape of the tree, each word as its number, so that {@link #read(ByteBuffer, String[])}
+     * rebuilds the same tree without computing any edit distance.
+     *
+     * @param out Where the tree is written.
+     * @param wordNumbers The number of each word of the tree.
+     * @throws IOException If the tree cannot be written.
+     */
+    void write(DataOutput out, ToIntFunction<String> wordNumbers) throws IOException {
+        IndexEncoding.writeNumber(out, size);
+        if (root != null) {
+            writeNode(out, root, wordNumbers);
+        }
+    }
+
+    private static void writeNode(DataOutput out, Node node, ToIntFunction<String> wordNumbers) throws IOException {
+        IndexEncoding.writeNumber(out, wordNumbers.applyAsInt(node.word));
+        int childCount = 0;
+        for (int d = 1; node.children != null && d < node.children.length; d++) {
+            childCount += node.children[d] == null ? 0 : 1;
+        }
+        IndexEncoding.writeNumber(out, childCount);
+        for (int d = 1; childCount > 0 && d < node.children.length; d++) {
+            if (node.children[d] != null) {
+                IndexEncoding.writeNumber(out, d);
+                writeNode(out, node.children[d], wordNumbers);
+            }
+        }
+    }
+
+    /**
+     * Reads a tree written by {@link #write(DataOutput, ToIntFunction)}.
+     *
+     * @param in The encoded tree.
+     * @param words The words by number.
+     * @return The tree.
+     */
+    static BkTree read(ByteBuffer in, String[] words) {
+        BkTree tree = new BkTree();
+        int size = IndexEncoding.readNumber(in);
+        if (size > 0) {
+            tree.root = readNode(in, words);
+        }
+        tree.size = size;
+        return tree;
+    }
+
+    private static Node readNode(ByteBuffer in, String[] words) {
+        Node node = new Node(words[IndexEncoding.readNumber(in)]);
+        int childCount = IndexEncoding.readNumber(in);
+        for (int i = 0; i < childCount; i++) {
+            int distance = IndexEncoding.readNumber(in);
+            if (distance == 0) {
+                throw new IllegalArgumentException("Child at distance 0 in the index");
+            }
+            node.setChild(distance, readNode(in, words));
+        }
+        return node;
+    }
+
+    /**
+     * Computes the Levenshtein distance between two words, reusing the rows of the table of this tree.
+     */
+    int computeEditDistance(String first, String second) {
+        if (second.length() >= previousRow.length) {
+            previousRow = new int[second.length() + 1];
+            currentRow = new int[second.length() + 1];
+        }
+        return getEditDistance(first, second, previousRow, currentRow);
+    }
+
+    /**
+     * Computes the Levenshtein distance between two words.
+     *
+     * @param first The first word.
+     * @param second The second word.
+     * @return The number of insertions, deletions and substitutions turning one word into the other.
+     */
+    public static int getEditDistance(String first, String second) {
+        return getEditDistance(first, second, new int[second.length() + 1], new int[second.length() + 1]);
+    }
+
+    /**
+     * Fills the dynamic programming table one row at a time, keeping only the last two rows.
+     */
+    private static int getEditDistance(String first, String second, int[] previous, int[] current) {
+        for (int j = 0; j <= second.length(); j++) {
+            previous[j] = j;
+        }
+        for (int i = 1; i <= first.length(); i++) {
+            current[0] = i;
+            char c = first.charAt(i - 1);
+            for (int j = 1; j <= second.length(); j++) {
+                int substitution = previous[j - 1] + (c == second.charAt(j - 1) ? 0 : 1);
+                current[j] = Math.min(substitution, Math.min(previous[j], current[j - 1]) + 1);
+            }
+            int[] temp = previous;
+            previous = current;
+            current = temp;
+        }
+        return previous[second.length()];
+    }
+}
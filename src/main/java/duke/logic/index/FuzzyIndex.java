@@ -0,0 +1,559 @@
+package duke.logic.index;
+
+import duke.logic.tasks.PersistentTaskTree;
+import duke.logic.tasks.Task;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.stream.IntStream;
+
+/**
+ * Index of the words in the task descriptions for typo tolerant search.
+ * The distinct words are kept in a BK-tree, and each word maps to the ids of the tasks using it,
+ * so a search only compares the query to a small part of the vocabulary instead of scanning every task.
+ * Words without letters, like numbers, are not typo tolerant and stay out of the tree.
+ * The index can be encoded and restored on the next start, which skips splitting every description into words
+ * and computing the edit distances that place the words in the tree.
+ */
+public class FuzzyIndex extends IncrementalIndex<FuzzyIndex.Words> {
+    private static final int MAX_RESULTS = 50;
+    // Version of the encoding written by toBytes, an encoding of another version is rebuilt from the tasks
+    private static final int ENCODING_VERSION = 1;
+
+    // Encoded index used by the next build instead of the tasks, set before the tasks are loaded
+    private volatile ByteBuffer snapshot;
+    // Run by the builder if the encoded index cannot be read
+    private volatile Runnable onRestoreFailed;
+    // Whether the next build restores the encoded index, cleared once the index is installed
+    private volatile boolean isRestoring;
+
+    /**
+     * The distinct words and the ids of the tasks using each of them.
+     * Words no task uses anymore stay in the tree and are skipped.
+     */
+    static class Words {
+        private final BkTree vocabulary;
+        private final HashMap<String, SortedIdSet> postings;
+
+        private Words() {
+            this(new BkTree(), new HashMap<>());
+        }
+
+        private Words(BkTree vocabulary, HashMap<String, SortedIdSet> postings) {
+            this.vocabulary = vocabulary;
+            this.postings = postings;
+        }
+
+        private void add(Task task) {
+            for (String word : getWords(task.getDescription())) {
+                postings.computeIfAbsent(word, w -> {
+                    if (hasLetter(w)) {
+                        vocabulary.add(w);
+                    }
+                    return new SortedIdSet();
+                }).add(task.getId());
+            }
+        }
+
+        private void remove(Task task) {
+            for (String word : getWords(task.getDescription())) {
+                postings.get(word).remove(task.getId());
+            }
+        }
+    }
+
+    /**
+     * A task matching a search and the sum of the edit distances of its words to the query words.
+     */
+    public static class Match {
+        private final int id;
+        private final int distance;
+
+        private Match(int id, int distance) {
+            this.id = id;
+            this.distance = distance;
+        }
+
+        public int getId() {
+            return id;
+        }
+
+        public int getDistance() {
+            return distance;
+        }
+    }
+
+    public FuzzyIndex() {
+        super("fuzzy-index");
+    }
+
+    /**
+     * Restores the index from an encoding made by {@link #toBytes()} for the tasks about to be loaded,
+     * instead of building it from the tasks. An encoding that cannot be read is ignored and the index is built
+     * from the tasks.
+     *
+     * @param snapshot The encoded index.
+     * @param onRestoreFailed Run on the builder thread if the encoding cannot be read, before the index is built.
+     */
+    public void restoreFrom(ByteBuffer snapshot, Runnable onRestoreFailed) {
+        this.snapshot = snapshot;
+        this.onRestoreFailed = onRestoreFailed;
+        isRestoring = true;
+    }
+
+    /**
+     * Checks whether the index is being built from the tasks, which takes long enough on a big list that
+     * a search is better off scanning the tasks. Restoring a saved index is quick, so searches wait for it.
+     *
+     * @return Whether the index is neither built nor being restored.
+     */
+    public boolean isBuildingFromTasks() {
+        return !isRestoring && !isBuilt();
+    }
+
+    @Override
+    protected Words build(PersistentTaskTree tasks) {
+        ByteBuffer encoded = snapshot;
+        Runnable onFailure = onRestoreFailed;
+        snapshot = null;
+        onRestoreFailed = null;
+        if (encoded != null) {
+            try {
+                return read(encoded.duplicate());
+            } catch (RuntimeException e) {
+                // damaged despite its checksum or from another version, built from the tasks instead
+                isRestoring = false;
+                onFailure.run();
+            }
+        }
+        Words words = new Words();
+        for (Task task : tasks) {
+            words.add(task);
+        }
+        return words;
+    }
+
+    @Override
+    protected void onInstalled() {
+        // a later load, e.g. of save files replaced by another program, is built from the tasks
+        isRestoring = false;
+    }
+
+    @Override
+    protected void update(Words words, Task oldTask, Task newTask) {
+        if (oldTask != null && newTask != null && oldTask.getDescription().equals(newTask.getDescription())) {
+            return;
+        }
+        if (oldTask != null) {
+            words.remove(oldTask);
+        }
+        if (newTask != null) {
+            words.add(newTask);
+        }
+    }
+
+    /**
+     * Encodes the index as it is now, waiting for it to be built. The words are numbered, each word is followed
+     * by the gaps between the sorted ids of its tasks, then the shape of the tree refers to the word numbers.
+     *
+     * @return The encoded index.
+     */
+    public synchronized byte[] toBytes() {
+        Words words = getIndex();
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(bytes);
+        HashMap<String, Integer> wordNumbers = new HashMap<>();
+        try {
+            IndexEncoding.writeNumber(out, ENCODING_VERSION);
+            IndexEncoding.writeNumber(out, words.postings.size());
+            for (Map.Entry<String, SortedIdSet> entry : words.postings.entrySet()) {
+                wordNumbers.put(entry.getKey(), wordNumbers.size());
+                IndexEncoding.writeString(out, entry.getKey());
+                SortedIdSet ids = entry.getValue();
+                IndexEncoding.writeNumber(out, ids.size());
+                int previousId = 0;
+                for (int i = 0; i < ids.size(); i++) {
+                    IndexEncoding.writeNumber(out, ids.get(i) - previousId);
+                    previousId = ids.get(i);
+                }
+            }
+            words.vocabulary.write(out, wordNumbers::get);
+            out.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Writing to memory failed", e);
+        }
+        return bytes.toByteArray();
+    }
+
+    private static Words read(ByteBuffer in) {
+        if (IndexEncoding.readNumber(in) != ENCODING_VERSION) {
+            throw new IllegalArgumentException("Index of another version");
+        }
+        int wordCount = IndexEncoding.readNumber(in);
+        if (wordCount > in.remaining()) {
+            throw new IllegalArgumentException("More words than bytes in the index");
+        }
+        String[] wordsByNumber = new String[wordCount];
+        HashMap<String, SortedIdSet> postings = new HashMap<>(wordsByNumber.length * 2);
+        for (int i = 0; i < wordsByNumber.length; i++) {
+            wordsByNumber[i] = IndexEncoding.readString(in);
+            SortedIdSet ids = new SortedIdSet();
+            int idCount = IndexEncoding.readNumber(in);
+            int id = 0;
+            for (int j = 0; j < idCount; j++) {
+                id += IndexEncoding.readNumber(in);
+                ids.add(id);
+            }
+            postings.put(wordsByNumber[i], ids);
+        }
+        BkTree vocabulary = BkTree.read(in, wordsByNumber);
+        if (in.hasRemaining()) {
+            throw new IllegalArgumentException("Unexpected bytes after the index");
+        }
+        return new Words(vocabulary, postings);
+    }
+
+    /**
+     * Splits a text into its distinct lower case words.
+     *
+     * @param text The text.
+     * @return The words, in order of first appearance.
+     */
+    public static Set<String> getWords(String text) {
+        Set<String> words = new LinkedHashSet<>();
+        int start = -1;
+        for (int i = 0; i <= text.length(); i++) {
+            boolean isWordChar = i < text.length() && Character.isLetterOrDigit(text.charAt(i));
+            if (isWordChar && start < 0) {
+                start = i;
+            } else if (!isWordChar && start >= 0) {
+                words.add(text.substring(start, i).toLowerCase());
+                start = -1;
+            }
+        }
+        return words;
+    }
+
+    /**
+     * Returns how many typos are tolerated in a query word, none for very short words
+     * since nearly every short word is within one edit of them.
+     */
+    private static int getMaxDistance(String word) {
+        if (word.length() <= 2) {
+            return 0;
+        } else if (word.length() <= 5) {
+            return 1;
+        } else {
+            return 2;
+        }
+    }
+
+    /**
+     * Finds the tasks with a word close to every word of the query, waiting for the index to be built.
+     *
+     * @param query The query words.
+     * @return The best matches, closest first and then in id order.
+     */
+    public synchronized List<Match> search(String query) {
+        Words words = getIndex();
+        List<Map<SortedIdSet, Integer>> queryMatches = new ArrayList<>();
+        int bestPossibleDistance = 0;
+        for (String queryWord : getWords(query)) {
+            Map<SortedIdSet, Integer> wordMatches = findWords(words, queryWord);
+            if (wordMatches.isEmpty()) {
+                return Collections.emptyList();
+            }
+            queryMatches.add(wordMatches);
+            bestPossibleDistance += Collections.min(wordMatches.values());
+        }
+        if (queryMatches.isEmpty()) {
+            return Collections.emptyList();
+        } else if (queryMatches.size() == 1) {
+            return rankClosestIds(queryMatches.get(0));
+        }
+        // the query word matching the fewest tasks gives the candidates, the others only filter them
+        queryMatches.sort(Comparator.comparingInt(FuzzyIndex::countIds));
+        int[] candidates = getSortedIds(queryMatches.get(0).keySet());
+        Comparator<Match> closestFirst = Comparator.comparingInt(Match::getDistance).thenComparingInt(Match::getId);
+        // keeps the best matches seen so far with the worst one on top, so ranking doesn't sort every match
+        PriorityQueue<Match> best = new PriorityQueue<>(closestFirst.reversed());
+        for (int id : candidates) {
+            int total = 0;
+            for (int i = 0; i < queryMatches.size() && total < Integer.MAX_VALUE; i++) {
+                int distance = getDistance(queryMatches.get(i), id);
+                total = distance == Integer.MAX_VALUE ? Integer.MAX_VALUE : total + distance;
+            }
+            if (total == Integer.MAX_VALUE) {
+                continue;
+            }
+            best.add(new Match(id, total));
+            if (best.size() > MAX_RESULTS) {
+                best.poll();
+            }
+            if (best.size() == MAX_RESULTS && best.peek().getDistance() == bestPossibleDistance) {
+                // the candidates come in id order, so no later task can rank higher
+                break;
+            }
+        }
+        List<Match> matches = new ArrayList<>(best);
+        matches.sort(closestFirst);
+        return matches;
+    }
+
+    /**
+     * Finds the same matches as {@link #search(String)} by comparing the query with every task, for when
+     * the index is not built yet.
+     *
+     * @param query The query words.
+     * @param tasks The tasks.
+     * @return The best matches, closest first and then in id order.
+     */
+    public static List<Match> scan(String query, Iterable<Task> tasks) {
+        String[] queryWords = getWords(query).toArray(new String[0]);
+        if (queryWords.length == 0) {
+            return Collections.emptyList();
+        }
+        Comparator<Match> closestFirst = Comparator.comparingInt(Match::getDistance).thenComparingInt(Match::getId);
+        PriorityQueue<Match> best = new PriorityQueue<>(closestFirst.reversed());
+        int[] distances = new int[queryWords.length];
+        WordScanner scanner = new WordScanner(queryWords);
+        for (Task task : tasks) {
+            scanner.findClosestDistances(task.getDescription(), distances);
+            int total = 0;
+            for (int distance : distances) {
+                total = distance == Integer.MAX_VALUE || total == Integer.MAX_VALUE ? Integer.MAX_VALUE
+                        : total + distance;
+            }
+            if (total == Integer.MAX_VALUE) {
+                continue;
+            }
+            best.add(new Match(task.getId(), total));
+            if (best.size() > MAX_RESULTS) {
+                best.poll();
+            }
+        }
+        List<Match> matches = new ArrayList<>(best);
+        matches.sort(closestFirst);
+        return matches;
+    }
+
+    /**
+     * Compares the words of descriptions with query words as the index would, only making a string of a word
+     * whose length is close enough to a query word, and reusing the rows of the edit distance table.
+     */
+    private static class WordScanner {
+        private final String[] queryWords;
+        private final int[] maxDistances;
+        private final boolean[] hasLetters;
+        private final BkTree distances = new BkTree();
+
+        private WordScanner(String[] queryWords) {
+            this.queryWords = queryWords;
+            this.maxDistances = new int[queryWords.length];
+            this.hasLetters = new boolean[queryWords.length];
+            for (int i = 0; i < queryWords.length; i++) {
+                hasLetters[i] = hasLetter(queryWords[i]);
+                // words without letters only match exactly
+                maxDistances[i] = hasLetters[i] ? getMaxDistance(queryWords[i]) : 0;
+            }
+        }
+
+        /**
+         * Finds the distance of the closest word of a text to each query word, Integer.MAX_VALUE if none is close.
+         */
+        private void findClosestDistances(String text, int[] closest) {
+            Arrays.fill(closest, Integer.MAX_VALUE);
+            int start = -1;
+            for (int i = 0; i <= text.length(); i++) {
+                boolean isWordChar = i < text.length() && Character.isLetterOrDigit(text.charAt(i));
+                if (isWordChar && start < 0) {
+                    start = i;
+                } else if (!isWordChar && start >= 0) {
+                    compareWord(text, start, i, closest);
+                    start = -1;
+                }
+            }
+        }
+
+        private void compareWord(String text, int start, int end, int[] closest) {
+            String word = null;
+            for (int q = 0; q < queryWords.length; q++) {
+                if (Math.abs(end - start - queryWords[q].length()) > maxDistances[q] || closest[q] == 0) {
+                    continue;
+                }
+                if (word == null) {
+                    word = text.substring(start, end).toLowerCase();
+                }
+                int distance;
+                if (!hasLetters[q]) {
+                    distance = word.equals(queryWords[q]) ? 0 : Integer.MAX_VALUE;
+                } else if (!hasLetter(word)) {
+                    // only words with letters are in the tree of the index
+                    continue;
+                } else {
+                    distance = distances.computeEditDistance(word, queryWords[q]);
+                }
+                if (distance <= maxDistances[q]) {
+                    closest[q] = Math.min(closest[q], distance);
+                }
+            }
+        }
+    }
+
+    /**
+     * Finds the words close to a query word that are still used by some task.
+     * Words without letters, like numbers, only match exactly.
+     */
+    private static Map<SortedIdSet, Integer> findWords(Words words, String queryWord) {
+        Map<SortedIdSet, Integer> wordMatches = new HashMap<>();
+        if (!hasLetter(queryWord)) {
+            SortedIdSet ids = words.postings.get(queryWord);
+            if (ids != null && !ids.isEmpty()) {
+                wordMatches.put(ids, 0);
+            }
+            return wordMatches;
+        }
+        words.vocabulary.search(queryWord, getMaxDistance(queryWord), (word, distance) -> {
+            SortedIdSet ids = words.postings.get(word);
+            if (!ids.isEmpty()) {
+                wordMatches.put(ids, distance);
+            }
+        });
+        return wordMatches;
+    }
+
+    /**
+     * Counts the tasks using a word, waiting for the index to be built.
+     *
+     * @param word The word, in lower case.
+     * @return The number of tasks with the word in their description.
+     */
+    public synchronized int countTasksWithWord(String word) {
+        SortedIdSet ids = getIndex().postings.get(word);
+        return ids == null ? 0 : ids.size();
+    }
+
+    /**
+     * Finds the tasks using all the given words, waiting for the index to be built.
+     * The ids of the rarest word are checked against the ids of the other words.
+     *
+     * @param words The words, in lower case.
+     * @return The ids of the tasks, in increasing order.
+     */
+    public synchronized int[] getIdsWithAllWords(Collection<String> words) {
+        assert !words.isEmpty();
+        List<SortedIdSet> wordIds = new ArrayList<>();
+        for (String word : words) {
+            SortedIdSet ids = getIndex().postings.get(word);
+            if (ids == null) {
+                return new int[0];
+            }
+            wordIds.add(ids);
+        }
+        wordIds.sort(Comparator.comparingInt(SortedIdSet::size));
+        SortedIdSet rarest = wordIds.get(0);
+        int[] matches = new int[rarest.size()];
+        int count = 0;
+        for (int i = 0; i < rarest.size(); i++) {
+            int id = rarest.get(i);
+            boolean isMatch = true;
+            for (int j = 1; j < wordIds.size() && isMatch; j++) {
+                isMatch = wordIds.get(j).contains(id);
+            }
+            if (isMatch) {
+                matches[count++] = id;
+            }
+        }
+        return Arrays.copyOf(matches, count);
+    }
+
+    static boolean hasLetter(String word) {
+        return word.chars().anyMatch(Character::isLetter);
+    }
+
+    private static int[] getSortedIds(Collection<SortedIdSet> idSets) {
+        if (idSets.size() == 1) {
+            SortedIdSet ids = idSets.iterator().next();
+            int[] result = new int[ids.size()];
+            for (int i = 0; i < result.length; i++) {
+                result[i] = ids.get(i);
+            }
+            return result;
+        }
+        return idSets.stream().flatMapToInt(ids -> IntStream.range(0, ids.size()).map(ids::get))
+                .distinct().sorted().toArray();
+    }
+
+    private static int countIds(Map<SortedIdSet, Integer> wordMatches) {
+        int count = 0;
+        for (SortedIdSet ids : wordMatches.keySet()) {
+            count += ids.size();
+        }
+        return count;
+    }
+
+    /**
+     * Returns the distance of the closest matching word of the task, Integer.MAX_VALUE if it has none.
+     */
+    private static int getDistance(Map<SortedIdSet, Integer> wordMatches, int id) {
+        int distance = Integer.MAX_VALUE;
+        for (Map.Entry<SortedIdSet, Integer> entry : wordMatches.entrySet()) {
+            if (entry.getValue() < distance && entry.getKey().contains(id)) {
+                distance = entry.getValue();
+            }
+        }
+        return distance;
+    }
+
+    /**
+     * Ranks the tasks matching a single query word. The words are taken closest first and their ids
+     * are sorted, so only the first few ids of each word are read instead of every matching task.
+     */
+    private static List<Match> rankClosestIds(Map<SortedIdSet, Integer> wordMatches) {
+        TreeMap<Integer, List<SortedIdSet>> wordsByDistance = new TreeMap<>();
+        wordMatches.forEach((ids, distance) ->
+                wordsByDistance.computeIfAbsent(distance, d -> new ArrayList<>()).add(ids));
+        List<Match> matches = new ArrayList<>();
+        Set<Integer> matchedIds = new HashSet<>();
+        for (Map.Entry<Integer, List<SortedIdSet>> entry : wordsByDistance.entrySet()) {
+            int remaining = MAX_RESULTS - matches.size();
+            if (remaining == 0) {
+                break;
+            }
+            TreeSet<Integer> closestIds = new TreeSet<>();
+            for (SortedIdSet ids : entry.getValue()) {
+                int added = 0;
+                for (int i = 0; i < ids.size() && added < remaining; i++) {
+                    if (!matchedIds.contains(ids.get(i)) && closestIds.add(ids.get(i))) {
+                        added++;
+                    }
+                }
+            }
+            for (int id : closestIds) {
+                if (matches.size() == MAX_RESULTS) {
+                    break;
+                }
+                matches.add(new Match(id, entry.getKey()));
+                matchedIds.add(id);
+            }
+        }
+        return matches;
+    }
+}
@@ -0,0 +1,126 @@
+package duke.logic.index;
+
+import duke.logic.tasks.PersistentTaskTree;
+import duke.logic.tasks.Task;
+import duke.logic.tasks.TaskListListener;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Base of the indexes kept up to date with a task list.
+ * The index is built from the loaded tasks on a background thread so that it doesn't slow down loading,
+ * changes made in the meantime are queued and applied once it is built.
+ * Subclasses read the index with {@link #getIndex()} from synchronized methods, so that no change
+ * is applied while they read it.
+ *
+ * @param <T> The data structure of the index.
+ */
+public abstract class IncrementalIndex<T> implements TaskListListener {
+    private final String name;
+    private T index;
+    // Changes made while the index is built, null once it is built
+    private List<Task[]> pendingChanges = new ArrayList<>();
+    // Counts the builds so that a build superseded by a newer load is dropped
+    private int buildCount;
+
+    /**
+     * Constructs an index, which is empty until the tasks are loaded.
+     *
+     * @param name The name of the index, used to name its builder thread.
+     */
+    protected IncrementalIndex(String name) {
+        this.name = name;
+    }
+
+    /**
+     * Builds the index from all the tasks. Runs outside the index lock, so it must not touch the current index.
+     *
+     * @param tasks The tasks, in list order.
+     * @return The new index.
+     */
+    protected abstract T build(PersistentTaskTree tasks);
+
+    /**
+     * Updates the index for a change. Runs inside the index lock.
+     *
+     * @param index The index.
+     * @param oldTask The task before the change, null if it was added.
+     * @param newTask The task after the change, null if it was deleted.
+     */
+    protected abstract void update(T index, Task oldTask, Task newTask);
+
+    @Override
+    public final synchronized void onTasksLoaded(PersistentTaskTree tasks) {
+        pendingChanges = new ArrayList<>();
+        int build = ++buildCount;
+        Thread builder = new Thread(() -> install(build(tasks), build), name + "-builder");
+        builder.setDaemon(true);
+        builder.start();
+    }
+
+    private synchronized void install(T newIndex, int build) {
+        if (build != buildCount) {
+            return;
+        }
+        index = newIndex;
+        for (Task[] change : pendingChanges) {
+            update(index, change[0], change[1]);
+        }
+        pendingChanges = null;
+        onInstalled();
+        notifyAll();
+    }
+
+    /**
+     * Called inside the index lock once a build replaced the index, before anyone waiting for it is woken up.
+     * Does nothing by default.
+     */
+    protected void onInstalled() {
+    }
+
+    @Override
+    public final synchronized void onTaskChanged(Task oldTask, Task newTask) {
+        if (pendingChanges != null) {
+            pendingChanges.add(new Task[] {oldTask, newTask});
+        } else {
+            update(index, oldTask, newTask);
+        }
+    }
+
+    /**
+     * Checks whether the index is built, so that a caller can scan the tasks instead of waiting for it.
+     *
+     * @return Whether the index is built from the last loaded tasks.
+     */
+    public synchronized boolean isBuilt() {
+        return pendingChanges == null;
+    }
+
+    /**
+     * Waits for the index to be built.
+     */
+    public void awaitBuilt() {
+        getIndex();
+    }
+
+    /**
+     * Returns the index, waiting for it to be built.
+     *
+     * @return The index.
+     */
+    protected synchronized T getIndex() {
+        boolean isInterrupted = false;
+        while (pendingChanges != null) {
+            try {
+                wait();
+            } catch (InterruptedException e) {
+                isInterrupted = true;
+            }
+        }
+        if (isInterrupted) {
+            Thread.currentThread().interrupt();
+        }
+        return index;
+    }
+}
@@ -0,0 +1,58 @@
+package duke.logic.index;
+
+import java.io.DataOutput;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Compact encoding of the indexes saved next to the tasks: numbers take one byte per 7 bits, so the small
+ * numbers and the gaps between sorted ids that make up most of an index mostly take a single byte.
+ * Reading a damaged encoding throws an unchecked exception, e.g. {@link BufferUnderflowException}.
+ */
+final class IndexEncoding {
+    private IndexEncoding() {
+    }
+
+    static void writeNumber(DataOutput out, int number) throws IOException {
+        assert number >= 0;
+        int rest = number;
+        while (rest >= 0x80) {
+            out.writeByte((rest & 0x7f) | 0x80);
+            rest >>>= 7;
+        }
+        out.writeByte(rest);
+    }
+
+    static int readNumber(ByteBuffer in) {
+        int number = 0;
+        for (int shift = 0; shift < 32; shift += 7) {
+            byte b = in.get();
+            number |= (b & 0x7f) << shift;
+            if (b >= 0) {
+                if (number < 0) {
+                    throw new IllegalArgumentException("Negative number in the index");
+                }
+                return number;
+            }
+        }
+        throw new IllegalArgumentException("Number too long in the index");
+    }
+
+    static void writeString(DataOutput out, String text) throws IOException {
+        byte[] bytes = text.getBytes(StandardCharsets.UTF_8);
+        writeNumber(out, bytes.length);
+        out.write(bytes);
+    }
+
+    static String readString(ByteBuffer in) {
+        int length = readNumber(in);
+        if (length > in.remaining()) {
+            throw new BufferUnderflowException();
+        }
+        byte[] bytes = new byte[length];
+        in.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
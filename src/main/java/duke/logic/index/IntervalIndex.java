@@ -0,0 +1,106 @@
+package duke.logic.index;
+
+import duke.logic.tasks.Event;
+import duke.logic.tasks.PersistentTaskTree;
+import duke.logic.tasks.Task;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * The events of a task list in an interval tree of the days they span, finding the events overlapping a range
+ * and the events overlapping each other without comparing every pair of events.
+ * A recurring event can occur on any date after its first one, so it spans every later date in the tree and
+ * its occurrences are only worked out for the range looked at.
+ */
+public class IntervalIndex extends IncrementalIndex<IntervalTree> {
+    // Occurrences of a recurring event looked at per search, a daily event over more than two years
+    public static final int MAX_OCCURRENCES = 1000;
+    private static final Comparator<Task> START_ORDER = Comparator.comparing(Task::getDate)
+            .thenComparingInt(Task::getId);
+
+    public IntervalIndex() {
+        super("interval-index");
+    }
+
+    @Override
+    protected IntervalTree build(PersistentTaskTree tasks) {
+        IntervalTree tree = new IntervalTree();
+        for (Task task : tasks) {
+            if (task instanceof Event) {
+                add(tree, task);
+            }
+        }
+        return tree;
+    }
+
+    @Override
+    protected void update(IntervalTree tree, Task oldTask, Task newTask) {
+        // the tree holds the task itself, so it is replaced even if its dates didn't change
+        if (oldTask instanceof Event) {
+            tree.remove(oldTask, oldTask.getDate());
+        }
+        if (newTask instanceof Event) {
+            add(tree, newTask);
+        }
+    }
+
+    private static void add(IntervalTree tree, Task event) {
+        LocalDate end = event.getRecurrence() == null ? event.getEndDate() : LocalDate.MAX;
+        tree.add(event, event.getDate(), end);
+    }
+
+    /**
+     * Finds the events overlapping a range of dates. A recurring event is returned once per occurrence
+     * overlapping the range, at most {@value #MAX_OCCURRENCES} times.
+     *
+     * @param from The first date of the range.
+     * @param to The last date of the range.
+     * @return The events and occurrences, by first date then id.
+     */
+    public synchronized List<Task> findOverlapping(LocalDate from, LocalDate to) {
+        List<Task> events = new ArrayList<>();
+        for (Task event : getIndex().findOverlapping(from, to)) {
+            if (event.getRecurrence() == null) {
+                events.add(event);
+                continue;
+            }
+            // an occurrence starting this many days before the range still ends in it
+            long duration = ChronoUnit.DAYS.between(event.getDate(), event.getEndDate());
+            for (LocalDate date : event.getOccurrences(from.minusDays(duration), to, MAX_OCCURRENCES)) {
+                events.add(event.getOccurrence(date));
+            }
+        }
+        events.sort(START_ORDER);
+        return events;
+    }
+
+    /**
+     * Finds the pairs of events overlapping each other within a range of dates, occurrences of recurring events
+     * included. The events of the range are swept by first date, keeping the ones not ended yet, so the cost
+     * grows with the events of the range and the conflicts found rather than with every pair of events.
+     *
+     * @param from The first date of the range.
+     * @param to The last date of the range.
+     * @return The pairs of conflicting events, the one starting first first, by first date of the second one.
+     */
+    public List<Task[]> findConflicts(LocalDate from, LocalDate to) {
+        List<Task[]> conflicts = new ArrayList<>();
+        // Events started before the current one, in start order, dropped once they end
+        List<Task> ongoing = new ArrayList<>();
+        for (Task event : findOverlapping(from, to)) {
+            ongoing.removeIf(other -> other.getEndDate().isBefore(event.getDate()));
+            for (Task other : ongoing) {
+                // the occurrences of a recurring event lasting longer than its period overlap each other
+                if (other.getId() != event.getId()) {
+                    conflicts.add(new Task[] {other, event});
+                }
+            }
+            ongoing.add(event);
+        }
+        return conflicts;
+    }
+}
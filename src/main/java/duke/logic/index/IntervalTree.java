@@ -0,0 +1,211 @@
+package duke.logic.index;
+
+import duke.logic.tasks.Task;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A set of tasks spanning date ranges, which finds the tasks overlapping a range.
+ * The tasks are kept in a balanced search tree ordered by their first date, each node also holding the latest
+ * last date below it, so a search skips every subtree ending before the range and visits about
+ * log(n) nodes plus the ones it returns, instead of comparing the range with every task.
+ */
+public class IntervalTree {
+    private Node root;
+    private int size;
+
+    private static class Node {
+        private final Task task;
+        private final long start;
+        private final long end;
+        // Latest last date of the tasks of this subtree
+        private long maxEnd;
+        private int height = 1;
+        private Node left;
+        private Node right;
+
+        private Node(Task task, long start, long end) {
+            this.task = task;
+            this.start = start;
+            this.end = end;
+            this.maxEnd = end;
+        }
+
+        private int compareTo(long otherStart, int otherId) {
+            int order = Long.compare(start, otherStart);
+            return order != 0 ? order : Integer.compare(task.getId(), otherId);
+        }
+    }
+
+    /**
+     * Adds a task spanning a range of dates. A task can only be in the tree once.
+     *
+     * @param task The task.
+     * @param start The first date of the range.
+     * @param end The last date of the range, not before the first.
+     */
+    public void add(Task task, LocalDate start, LocalDate end) {
+        assert !end.isBefore(start);
+        root = add(root, new Node(task, start.toEpochDay(), end.toEpochDay()));
+        size++;
+    }
+
+    private static Node add(Node node, Node added) {
+        if (node == null) {
+            return added;
+        }
+        if (node.compareTo(added.start, added.task.getId()) > 0) {
+            node.left = add(node.left, added);
+        } else {
+            node.right = add(node.right, added);
+        }
+        return balance(node);
+    }
+
+    /**
+     * Removes a task.
+     *
+     * @param task The task, with the id it was added with.
+     * @param start The first date it was added with.
+     * @return Whether the task was in the tree.
+     */
+    public boolean remove(Task task, LocalDate start) {
+        int oldSize = size;
+        root = remove(root, start.toEpochDay(), task.getId());
+        return size < oldSize;
+    }
+
+    private Node remove(Node node, long start, int id) {
+        if (node == null) {
+            return null;
+        }
+        int order = node.compareTo(start, id);
+        if (order > 0) {
+            node.left = remove(node.left, start, id);
+        } else if (order < 0) {
+            node.right = remove(node.right, start, id);
+        } else {
+            size--;
+            if (node.left == null) {
+                return node.right;
+            }
+            if (node.right == null) {
+                return node.left;
+            }
+            // the next node in the tree order takes the place of the removed one
+            Node next = node.right;
+            while (next.left != null) {
+                next = next.left;
+            }
+            next.right = removeFirst(node.right);
+            next.left = node.left;
+            return balance(next);
+        }
+        return balance(node);
+    }
+
+    private static Node removeFirst(Node node) {
+        if (node.left == null) {
+            return node.right;
+        }
+        node.left = removeFirst(node.left);
+        return balance(node);
+    }
+
+    /**
+     * Finds the tasks whose range overlaps a range, both ends included.
+     *
+     * @param from The first date of the range.
+     * @param to The last date of the range.
+     * @return The tasks, by first date then id.
+     */
+    public List<Task> findOverlapping(LocalDate from, LocalDate to) {
+        List<Task> tasks = new ArrayList<>();
+        collect(root, from.toEpochDay(), to.toEpochDay(), tasks);
+        return tasks;
+    }
+
+    private static void collect(Node node, long from, long to, List<Task> tasks) {
+        if (node == null || node.maxEnd < from) {
+            // every task below ends before the range
+            return;
+        }
+        collect(node.left, from, to, tasks);
+        if (node.start > to) {
+            // this task and every task on its right start after the range
+            return;
+        }
+        if (node.end >= from) {
+            tasks.add(node.task);
+        }
+        collect(node.right, from, to, tasks);
+    }
+
+    /**
+     * Returns the number of tasks.
+     *
+     * @return The number of tasks.
+     */
+    public int size() {
+        return size;
+    }
+
+    private static int height(Node node) {
+        return node == null ? 0 : node.height;
+    }
+
+    private static void refresh(Node node) {
+        node.height = 1 + Math.max(height(node.left), height(node.right));
+        node.maxEnd = node.end;
+        if (node.left != null) {
+            node.maxEnd = Math.max(node.maxEnd, node.left.maxEnd);
+        }
+        if (node.right != null) {
+            node.maxEnd = Math.max(node.maxEnd, node.right.maxEnd);
+        }
+    }
+
+    /**
+     * Restores the height difference of at most one between the subtrees of a node whose subtrees changed,
+     * and its latest last date.
+     *
+     * @return The root of the subtree.
+     */
+    private static Node balance(Node node) {
+        refresh(node);
+        int difference = height(node.left) - height(node.right);
+        if (difference > 1) {
+            if (height(node.left.left) < height(node.left.right)) {
+                node.left = rotateLeft(node.left);
+            }
+            return rotateRight(node);
+        }
+        if (difference < -1) {
+            if (height(node.right.right) < height(node.right.left)) {
+                node.right = rotateRight(node.right);
+            }
+            return rotateLeft(node);
+        }
+        return node;
+    }
+
+    private static Node rotateRight(Node node) {
+        Node left = node.left;
+        node.left = left.right;
+        left.right = node;
+        refresh(node);
+        refresh(left);
+        return left;
+    }
+
+    private static Node rotateLeft(Node node) {
+        Node right = node.right;
+        node.right = right.left;
+        right.left = node;
+        refresh(node);
+        refresh(right);
+        return right;
+    }
+}
@@ -0,0 +1,162 @@
+package duke.logic.index;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * A set of words counted with multiplicity, which finds the words starting with a prefix.
+ * Nodes without a word below them are removed, so a completion visits at most the length of the longest word
+ * per word it returns, whatever the number of words.
+ */
+public class PrefixTrie {
+    private static final char[] NO_KEYS = new char[0];
+    private static final Node[] NO_CHILDREN = new Node[0];
+
+    private final Node root = new Node();
+    private int size;
+
+    private static class Node {
+        // Children sorted by their character, in arrays rather than a map to keep a million words compact
+        private char[] keys = NO_KEYS;
+        private Node[] children = NO_CHILDREN;
+        private int childCount;
+        // Number of times the word ending at this node was added and not removed
+        private int count;
+
+        private Node getChild(char key) {
+            int position = Arrays.binarySearch(keys, 0, childCount, key);
+            return position >= 0 ? children[position] : null;
+        }
+
+        private Node getOrAddChild(char key) {
+            int position = Arrays.binarySearch(keys, 0, childCount, key);
+            if (position >= 0) {
+                return children[position];
+            }
+            position = -position - 1;
+            if (childCount == keys.length) {
+                int capacity = Math.max(2, childCount * 2);
+                keys = Arrays.copyOf(keys, capacity);
+                children = Arrays.copyOf(children, capacity);
+            }
+            System.arraycopy(keys, position, keys, position + 1, childCount - position);
+            System.arraycopy(children, position, children, position + 1, childCount - position);
+            Node child = new Node();
+            keys[position] = key;
+            children[position] = child;
+            childCount++;
+            return child;
+        }
+
+        private void removeChild(char key) {
+            int position = Arrays.binarySearch(keys, 0, childCount, key);
+            System.arraycopy(keys, position + 1, keys, position, childCount - position - 1);
+            System.arraycopy(children, position + 1, children, position, childCount - position - 1);
+            childCount--;
+            children[childCount] = null;
+        }
+
+        private boolean isEmpty() {
+            return count == 0 && childCount == 0;
+        }
+    }
+
+    /**
+     * Adds an occurrence of a word.
+     *
+     * @param word The word, not empty.
+     */
+    public void add(String word) {
+        assert !word.isEmpty();
+        Node node = root;
+        for (int i = 0; i < word.length(); i++) {
+            node = node.getOrAddChild(word.charAt(i));
+        }
+        if (node.count == 0) {
+            size++;
+        }
+        node.count++;
+    }
+
+    /**
+     * Removes an occurrence of a word. The word stays in the trie until all its occurrences are removed.
+     *
+     * @param word The word, which must have been added.
+     */
+    public void remove(String word) {
+        remove(root, word, 0);
+    }
+
+    private void remove(Node node, String word, int depth) {
+        if (depth == word.length()) {
+            assert node.count > 0;
+            node.count--;
+            if (node.count == 0) {
+                size--;
+            }
+            return;
+        }
+        Node child = node.getChild(word.charAt(depth));
+        assert child != null;
+        remove(child, word, depth + 1);
+        if (child.isEmpty()) {
+            node.removeChild(word.charAt(depth));
+        }
+    }
+
+    /**
+     * Checks whether a word is in the trie.
+     *
+     * @param word The word.
+     * @return Whether it was added more times than it was removed.
+     */
+    public boolean contains(String word) {
+        Node node = find(word);
+        return node != null && node.count > 0;
+    }
+
+    /**
+     * Returns the number of distinct words.
+     *
+     * @return The number of words.
+     */
+    public int size() {
+        return size;
+    }
+
+    private Node find(String prefix) {
+        Node node = root;
+        for (int i = 0; i < prefix.length() && node != null; i++) {
+            node = node.getChild(prefix.charAt(i));
+        }
+        return node;
+    }
+
+    /**
+     * Finds the words starting with a prefix, the prefix itself included, in alphabetical order.
+     *
+     * @param prefix The prefix.
+     * @param limit The maximum number of words returned.
+     * @return The words.
+     */
+    public List<String> complete(String prefix, int limit) {
+        List<String> words = new ArrayList<>();
+        Node node = find(prefix);
+        if (node != null && limit > 0) {
+            collect(node, new StringBuilder(prefix), words, limit);
+        }
+        return words;
+    }
+
+    private static void collect(Node node, StringBuilder word, List<String> words, int limit) {
+        if (node.count > 0) {
+            words.add(word.toString());
+        }
+        for (int i = 0; i < node.childCount && words.size() < limit; i++) {
+            word.append(node.keys[i]);
+            collect(node.children[i], word, words, limit);
+            word.setLength(word.length() - 1);
+        }
+    }
+}
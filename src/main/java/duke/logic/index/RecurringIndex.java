@@ -0,0 +1,89 @@
+package duke.logic.index;
+
+import duke.logic.tasks.Deadline;
+import duke.logic.tasks.PersistentTaskTree;
+import duke.logic.tasks.Task;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NavigableSet;
+import java.util.TreeSet;
+
+/**
+ * The recurring tasks of a task list sorted by their first date.
+ * A recurring task can occur in any date range after its first date, so queries on dates look them up here
+ * rather than in the date view, which only knows their first date.
+ */
+public class RecurringIndex extends IncrementalIndex<TreeSet<Task>> {
+    private static final Comparator<Task> FIRST_DATE_ORDER = Comparator.comparing(Task::getDate)
+            .thenComparingInt(Task::getId);
+
+    public RecurringIndex() {
+        super("recurring-index");
+    }
+
+    @Override
+    protected TreeSet<Task> build(PersistentTaskTree tasks) {
+        TreeSet<Task> recurringTasks = new TreeSet<>(FIRST_DATE_ORDER);
+        for (Task task : tasks) {
+            if (isRecurring(task)) {
+                recurringTasks.add(task);
+            }
+        }
+        return recurringTasks;
+    }
+
+    @Override
+    protected void update(TreeSet<Task> recurringTasks, Task oldTask, Task newTask) {
+        if (oldTask != null && isRecurring(oldTask)) {
+            recurringTasks.remove(oldTask);
+        }
+        if (newTask != null && isRecurring(newTask)) {
+            recurringTasks.add(newTask);
+        }
+    }
+
+    private static boolean isRecurring(Task task) {
+        return task.getRecurrence() != null && task.getDate() != null;
+    }
+
+    /**
+     * Counts the recurring tasks starting on or before a date, stopping at a limit.
+     *
+     * @param to The date, null for no limit.
+     * @param limit The count at which to stop.
+     * @return The number of tasks, or the limit if there are more.
+     */
+    public synchronized int count(LocalDate to, int limit) {
+        int count = 0;
+        Iterator<Task> iterator = getRange(to).iterator();
+        while (count < limit && iterator.hasNext()) {
+            iterator.next();
+            count++;
+        }
+        return count;
+    }
+
+    /**
+     * Returns the recurring tasks starting on or before a date.
+     *
+     * @param to The date, null for no limit.
+     * @return The tasks, by first date.
+     */
+    public synchronized List<Task> getTasks(LocalDate to) {
+        return new ArrayList<>(getRange(to));
+    }
+
+    private NavigableSet<Task> getRange(LocalDate to) {
+        TreeSet<Task> recurringTasks = getIndex();
+        if (to == null) {
+            return recurringTasks;
+        }
+        Task highest = new Deadline("", "", to);
+        highest.setId(Integer.MAX_VALUE);
+        return recurringTasks.headSet(highest, true);
+    }
+}
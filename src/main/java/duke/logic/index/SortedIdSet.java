@@ -0,0 +1,74 @@
+package duke.logic.index;
+
+import java.util.Arrays;
+
+/**
+ * Compact set of task ids kept sorted in an int array.
+ * Task ids are given out in increasing order, so adding a new task appends to the end.
+ */
+public class SortedIdSet {
+    private int[] ids = new int[1];
+    private int size;
+
+    /**
+     * Adds an id.
+     *
+     * @param id The id.
+     */
+    public void add(int id) {
+        if (size > 0 && ids[size - 1] >= id) {
+            int position = Arrays.binarySearch(ids, 0, size, id);
+            if (position >= 0) {
+                return;
+            }
+            insertAt(-position - 1, id);
+        } else {
+            insertAt(size, id);
+        }
+    }
+
+    private void insertAt(int position, int id) {
+        if (size == ids.length) {
+            ids = Arrays.copyOf(ids, size * 2);
+        }
+        System.arraycopy(ids, position, ids, position + 1, size - position);
+        ids[position] = id;
+        size++;
+    }
+
+    /**
+     * Removes an id if it is in the set.
+     *
+     * @param id The id.
+     */
+    public void remove(int id) {
+        int position = Arrays.binarySearch(ids, 0, size, id);
+        if (position >= 0) {
+            System.arraycopy(ids, position + 1, ids, position, size - position - 1);
+            size--;
+        }
+    }
+
+    public boolean contains(int id) {
+        return Arrays.binarySearch(ids, 0, size, id) >= 0;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Returns the id at the given position in increasing order.
+     *
+     * @param index The 0-based position.
+     * @return The id.
+     */
+    public int get(int index) {
+        assert index < size : "Id position out of bounds";
+        return ids[index];
+    }
+}
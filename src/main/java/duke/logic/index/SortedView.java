@@ -0,0 +1,124 @@
+package duke.logic.index;
+
+import duke.logic.tasks.PersistentTaskTree;
+import duke.logic.tasks.Task;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.TreeSet;
+import java.util.function.Consumer;
+
+/**
+ * The tasks of a task list kept sorted in another order than the list order.
+ * Each change moves only the changed task, instead of sorting the whole list again on every listing.
+ */
+public class SortedView extends IncrementalIndex<TreeSet<Task>> {
+    private final Order order;
+
+    /**
+     * The orders the tasks can be listed in. Tasks equal in an order keep their list order.
+     */
+    public enum Order {
+        // earliest deadline or event first, tasks without a date last
+        DATE(Comparator.comparing(Task::getDate, Comparator.nullsLast(Comparator.<LocalDate>naturalOrder()))),
+        // tasks not done first
+        STATUS(Comparator.comparing(Task::isDone)),
+        // grouped by tag in alphabetical order, tasks without a tag last
+        TAG(Comparator.comparing((Task task) -> task.getTag().isEmpty()).thenComparing(Task::getTag));
+
+        private final Comparator<Task> comparator;
+
+        Order(Comparator<Task> comparator) {
+            this.comparator = comparator.thenComparingInt(Task::getId);
+        }
+
+        /**
+         * Returns the order with the given name, ignoring case.
+         *
+         * @param name The name.
+         * @return The order, null if there is none with that name.
+         */
+        public static Order fromName(String name) {
+            for (Order order : values()) {
+                if (order.name().equalsIgnoreCase(name.trim())) {
+                    return order;
+                }
+            }
+            return null;
+        }
+    }
+
+    /**
+     * Constructs an empty view, filled once the task list is loaded.
+     *
+     * @param order The order of the view.
+     */
+    public SortedView(Order order) {
+        super(order.name().toLowerCase() + "-view");
+        this.order = order;
+    }
+
+    @Override
+    protected TreeSet<Task> build(PersistentTaskTree tasks) {
+        TreeSet<Task> sortedTasks = new TreeSet<>(order.comparator);
+        for (Task task : tasks) {
+            sortedTasks.add(task);
+        }
+        return sortedTasks;
+    }
+
+    /**
+     * Moves the changed task. Tasks are never changed in place, so the old task is still where it was sorted.
+     */
+    @Override
+    protected void update(TreeSet<Task> sortedTasks, Task oldTask, Task newTask) {
+        if (oldTask != null) {
+            sortedTasks.remove(oldTask);
+        }
+        if (newTask != null) {
+            sortedTasks.add(newTask);
+        }
+    }
+
+    /**
+     * Runs an action on every task in the order of the view, while no change is applied to it.
+     *
+     * @param action The action.
+     */
+    public synchronized void forEach(Consumer<Task> action) {
+        getIndex().forEach(action);
+    }
+
+    /**
+     * Counts the tasks sorted between two tasks, both included, stopping at a limit so that counting
+     * a large range costs no more than the limit.
+     *
+     * @param from The lowest task of the range, which doesn't need to be in the view.
+     * @param to The highest task of the range, which doesn't need to be in the view.
+     * @param limit The count at which to stop.
+     * @return The number of tasks in the range, or the limit if there are more.
+     */
+    public synchronized int count(Task from, Task to, int limit) {
+        int count = 0;
+        Iterator<Task> iterator = getIndex().subSet(from, true, to, true).iterator();
+        while (count < limit && iterator.hasNext()) {
+            iterator.next();
+            count++;
+        }
+        return count;
+    }
+
+    /**
+     * Returns the tasks sorted between two tasks, both included.
+     *
+     * @param from The lowest task of the range, which doesn't need to be in the view.
+     * @param to The highest task of the range, which doesn't need to be in the view.
+     * @return The tasks in the order of the view.
+     */
+    public synchronized List<Task> getRange(Task from, Task to) {
+        return new ArrayList<>(getIndex().subSet(from, true, to, true));
+    }
+}
@@ -0,0 +1,174 @@
+package duke.logic.index;
+
+import duke.logic.tasks.Deadline;
+import duke.logic.tasks.Event;
+import duke.logic.tasks.PersistentTaskTree;
+import duke.logic.tasks.Task;
+
+import java.time.LocalDate;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Counts of the tasks of a task list, kept up to date with every change so that a summary never reads the tasks:
+ * the number of tasks, done tasks, tasks of each type and tasks of each tag, and the overdue deadlines.
+ * The overdue count depends on the day, so the pending deadlines are counted by date and the count is moved
+ * forward a day at a time when the summary is asked on a later day.
+ */
+public class TaskCounters extends IncrementalIndex<TaskCounters.Counts> {
+    public TaskCounters() {
+        super("task-counters");
+    }
+
+    /**
+     * The counts of a task list, changed in place under the index lock.
+     */
+    static class Counts {
+        private int total;
+        private int done;
+        private int todos;
+        private int deadlines;
+        private int events;
+        // Number of tasks of each tag, the untagged ones under the empty tag
+        private final TreeMap<String, Integer> tags = new TreeMap<>();
+        // Pending deadlines that don't recur, by date
+        private final TreeMap<LocalDate, Integer> pendingDeadlines = new TreeMap<>();
+        // The overdue count covers the pending deadlines before this date
+        private LocalDate overdueBefore = LocalDate.MIN;
+        private int overdue;
+
+        private void add(Task task, int sign) {
+            total += sign;
+            if (task.isDone()) {
+                done += sign;
+            }
+            if (task instanceof Deadline) {
+                deadlines += sign;
+            } else if (task instanceof Event) {
+                events += sign;
+            } else {
+                todos += sign;
+            }
+            tags.merge(task.getTag(), sign, Integer::sum);
+            tags.remove(task.getTag(), 0);
+            if (isPendingDeadline(task)) {
+                pendingDeadlines.merge(task.getDate(), sign, Integer::sum);
+                pendingDeadlines.remove(task.getDate(), 0);
+                if (task.getDate().isBefore(overdueBefore)) {
+                    overdue += sign;
+                }
+            }
+        }
+
+        private int countOverdue(LocalDate today) {
+            if (today.isAfter(overdueBefore)) {
+                for (int count : pendingDeadlines.subMap(overdueBefore, true, today, false).values()) {
+                    overdue += count;
+                }
+            } else if (today.isBefore(overdueBefore)) {
+                // the clock went back, count again
+                overdue = 0;
+                for (int count : pendingDeadlines.headMap(today, false).values()) {
+                    overdue += count;
+                }
+            }
+            overdueBefore = today;
+            return overdue;
+        }
+    }
+
+    /**
+     * The counts of a task list at one point in time.
+     */
+    public static class Summary {
+        private final int total;
+        private final int done;
+        private final int todos;
+        private final int deadlines;
+        private final int events;
+        private final int overdue;
+        private final Map<String, Integer> tagCounts;
+
+        private Summary(Counts counts, int overdue) {
+            this.total = counts.total;
+            this.done = counts.done;
+            this.todos = counts.todos;
+            this.deadlines = counts.deadlines;
+            this.events = counts.events;
+            this.overdue = overdue;
+            this.tagCounts = new TreeMap<>(counts.tags);
+        }
+
+        public int getTotal() {
+            return total;
+        }
+
+        public int getDone() {
+            return done;
+        }
+
+        public int getPending() {
+            return total - done;
+        }
+
+        public int getTodos() {
+            return todos;
+        }
+
+        public int getDeadlines() {
+            return deadlines;
+        }
+
+        public int getEvents() {
+            return events;
+        }
+
+        public int getOverdue() {
+            return overdue;
+        }
+
+        /**
+         * Returns the number of tasks of each tag, the untagged ones under the empty tag.
+         *
+         * @return The counts by tag, in alphabetical order.
+         */
+        public Map<String, Integer> getTagCounts() {
+            return tagCounts;
+        }
+    }
+
+    private static boolean isPendingDeadline(Task task) {
+        return task instanceof Deadline && !task.isDone() && task.getDate() != null && task.getRecurrence() == null;
+    }
+
+    @Override
+    protected Counts build(PersistentTaskTree tasks) {
+        Counts counts = new Counts();
+        for (Task task : tasks) {
+            counts.add(task, 1);
+        }
+        return counts;
+    }
+
+    @Override
+    protected void update(Counts counts, Task oldTask, Task newTask) {
+        if (oldTask != null) {
+            counts.add(oldTask, -1);
+        }
+        if (newTask != null) {
+            counts.add(newTask, 1);
+        }
+    }
+
+    /**
+     * Returns the counts, in time proportional to the number of tags whatever the number of tasks.
+     * Waits for the counts to be built.
+     *
+     * @param today The day before which pending deadlines are overdue.
+     * @return The counts.
+     */
+    public synchronized Summary getSummary(LocalDate today) {
+        Counts counts = getIndex();
+        return new Summary(counts, counts.countOverdue(today));
+    }
+}
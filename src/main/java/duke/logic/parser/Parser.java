@@ -4,14 +4,29 @@ package duke.logic.parser;
 
 import duke.exception.DukeInvalidCommandException;
 import duke.logic.command.*;
+import duke.logic.index.FuzzyIndex;
+import duke.logic.index.SortedView;
+import duke.logic.query.Query;
 import duke.logic.tasks.Deadline;
 import duke.logic.tasks.Event;
-import duke.logic.tasks.TaskList;
+import duke.logic.tasks.Recurrence;
 import duke.logic.tasks.ToDo;
+import duke.logic.tasks.Workspace;
+import duke.monitoring.CommandEvent;
+import duke.monitoring.Metrics;
+import duke.monitoring.Phase;
+import duke.storage.TaskFormat;
 
+import java.nio.file.InvalidPathException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
 import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
 
 /**
  * Input parsing and displaying output to the user.
@@ -24,21 +39,55 @@ public class Parser {
     private static final String EMPTY_TODO_DESCRIPTION_ERR_MSG = "OOPS!!! The description of a todo task cannot be empty.";
     private static final String WRONG_TIME_FORMAT_ERR_MSG = "OOPS!!! Wrong time format. Correct format should be yyyy-mm-dd";
     private static final String WRONG_EVENT_FORMAT_ERR_MSG = "OOPS!!! Wrong format. \n" +
-            "\t Correct format should be: event <event_description> /at <event_time>";
+            "\t Correct format should be: event <event_description> /at <event_time> [/to <event_end>]";
     private static final String EMPTY_EVENT_DESCRIPTION_ERR_MSG = "OOPS!!! The description of an event cannot be empty.";
     private static final String WRONG_DEADLINE_FORMAT_ERR_MSG = "OOPS!!! Wrong format. \n" +
             "\t Correct format should be: deadline <deadline_description> /by <deadline_time>";
     private static final String EMPTY_DEADLINE_DESCRIPTION_ERR_MSG = "OOPS!!! The description of a deadline cannot be empty.";
     private static final String UNKNOWN_DONE_INDEX_ERR_MSG = "OOPS!!! Which task do you want to mark as done?";
-    private static final String INVALID_LIST_COMMAND_ERR_MSG = "OOPS!!! Do you mean 'list' ?";
+    private static final String INVALID_LIST_COMMAND_ERR_MSG = "OOPS!!! Do you mean 'list' or "
+            + "'list by:date|status|tag' ?";
+    private static final String LIST_ORDER_PREFIX = "by:";
+    private static final String INVALID_ARCHIVE_COMMAND_ERR_MSG = "OOPS!!! The archive command format is "
+            + "archive [<days since done>]";
+    private static final String ARCHIVE_OPTION = "--archive";
+    private static final String FUZZY_PREFIX = "~";
+    private static final String EXPLAIN_OPTION = "--explain";
+    private static final String RECURRENCE_SEPARATOR = " /every ";
+    private static final String END_DATE_SEPARATOR = " /to ";
     private static final String INVALID_NUMBER_ARGUMENT_ERR_MSG = "OOPS!!! The task number you type in is not a number.";
     private static final String OUT_OF_BOUNDS_ERR_MSG = "OOPS!!! The task number should be between 0 and ";
+    private static final String UNKNOWN_TASK_ID_ERR_MSG = "OOPS!!! There is no task with id ";
+    private static final String TASK_ID_PREFIX = "@";
+    private static final String INVALID_COMMAND_NAME = "invalid";
+    private static final String SUCCESS_OUTCOME = "success";
     private static final DateTimeFormatter DATE_TIME_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd");
     public static final String INVALID_TAG_COMMAND_ERR_MSG = "OOPS!!! The tag command format is /tag <index> <tag>";
     public static final String INVALID_BYE_COMMAND_ERR_MSG = "Invalid exception, do you mean bye?";
+    public static final String INVALID_STATS_COMMAND_ERR_MSG = "OOPS!!! Do you mean 'stats' ?";
+    public static final String INVALID_SUMMARY_COMMAND_ERR_MSG = "OOPS!!! Do you mean 'summary' ?";
+    public static final String INVALID_HELP_COMMAND_ERR_MSG = "OOPS!!! Do you mean 'help' ?";
+    public static final String INVALID_UNDO_COMMAND_ERR_MSG = "OOPS!!! Do you mean 'undo' ?";
+    public static final String INVALID_REDO_COMMAND_ERR_MSG = "OOPS!!! Do you mean 'redo' ?";
+    public static final String MISSING_TRANSFER_FILE_ERR_MSG = "OOPS!!! Type in the file you want to ";
+    public static final String UNSUPPORTED_TRANSFER_FILE_ERR_MSG = "OOPS!!! Only .csv and .jsonl files can be "
+            + "imported or exported";
+    public static final String INVALID_RECURRENCE_ERR_MSG = "OOPS!!! A task can recur /every day, week, month "
+            + "or year";
+    public static final String INVALID_QUERY_COMMAND_ERR_MSG = "OOPS!!! The query command format is "
+            + "query [--explain] [done:true|false] [tag:<tag>] [before:<yyyy-mm-dd>] [after:<yyyy-mm-dd>] "
+            + "[text:<word>]";
+    public static final String INVALID_USE_COMMAND_ERR_MSG = "OOPS!!! The use command format is use <list name>, "
+            + "with only letters, digits, '-' and '_' in the name";
+    public static final String INVALID_EVENT_END_ERR_MSG = "OOPS!!! An event cannot end before it starts.";
+    public static final String INVALID_OVERLAPS_COMMAND_ERR_MSG = "OOPS!!! The overlaps command format is "
+            + "overlaps <yyyy-mm-dd> [<yyyy-mm-dd>], the second date not before the first";
+    public static final String INVALID_CONFLICTS_COMMAND_ERR_MSG = "OOPS!!! The conflicts command format is "
+            + "conflicts [<yyyy-mm-dd> <yyyy-mm-dd>], the second date not before the first";
 
     private enum CommandName {
-        BYE, LIST, DONE, DELETE, TODO, DEADLINE, EVENT, FIND, TAG;
+        BYE, LIST, DONE, DELETE, TODO, DEADLINE, EVENT, FIND, TAG, STATS, HELP, ARCHIVE, UNDO, REDO, IMPORT, EXPORT,
+        USE, QUERY, SUMMARY, OVERLAPS, CONFLICTS;
 
         private static CommandName getCommandCode(String input) {
             CommandName result;
@@ -50,13 +99,29 @@ public class Parser {
             return result;
         }
     }
-    private final TaskList taskList;
+    private final Workspace workspace;
+    private String lastCommandName = INVALID_COMMAND_NAME;
 
     /**
      * Constructs for the class.
+     *
+     * @param workspace The task lists the commands are run on, on the one in use.
      */
-    public Parser(TaskList taskList) {
-        this.taskList = taskList;
+    public Parser(Workspace workspace) {
+        this.workspace = workspace;
+    }
+
+    /**
+     * Returns the names of the commands, in lower case as they are typed.
+     *
+     * @return The command names.
+     */
+    public static List<String> getCommandNames() {
+        List<String> names = new ArrayList<>();
+        for (CommandName name : CommandName.values()) {
+            names.add(name.name().toLowerCase());
+        }
+        return names;
     }
 
     private String[] parseInput(String input) {
@@ -73,13 +138,33 @@ public class Parser {
             throw new DukeInvalidCommandException(INVALID_NUMBER_ARGUMENT_ERR_MSG);
         }
         boolean isNegativeIndex = parsedNumber < 0;
-        boolean isOutOfBoundsIndex = parsedNumber > taskList.getSize();
+        boolean isOutOfBoundsIndex = parsedNumber > workspace.getActiveList().getSize();
         if (isNegativeIndex || isOutOfBoundsIndex) {
-            throw new DukeInvalidCommandException(OUT_OF_BOUNDS_ERR_MSG + taskList.getSize() + ".");
+            throw new DukeInvalidCommandException(OUT_OF_BOUNDS_ERR_MSG + workspace.getActiveList().getSize() + ".");
         }
         return parsedNumber;
     }
 
+    private boolean isTaskId(String input) {
+        return input.trim().startsWith(TASK_ID_PREFIX);
+    }
+
+    /** Parses a persistent task id written as @id, unlike the task index it does not shift on deletes */
+    private int parseTaskId(String input) throws DukeInvalidCommandException {
+        String trimmedInput = input.trim();
+        assert(trimmedInput.startsWith(TASK_ID_PREFIX));
+        int parsedId;
+        try {
+            parsedId = Integer.parseInt(trimmedInput.substring(TASK_ID_PREFIX.length()));
+        } catch (NumberFormatException e) {
+            throw new DukeInvalidCommandException(INVALID_NUMBER_ARGUMENT_ERR_MSG);
+        }
+        if (!workspace.getActiveList().hasTaskWithId(parsedId)) {
+            throw new DukeInvalidCommandException(UNKNOWN_TASK_ID_ERR_MSG + TASK_ID_PREFIX + parsedId + ".");
+        }
+        return parsedId;
+    }
+
     private String[] getTaskArguments(String input, String regex, String errorMsg)
             throws DukeInvalidCommandException {
         String[] parsedArguments = input.split(regex);
@@ -95,77 +180,130 @@ public class Parser {
             throw new DukeInvalidCommandException(errorMsg);
         }
     }
-    private String handleList(String[] parsedInput) throws DukeInvalidCommandException {
+    private Command handleList(String[] parsedInput) throws DukeInvalidCommandException {
         assert(parsedInput.length != 0);
-        if (parsedInput.length >= 2) {
+        if (parsedInput.length < 2) {
+            return new ListCommand();
+        }
+        String argument = parsedInput[1].trim();
+        SortedView.Order order = argument.startsWith(LIST_ORDER_PREFIX)
+                ? SortedView.Order.fromName(argument.substring(LIST_ORDER_PREFIX.length()))
+                : null;
+        if (order == null) {
             throw new DukeInvalidCommandException(INVALID_LIST_COMMAND_ERR_MSG);
-        } else {
-            return new ListCommand().executeCommand(taskList);
         }
+        return new ListCommand(order);
     }
 
-    private String handleDone(String[] parsedInput) throws DukeInvalidCommandException {
+    private Command handleDone(String[] parsedInput) throws DukeInvalidCommandException {
         assert(parsedInput.length != 0);
         checkValidTaskCreation(parsedInput, UNKNOWN_DONE_INDEX_ERR_MSG);
+        if (isTaskId(parsedInput[1])) {
+            return new DoneCommand(parseTaskId(parsedInput[1]), true);
+        }
         int taskIndex = parseTaskIndex(parsedInput[1]);
-        if (taskList.getSize() == 0) {
+        if (workspace.getActiveList().getSize() == 0) {
             throw new DukeInvalidCommandException(EMPTY_LIST_ERR_MSG);
         }
-        return new DoneCommand(taskIndex).executeCommand(taskList);
+        return new DoneCommand(taskIndex);
     }
 
-    private String handleDeadline(String[] parsedInput) throws DukeInvalidCommandException {
+    private Command handleDeadline(String[] parsedInput) throws DukeInvalidCommandException {
         assert(parsedInput.length != 0);
         checkValidTaskCreation(parsedInput, EMPTY_DEADLINE_DESCRIPTION_ERR_MSG);
         String[] parsedArguments = getTaskArguments(parsedInput[1], " /by ", WRONG_DEADLINE_FORMAT_ERR_MSG);
+        String[] dateAndRecurrence = parsedArguments[1].split(RECURRENCE_SEPARATOR, 2);
         try {
-            LocalDate date = LocalDate.parse(parsedArguments[1], DATE_TIME_FORMATTER);
-            return new DeadlineCommand(new Deadline(parsedArguments[0], "", date)).executeCommand(taskList);
+            LocalDate date = LocalDate.parse(dateAndRecurrence[0].trim(), DATE_TIME_FORMATTER);
+            Deadline deadline = new Deadline(parsedArguments[0], "", date);
+            deadline.setRecurrence(parseRecurrence(dateAndRecurrence));
+            return new DeadlineCommand(deadline);
         } catch (DateTimeParseException e) {
             throw new DukeInvalidCommandException(WRONG_TIME_FORMAT_ERR_MSG);
         }
     }
 
-    private String handleEvent(String[] parsedInput) throws DukeInvalidCommandException {
+    private Command handleEvent(String[] parsedInput) throws DukeInvalidCommandException {
         assert(parsedInput.length != 0);
         checkValidTaskCreation(parsedInput, EMPTY_EVENT_DESCRIPTION_ERR_MSG);
         String[] parsedArguments = getTaskArguments(parsedInput[1], " /at ", WRONG_EVENT_FORMAT_ERR_MSG);
+        String[] dateAndRecurrence = parsedArguments[1].split(RECURRENCE_SEPARATOR, 2);
+        String[] dates = dateAndRecurrence[0].split(END_DATE_SEPARATOR, 2);
         try {
-            LocalDate date = LocalDate.parse(parsedArguments[1], DATE_TIME_FORMATTER);
-            return new EventCommand(new Event(parsedArguments[0], "", date)).executeCommand(taskList);
+            LocalDate date = LocalDate.parse(dates[0].trim(), DATE_TIME_FORMATTER);
+            LocalDate end = dates.length < 2 ? date : LocalDate.parse(dates[1].trim(), DATE_TIME_FORMATTER);
+            if (end.isBefore(date)) {
+                throw new DukeInvalidCommandException(INVALID_EVENT_END_ERR_MSG);
+            }
+            Event event = new Event(parsedArguments[0], "", date, end);
+            event.setRecurrence(parseRecurrence(dateAndRecurrence));
+            return new EventCommand(event);
         } catch (DateTimeParseException e) {
             throw new DukeInvalidCommandException(WRONG_TIME_FORMAT_ERR_MSG);
         }
     }
 
-    private String handleTodo(String[] parsedInput) throws DukeInvalidCommandException {
+    /**
+     * Parses the recurrence following the date of a deadline or an event, if any.
+     *
+     * @return The recurrence, null if the task doesn't recur.
+     */
+    private Recurrence parseRecurrence(String[] dateAndRecurrence) throws DukeInvalidCommandException {
+        if (dateAndRecurrence.length < 2) {
+            return null;
+        }
+        Recurrence recurrence = Recurrence.fromName(dateAndRecurrence[1]);
+        if (recurrence == null) {
+            throw new DukeInvalidCommandException(INVALID_RECURRENCE_ERR_MSG);
+        }
+        return recurrence;
+    }
+
+    private Command handleTodo(String[] parsedInput) throws DukeInvalidCommandException {
         if (parsedInput.length < 2) {
             throw new DukeInvalidCommandException(EMPTY_TODO_DESCRIPTION_ERR_MSG);
         }
         checkValidTaskCreation(parsedInput, EMPTY_TODO_DESCRIPTION_ERR_MSG);
-        return new ToDoCommand(new ToDo(parsedInput[1], "")).executeCommand(taskList);
+        return new ToDoCommand(new ToDo(parsedInput[1], ""));
     }
 
-    private String handleDelete(String[] parsedInput) throws DukeInvalidCommandException {
+    private Command handleDelete(String[] parsedInput) throws DukeInvalidCommandException {
         if (parsedInput.length < 2) {
             throw new DukeInvalidCommandException(UNKNOWN_DELETE_INDEX_ERR_MSG);
         }
+        if (isTaskId(parsedInput[1])) {
+            return new DeleteCommand(parseTaskId(parsedInput[1]), true);
+        }
         int taskIndex = parseTaskIndex(parsedInput[1]);
 
-        if (taskList.getSize() == 0) {
+        if (workspace.getActiveList().getSize() == 0) {
             throw new DukeInvalidCommandException(EMPTY_LIST_ERR_MSG);
         }
-        return new DeleteCommand(taskIndex).executeCommand(taskList);
+        return new DeleteCommand(taskIndex);
     }
 
-    private String handleFind(String[] parsedInput) throws DukeInvalidCommandException {
+    private Command handleFind(String[] parsedInput) throws DukeInvalidCommandException {
         if (parsedInput.length < 2) {
             throw new DukeInvalidCommandException(INVALID_FIND_KEYWORD_ERR_MSG);
         }
-        return new FindCommand(parsedInput[1]).executeCommand(taskList);
+        String[] arguments = parsedInput[1].trim().split(" ", 2);
+        if (arguments[0].equals(ARCHIVE_OPTION)) {
+            if (arguments.length < 2 || arguments[1].isBlank()) {
+                throw new DukeInvalidCommandException(INVALID_FIND_KEYWORD_ERR_MSG);
+            }
+            return new FindCommand(arguments[1], FindCommand.Mode.ARCHIVE);
+        }
+        if (arguments[0].startsWith(FUZZY_PREFIX)) {
+            String keyword = parsedInput[1].trim().substring(FUZZY_PREFIX.length());
+            if (keyword.isBlank()) {
+                throw new DukeInvalidCommandException(INVALID_FIND_KEYWORD_ERR_MSG);
+            }
+            return new FindCommand(keyword, FindCommand.Mode.FUZZY);
+        }
+        return new FindCommand(parsedInput[1]);
     }
 
-    private String handleTag(String[] parsedInput) throws DukeInvalidCommandException {
+    private Command handleTag(String[] parsedInput) throws DukeInvalidCommandException {
         if (parsedInput.length < 2) {
             throw new DukeInvalidCommandException(INVALID_TAG_COMMAND_ERR_MSG);
         }
@@ -173,22 +311,213 @@ public class Parser {
         if (arguments.length != 2) {
             throw new DukeInvalidCommandException(INVALID_TAG_COMMAND_ERR_MSG);
         }
-        if (taskList.getSize() == 0) {
+        if (workspace.getActiveList().getSize() == 0) {
             throw new DukeInvalidCommandException(EMPTY_LIST_ERR_MSG);
         }
-        int taskIndex = parseTaskIndex(arguments[0]);
         String tag = arguments[1];
-        return new TagCommand(taskIndex, tag).executeCommand(taskList);
+        if (isTaskId(arguments[0])) {
+            return new TagCommand(parseTaskId(arguments[0]), tag, true);
+        }
+        int taskIndex = parseTaskIndex(arguments[0]);
+        return new TagCommand(taskIndex, tag);
     }
 
-    private String handleBye(String[] parsedInput) throws DukeInvalidCommandException {
+    private Command handleBye(String[] parsedInput) throws DukeInvalidCommandException {
         if (parsedInput.length > 1) {
             throw new DukeInvalidCommandException(INVALID_BYE_COMMAND_ERR_MSG);
         }
-        return new ByeCommand().executeCommand(taskList);
+        return new ByeCommand();
     }
 
-    public String invokeCommand(String input) throws DukeInvalidCommandException {
+    private Command handleStats(String[] parsedInput) throws DukeInvalidCommandException {
+        if (parsedInput.length > 1) {
+            throw new DukeInvalidCommandException(INVALID_STATS_COMMAND_ERR_MSG);
+        }
+        return new StatsCommand();
+    }
+
+    private Command handleSummary(String[] parsedInput) throws DukeInvalidCommandException {
+        if (parsedInput.length > 1) {
+            throw new DukeInvalidCommandException(INVALID_SUMMARY_COMMAND_ERR_MSG);
+        }
+        return new SummaryCommand();
+    }
+
+    private Command handleArchive(String[] parsedInput) throws DukeInvalidCommandException {
+        if (parsedInput.length < 2) {
+            return new ArchiveCommand(null);
+        }
+        int days;
+        try {
+            days = Integer.parseInt(parsedInput[1].trim());
+        } catch (NumberFormatException e) {
+            throw new DukeInvalidCommandException(INVALID_ARCHIVE_COMMAND_ERR_MSG);
+        }
+        if (days < 0) {
+            throw new DukeInvalidCommandException(INVALID_ARCHIVE_COMMAND_ERR_MSG);
+        }
+        return new ArchiveCommand(LocalDate.now().minusDays(days));
+    }
+
+    private Command handleUndo(String[] parsedInput) throws DukeInvalidCommandException {
+        if (parsedInput.length > 1) {
+            throw new DukeInvalidCommandException(INVALID_UNDO_COMMAND_ERR_MSG);
+        }
+        return new UndoCommand();
+    }
+
+    private Command handleRedo(String[] parsedInput) throws DukeInvalidCommandException {
+        if (parsedInput.length > 1) {
+            throw new DukeInvalidCommandException(INVALID_REDO_COMMAND_ERR_MSG);
+        }
+        return new RedoCommand();
+    }
+
+    private Command handleHelp(String[] parsedInput) throws DukeInvalidCommandException {
+        if (parsedInput.length > 1) {
+            throw new DukeInvalidCommandException(INVALID_HELP_COMMAND_ERR_MSG);
+        }
+        return new HelpCommand();
+    }
+
+    private Command handleQuery(String[] parsedInput) throws DukeInvalidCommandException {
+        if (parsedInput.length < 2) {
+            throw new DukeInvalidCommandException(INVALID_QUERY_COMMAND_ERR_MSG);
+        }
+        boolean isExplained = false;
+        Boolean isDone = null;
+        String tag = null;
+        LocalDate before = null;
+        LocalDate after = null;
+        Set<String> words = new LinkedHashSet<>();
+        for (String term : parsedInput[1].trim().split(" +")) {
+            if (term.equals(EXPLAIN_OPTION)) {
+                isExplained = true;
+                continue;
+            }
+            String[] keyAndValue = term.split(":", 2);
+            if (keyAndValue.length < 2 || keyAndValue[1].isEmpty()) {
+                throw new DukeInvalidCommandException(INVALID_QUERY_COMMAND_ERR_MSG);
+            }
+            String value = keyAndValue[1];
+            switch (keyAndValue[0].toLowerCase()) {
+            case "done":
+                if (!value.equalsIgnoreCase("true") && !value.equalsIgnoreCase("false")) {
+                    throw new DukeInvalidCommandException(INVALID_QUERY_COMMAND_ERR_MSG);
+                }
+                isDone = Boolean.parseBoolean(value);
+                break;
+            case "tag":
+                tag = value;
+                break;
+            case "before":
+                before = parseQueryDate(value);
+                break;
+            case "after":
+                after = parseQueryDate(value);
+                break;
+            case "text":
+                Set<String> valueWords = FuzzyIndex.getWords(value);
+                if (valueWords.isEmpty()) {
+                    throw new DukeInvalidCommandException(INVALID_QUERY_COMMAND_ERR_MSG);
+                }
+                words.addAll(valueWords);
+                break;
+            default:
+                throw new DukeInvalidCommandException(INVALID_QUERY_COMMAND_ERR_MSG);
+            }
+        }
+        if (isDone == null && tag == null && before == null && after == null && words.isEmpty()) {
+            throw new DukeInvalidCommandException(INVALID_QUERY_COMMAND_ERR_MSG);
+        }
+        return new QueryCommand(new Query(isDone, tag, before, after, words), isExplained);
+    }
+
+    private LocalDate parseQueryDate(String date) throws DukeInvalidCommandException {
+        try {
+            return LocalDate.parse(date, DATE_TIME_FORMATTER);
+        } catch (DateTimeParseException e) {
+            throw new DukeInvalidCommandException(WRONG_TIME_FORMAT_ERR_MSG);
+        }
+    }
+
+    private Command handleOverlaps(String[] parsedInput) throws DukeInvalidCommandException {
+        if (parsedInput.length < 2) {
+            throw new DukeInvalidCommandException(INVALID_OVERLAPS_COMMAND_ERR_MSG);
+        }
+        LocalDate[] dates = parseDateRange(parsedInput[1].trim().split(" +"), INVALID_OVERLAPS_COMMAND_ERR_MSG);
+        return new OverlapsCommand(dates[0], dates[1]);
+    }
+
+    private Command handleConflicts(String[] parsedInput) throws DukeInvalidCommandException {
+        if (parsedInput.length < 2) {
+            return new ConflictsCommand();
+        }
+        String[] arguments = parsedInput[1].trim().split(" +");
+        if (arguments.length != 2) {
+            throw new DukeInvalidCommandException(INVALID_CONFLICTS_COMMAND_ERR_MSG);
+        }
+        LocalDate[] dates = parseDateRange(arguments, INVALID_CONFLICTS_COMMAND_ERR_MSG);
+        return new ConflictsCommand(dates[0], dates[1]);
+    }
+
+    /**
+     * Parses a first date and an optional last date, which defaults to the first one.
+     *
+     * @return The first and the last date.
+     */
+    private LocalDate[] parseDateRange(String[] arguments, String errorMsg) throws DukeInvalidCommandException {
+        if (arguments.length > 2) {
+            throw new DukeInvalidCommandException(errorMsg);
+        }
+        LocalDate from = parseQueryDate(arguments[0]);
+        LocalDate to = arguments.length < 2 ? from : parseQueryDate(arguments[1]);
+        if (to.isBefore(from)) {
+            throw new DukeInvalidCommandException(errorMsg);
+        }
+        return new LocalDate[] {from, to};
+    }
+
+    private Command handleUse(String[] parsedInput) throws DukeInvalidCommandException {
+        if (parsedInput.length < 2 || !Workspace.isValidListName(parsedInput[1].trim())) {
+            throw new DukeInvalidCommandException(INVALID_USE_COMMAND_ERR_MSG);
+        }
+        return new UseCommand(workspace, parsedInput[1].trim());
+    }
+
+    private Command handleImport(String[] parsedInput) throws DukeInvalidCommandException {
+        Path file = getTransferFile(parsedInput, "import");
+        return new ImportCommand(file, TaskFormat.forFileName(file.toString()));
+    }
+
+    private Command handleExport(String[] parsedInput) throws DukeInvalidCommandException {
+        Path file = getTransferFile(parsedInput, "export");
+        return new ExportCommand(file, TaskFormat.forFileName(file.toString()));
+    }
+
+    private static Path getTransferFile(String[] parsedInput, String operation) throws DukeInvalidCommandException {
+        if (parsedInput.length < 2 || parsedInput[1].isBlank()) {
+            throw new DukeInvalidCommandException(MISSING_TRANSFER_FILE_ERR_MSG + operation);
+        }
+        String fileName = parsedInput[1].trim();
+        if (TaskFormat.forFileName(fileName) == null) {
+            throw new DukeInvalidCommandException(UNSUPPORTED_TRANSFER_FILE_ERR_MSG);
+        }
+        try {
+            return Paths.get(fileName);
+        } catch (InvalidPathException e) {
+            throw new DukeInvalidCommandException(MISSING_TRANSFER_FILE_ERR_MSG + operation);
+        }
+    }
+
+    /**
+     * Parses the user input into a command, without executing it.
+     *
+     * @param input The user input.
+     * @return The command to execute.
+     * @throws DukeInvalidCommandException If the input is not a valid command.
+     */
+    public Command parseCommand(String input) throws DukeInvalidCommandException {
         String[] parsedInput = parseInput(input);
         CommandName commandName = CommandName.getCommandCode(parsedInput[0]);
         if (commandName == null) {
@@ -213,9 +542,89 @@ public class Parser {
             return handleTag(parsedInput);
         case BYE:
             return handleBye(parsedInput);
+        case STATS:
+            return handleStats(parsedInput);
+        case SUMMARY:
+            return handleSummary(parsedInput);
+        case HELP:
+            return handleHelp(parsedInput);
+        case ARCHIVE:
+            return handleArchive(parsedInput);
+        case UNDO:
+            return handleUndo(parsedInput);
+        case REDO:
+            return handleRedo(parsedInput);
+        case IMPORT:
+            return handleImport(parsedInput);
+        case EXPORT:
+            return handleExport(parsedInput);
+        case USE:
+            return handleUse(parsedInput);
+        case QUERY:
+            return handleQuery(parsedInput);
+        case OVERLAPS:
+            return handleOverlaps(parsedInput);
+        case CONFLICTS:
+            return handleConflicts(parsedInput);
         default:
             throw new DukeInvalidCommandException(UNKNOWN_COMMAND_ERR_MSG);
         }
     }
 
+    /**
+     * Parses the user input and executes the command on the task list.
+     * The time spent in each phase is recorded per command type, and a flight recorder event is emitted.
+     *
+     * @param input The user input.
+     * @return The response of the command.
+     * @throws DukeInvalidCommandException If the input is not a valid command.
+     */
+    public String invokeCommand(String input) throws DukeInvalidCommandException {
+        CommandEvent event = new CommandEvent();
+        event.begin();
+        long startTime = System.nanoTime();
+        Command command;
+        try {
+            command = parseCommand(input);
+        } catch (DukeInvalidCommandException e) {
+            lastCommandName = INVALID_COMMAND_NAME;
+            Metrics.recordCommand(lastCommandName);
+            Metrics.recordPhase(lastCommandName, Phase.PARSE, System.nanoTime() - startTime);
+            commitEvent(event, e.getMessage());
+            throw e;
+        }
+        long parsedTime = System.nanoTime();
+        lastCommandName = command.getName();
+        Metrics.takePendingPersistNanos();
+        String result = command.executeCommand(workspace.getActiveList());
+        long persistNanos = Metrics.takePendingPersistNanos();
+        Metrics.recordCommand(lastCommandName);
+        Metrics.recordPhase(lastCommandName, Phase.PARSE, parsedTime - startTime);
+        Metrics.recordPhase(lastCommandName, Phase.EXECUTE, System.nanoTime() - parsedTime - persistNanos);
+        if (persistNanos > 0) {
+            Metrics.recordPhase(lastCommandName, Phase.PERSIST, persistNanos);
+        }
+        commitEvent(event, SUCCESS_OUTCOME);
+        return result;
+    }
+
+    /** Fields are only filled in when the event passes the threshold of an ongoing recording */
+    private void commitEvent(CommandEvent event, String outcome) {
+        event.end();
+        if (event.shouldCommit()) {
+            event.command = lastCommandName;
+            event.outcome = outcome;
+            event.commit();
+        }
+    }
+
+    /**
+     * Returns the type of the last invoked command, "invalid" if it could not be parsed.
+     *
+     * @return The command type name.
+     */
+    public String getLastCommandName() {
+        return lastCommandName;
+    }
+
 }
@@ -0,0 +1,133 @@
+package duke.logic.query;
+
+import duke.logic.index.FuzzyIndex;
+import duke.logic.tasks.Task;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * A query on the task list: the conditions a task must meet, all of them.
+ * An unset condition matches every task.
+ */
+public class Query {
+    private final Boolean isDone;
+    private final String tag;
+    private final LocalDate before;
+    private final LocalDate after;
+    private final Set<String> words;
+
+    /**
+     * Constructs a query.
+     *
+     * @param isDone The status of the tasks, null for any status.
+     * @param tag The tag of the tasks, null for any tag.
+     * @param before The date the tasks are due or happen before, null for no limit.
+     * @param after The date the tasks are due or happen after, null for no limit.
+     * @param words The words in the description of the tasks, in lower case.
+     */
+    public Query(Boolean isDone, String tag, LocalDate before, LocalDate after, Set<String> words) {
+        this.isDone = isDone;
+        this.tag = tag;
+        this.before = before;
+        this.after = after;
+        this.words = Collections.unmodifiableSet(new LinkedHashSet<>(words));
+    }
+
+    public Boolean getDone() {
+        return isDone;
+    }
+
+    public String getTag() {
+        return tag;
+    }
+
+    public LocalDate getBefore() {
+        return before;
+    }
+
+    public LocalDate getAfter() {
+        return after;
+    }
+
+    public Set<String> getWords() {
+        return words;
+    }
+
+    /**
+     * Checks whether a task meets every condition of the query.
+     * Tasks without a date don't meet a before or after condition, recurring tasks meet it if they occur
+     * in between.
+     *
+     * @param task The task.
+     * @return Whether the task matches.
+     */
+    public boolean matches(Task task) {
+        if (isDone != null && task.isDone() != isDone) {
+            return false;
+        }
+        if (tag != null && !task.getTag().equals(tag)) {
+            return false;
+        }
+        if (hasDateWindow() && getOccurrences(task, 1).isEmpty()) {
+            return false;
+        }
+        return words.isEmpty() || FuzzyIndex.getWords(task.getDescription()).containsAll(words);
+    }
+
+    /**
+     * Checks whether the query has a before or after condition.
+     *
+     * @return Whether the query asks for a date window.
+     */
+    public boolean hasDateWindow() {
+        return before != null || after != null;
+    }
+
+    /**
+     * Returns the dates a task occurs on within the date window of the query, both limits excluded.
+     * Only the dates in the window are computed, however far it is from the first date of a recurring task.
+     *
+     * @param task The task.
+     * @param limit The maximum number of dates returned.
+     * @return The dates, in increasing order.
+     */
+    public List<LocalDate> getOccurrences(Task task, int limit) {
+        return task.getOccurrences(after == null ? null : after.plusDays(1),
+                before == null ? null : before.minusDays(1), limit);
+    }
+
+    /**
+     * Returns the conditions as they are typed.
+     *
+     * @return The conditions, e.g. done:false.
+     */
+    public List<String> getTerms() {
+        List<String> terms = new ArrayList<>();
+        if (isDone != null) {
+            terms.add("done:" + isDone);
+        }
+        if (tag != null) {
+            terms.add("tag:" + tag);
+        }
+        if (before != null) {
+            terms.add("before:" + before);
+        }
+        if (after != null) {
+            terms.add("after:" + after);
+        }
+        for (String word : words) {
+            terms.add("text:" + word);
+        }
+        return terms;
+    }
+
+    @Override
+    public String toString() {
+        return String.join(" ", getTerms());
+    }
+}
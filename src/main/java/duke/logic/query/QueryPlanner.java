@@ -0,0 +1,304 @@
+package duke.logic.query;
+
+import duke.logic.index.FuzzyIndex;
+import duke.logic.index.RecurringIndex;
+import duke.logic.index.SortedView;
+import duke.logic.tasks.Deadline;
+import duke.logic.tasks.PersistentTaskTree;
+import duke.logic.tasks.Task;
+import duke.logic.tasks.ToDo;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Runs queries on a task list using its indexes.
+ * Each condition with an index gives an access path: the text index for words, the sorted views for the tag,
+ * the dates and the status. The path expected to read the fewest tasks is chosen, every candidate it gives
+ * is then checked against the whole query, in the current version of the task list.
+ * An index being built from the tasks, e.g. after a start without a matching saved text index, gives no path,
+ * so that the query scans the list rather than waiting for it.
+ */
+public class QueryPlanner {
+    private final FuzzyIndex fuzzyIndex;
+    private final Map<SortedView.Order, SortedView> sortedViews;
+    private final RecurringIndex recurringIndex;
+
+    /**
+     * The ways to find the candidate tasks of a query.
+     */
+    public enum AccessPath {
+        TEXT("text index"),
+        TAG("tag index"),
+        DATE("date index"),
+        STATUS("status index"),
+        SCAN("full scan");
+
+        private final String description;
+
+        AccessPath(String description) {
+            this.description = description;
+        }
+
+        @Override
+        public String toString() {
+            return description;
+        }
+    }
+
+    /**
+     * The tasks matching a query and how they were found.
+     */
+    public static class Result {
+        private final AccessPath accessPath;
+        private final int estimatedRows;
+        private final int scannedRows;
+        private final int[] matchingIds;
+
+        private Result(AccessPath accessPath, int estimatedRows, int scannedRows, int[] matchingIds) {
+            this.accessPath = accessPath;
+            this.estimatedRows = estimatedRows;
+            this.scannedRows = scannedRows;
+            this.matchingIds = matchingIds;
+        }
+
+        public AccessPath getAccessPath() {
+            return accessPath;
+        }
+
+        public int getEstimatedRows() {
+            return estimatedRows;
+        }
+
+        public int getScannedRows() {
+            return scannedRows;
+        }
+
+        /**
+         * Returns the ids of the matching tasks, in list order.
+         *
+         * @return The task ids.
+         */
+        public int[] getMatchingIds() {
+            return matchingIds;
+        }
+    }
+
+    /**
+     * Constructs a planner using the given indexes of a task list.
+     *
+     * @param fuzzyIndex The index of the description words.
+     * @param sortedViews The views of the task list, by order.
+     * @param recurringIndex The recurring tasks of the task list.
+     */
+    public QueryPlanner(FuzzyIndex fuzzyIndex, Map<SortedView.Order, SortedView> sortedViews,
+            RecurringIndex recurringIndex) {
+        this.fuzzyIndex = fuzzyIndex;
+        this.sortedViews = sortedViews;
+        this.recurringIndex = recurringIndex;
+    }
+
+    /**
+     * Finds the tasks matching a query.
+     *
+     * @param query The query.
+     * @param tasks The version of the task list to query.
+     * @return The matching tasks and the plan used.
+     */
+    public Result execute(Query query, PersistentTaskTree tasks) {
+        // the estimates of the sorted views stop at the best estimate so far, as a worse one doesn't matter
+        AccessPath bestPath = AccessPath.SCAN;
+        int bestEstimate = tasks.size();
+        if (!query.getWords().isEmpty() && !fuzzyIndex.isBuildingFromTasks()) {
+            int estimate = Integer.MAX_VALUE;
+            for (String word : query.getWords()) {
+                estimate = Math.min(estimate, fuzzyIndex.countTasksWithWord(word));
+            }
+            if (estimate < bestEstimate) {
+                bestPath = AccessPath.TEXT;
+                bestEstimate = estimate;
+            }
+        }
+        for (AccessPath path : new AccessPath[] {AccessPath.TAG, AccessPath.DATE, AccessPath.STATUS}) {
+            Task[] range = getRange(path, query);
+            if (range == null || !isBuilt(path)) {
+                continue;
+            }
+            int estimate = getView(path).count(range[0], range[1], bestEstimate);
+            if (path == AccessPath.DATE) {
+                // the recurring tasks starting before the end of the window may occur in it
+                estimate += recurringIndex.count(query.getBefore(), bestEstimate);
+            }
+            if (estimate < bestEstimate) {
+                bestPath = path;
+                bestEstimate = estimate;
+            }
+        }
+        return scan(query, tasks, bestPath, bestEstimate);
+    }
+
+    private Result scan(Query query, PersistentTaskTree tasks, AccessPath path, int estimate) {
+        int[] candidateIds;
+        if (path == AccessPath.SCAN) {
+            candidateIds = new int[tasks.size()];
+            int count = 0;
+            for (Task task : tasks) {
+                candidateIds[count++] = task.getId();
+            }
+        } else if (path == AccessPath.TEXT) {
+            candidateIds = fuzzyIndex.getIdsWithAllWords(query.getWords());
+        } else {
+            Task[] range = getRange(path, query);
+            List<Task> candidates = getView(path).getRange(range[0], range[1]);
+            if (path == AccessPath.DATE) {
+                // the date view only has the first date of the recurring tasks, they are all taken from their index
+                candidates.removeIf(task -> task.getRecurrence() != null);
+                candidates.addAll(recurringIndex.getTasks(query.getBefore()));
+            }
+            candidateIds = new int[candidates.size()];
+            for (int i = 0; i < candidateIds.length; i++) {
+                candidateIds[i] = candidates.get(i).getId();
+            }
+        }
+        // the indexes may lag a change behind, so the candidates are checked in the queried version
+        int[] matchingIds = new int[candidateIds.length];
+        int count = 0;
+        for (int id : candidateIds) {
+            Task task = tasks.get(id);
+            if (task != null && query.matches(task)) {
+                matchingIds[count++] = id;
+            }
+        }
+        matchingIds = Arrays.copyOf(matchingIds, count);
+        Arrays.sort(matchingIds);
+        // the intersection of the word ids reads every id of the rarest word
+        int scannedRows = path == AccessPath.TEXT ? estimate : candidateIds.length;
+        return new Result(path, estimate, scannedRows, matchingIds);
+    }
+
+    private boolean isBuilt(AccessPath path) {
+        return getView(path).isBuilt() && (path != AccessPath.DATE || recurringIndex.isBuilt());
+    }
+
+    private SortedView getView(AccessPath path) {
+        switch (path) {
+        case TAG:
+            return sortedViews.get(SortedView.Order.TAG);
+        case DATE:
+            return sortedViews.get(SortedView.Order.DATE);
+        case STATUS:
+            return sortedViews.get(SortedView.Order.STATUS);
+        default:
+            throw new IllegalArgumentException("No view for " + path);
+        }
+    }
+
+    /**
+     * Returns the lowest and highest tasks of the range of a view matching the condition of the query on it,
+     * which sort before and after every real task of the range since their ids are out of the task id range.
+     *
+     * @return The bounds of the range, null if the query has no condition on that view.
+     */
+    private static Task[] getRange(AccessPath path, Query query) {
+        switch (path) {
+        case TAG:
+            if (query.getTag() == null) {
+                return null;
+            }
+            return new Task[] {createProbe(new ToDo("", query.getTag()), 0),
+                    createProbe(new ToDo("", query.getTag()), Integer.MAX_VALUE)};
+        case DATE:
+            if (query.getBefore() == null && query.getAfter() == null) {
+                return null;
+            }
+            // the tasks without a date are sorted last, after the highest probe
+            Task from = query.getAfter() == null ? createProbe(new Deadline("", "", LocalDate.MIN), 0)
+                    : createProbe(new Deadline("", "", query.getAfter()), Integer.MAX_VALUE);
+            Task to = query.getBefore() == null
+                    ? createProbe(new Deadline("", "", LocalDate.MAX), Integer.MAX_VALUE)
+                    : createProbe(new Deadline("", "", query.getBefore()), 0);
+            boolean isEmptyRange = query.getBefore() != null && query.getAfter() != null
+                    && !query.getAfter().isBefore(query.getBefore());
+            if (isEmptyRange) {
+                // no date is both after and before, a range holding only the probe is empty
+                to = from;
+            }
+            return new Task[] {from, to};
+        case STATUS:
+            if (query.getDone() == null) {
+                return null;
+            }
+            Task lowest = createProbe(new ToDo("", ""), 0);
+            Task highest = createProbe(new ToDo("", ""), Integer.MAX_VALUE);
+            if (query.getDone()) {
+                lowest.markAsDone();
+                highest.markAsDone();
+            }
+            return new Task[] {lowest, highest};
+        default:
+            return null;
+        }
+    }
+
+    private static Task createProbe(Task task, int id) {
+        task.setId(id);
+        return task;
+    }
+
+    /**
+     * Describes how a query was run, e.g. for query --explain.
+     *
+     * @param query The query.
+     * @param result The result of the query.
+     * @param taskCount The number of tasks in the queried version.
+     * @return The steps of the plan and the number of tasks read.
+     */
+    public static List<String> explain(Query query, Result result, int taskCount) {
+        List<String> lines = new ArrayList<>();
+        List<String> filters = new ArrayList<>(query.getTerms());
+        String lookup;
+        switch (result.getAccessPath()) {
+        case TEXT:
+            List<String> words = new ArrayList<>();
+            for (String word : query.getWords()) {
+                words.add("text:" + word);
+            }
+            filters.removeAll(words);
+            lookup = String.join(" ", words) + (words.size() > 1 ? ", intersecting the ids of each word" : "");
+            break;
+        case TAG:
+            lookup = "tag:" + query.getTag();
+            filters.remove(lookup);
+            break;
+        case DATE:
+            List<String> dates = new ArrayList<>();
+            for (String term : query.getTerms()) {
+                if (term.startsWith("before:") || term.startsWith("after:")) {
+                    dates.add(term);
+                }
+            }
+            filters.removeAll(dates);
+            lookup = String.join(" ", dates);
+            break;
+        case STATUS:
+            lookup = "done:" + query.getDone();
+            filters.remove(lookup);
+            break;
+        default:
+            lookup = null;
+        }
+        if (lookup == null) {
+            lines.add("1. " + result.getAccessPath() + " of the " + taskCount + " tasks");
+        } else {
+            lines.add("1. " + result.getAccessPath() + " lookup of " + lookup + " (estimated "
+                    + result.getEstimatedRows() + " tasks)");
+        }
+        lines.add("2. " + (filters.isEmpty() ? "no filter" : "filter " + String.join(" ", filters)));
+        lines.add("Scanned " + result.getScannedRows() + " of " + taskCount + " tasks, "
+                + result.getMatchingIds().length + " matched");
+        return lines;
+    }
+}
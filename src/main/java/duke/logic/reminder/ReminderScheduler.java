@@ -0,0 +1,191 @@
+package duke.logic.reminder;
+
+import duke.logic.index.IncrementalIndex;
+import duke.logic.tasks.PersistentTaskTree;
+import duke.logic.tasks.Task;
+
+import java.time.Clock;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Reminds the user of the deadlines and events coming up.
+ * Every dated task not done yet has a timer in a timing wheel, set to the start of the day a few days before
+ * its date, and updated as tasks are added, done or deleted. A single daemon thread expires the timers
+ * once a tick, instead of polling every task or keeping a scheduled future per task.
+ * A recurring task only has a timer for its next occurrence.
+ */
+public class ReminderScheduler extends IncrementalIndex<ReminderScheduler.Reminders> {
+    // Number of days before its date a task is reminded of
+    public static final String LEAD_DAYS_PROPERTY = "duke.reminder.leadDays";
+    private static final int DEFAULT_LEAD_DAYS = 1;
+    private static final long TICK_MILLIS = 60_000;
+    private static final int MAX_LISTED_REMINDERS = 10;
+
+    private final Consumer<String> notifier;
+    private final Clock clock;
+    private final int leadDays;
+
+    /**
+     * The timers and the timer of each task. A timer holds the occurrence of the task it reminds of.
+     */
+    static class Reminders {
+        private final TimingWheel<Task> wheel;
+        private final HashMap<Integer, TimingWheel.Entry<Task>> entriesById = new HashMap<>();
+        // Recurring tasks with a timer, to set the timer of their next occurrence once reminded
+        private final HashMap<Integer, Task> recurringTasksById = new HashMap<>();
+
+        private Reminders(long currentTick) {
+            this.wheel = new TimingWheel<>(currentTick);
+        }
+    }
+
+    /**
+     * Constructs a scheduler and starts its thread, which waits for the task list to be loaded.
+     *
+     * @param notifier Receives the reminder messages, on the scheduler thread.
+     */
+    public ReminderScheduler(Consumer<String> notifier) {
+        this(notifier, Clock.systemDefaultZone(), Integer.getInteger(LEAD_DAYS_PROPERTY, DEFAULT_LEAD_DAYS));
+    }
+
+    /**
+     * Constructs a scheduler with the given clock and starts its thread.
+     *
+     * @param notifier Receives the reminder messages, on the scheduler thread.
+     * @param clock The clock giving the current time and time zone.
+     * @param leadDays Number of days before its date a task is reminded of.
+     */
+    public ReminderScheduler(Consumer<String> notifier, Clock clock, int leadDays) {
+        super("reminder-index");
+        this.notifier = notifier;
+        this.clock = clock;
+        this.leadDays = leadDays;
+        Thread ticker = new Thread(this::runTicker, "reminder-scheduler");
+        ticker.setDaemon(true);
+        ticker.start();
+    }
+
+    private long getCurrentTick() {
+        return clock.millis() / TICK_MILLIS;
+    }
+
+    @Override
+    protected Reminders build(PersistentTaskTree tasks) {
+        Reminders reminders = new Reminders(getCurrentTick());
+        for (Task task : tasks) {
+            schedule(reminders, task);
+        }
+        return reminders;
+    }
+
+    @Override
+    protected void update(Reminders reminders, Task oldTask, Task newTask) {
+        TimingWheel.Entry<Task> entry = oldTask == null ? null : reminders.entriesById.get(oldTask.getId());
+        boolean isSameReminder = entry != null && newTask != null && !newTask.isDone()
+                && newTask.getDate() != null && newTask.getDate().equals(oldTask.getDate())
+                && newTask.getRecurrence() == oldTask.getRecurrence();
+        if (isSameReminder) {
+            // keeps the timer, so that tagging a task doesn't remind of it twice
+            entry.setItem(newTask.getOccurrence(entry.getItem().getDate()));
+            if (newTask.getRecurrence() != null) {
+                reminders.recurringTasksById.put(newTask.getId(), newTask);
+            }
+            return;
+        }
+        if (entry != null) {
+            reminders.wheel.cancel(entry);
+            reminders.entriesById.remove(oldTask.getId());
+            reminders.recurringTasksById.remove(oldTask.getId());
+        }
+        if (newTask != null && schedule(reminders, newTask)) {
+            // wakes the ticker in case the reminder is already due
+            notifyAll();
+        }
+    }
+
+    /**
+     * Sets the timer of a task, if it is dated, not done and its date has not passed.
+     *
+     * @return Whether a timer was set.
+     */
+    private boolean schedule(Reminders reminders, Task task) {
+        return schedule(reminders, task, LocalDate.now(clock));
+    }
+
+    /**
+     * Sets the timer of the first occurrence of a task on or after a date, if it is not done.
+     * Only that occurrence has a timer, the next one gets it once it is reminded.
+     *
+     * @return Whether a timer was set.
+     */
+    private boolean schedule(Reminders reminders, Task task, LocalDate from) {
+        List<LocalDate> dates = task.getOccurrences(from, null, 1);
+        if (task.isDone() || dates.isEmpty()) {
+            return false;
+        }
+        LocalDate date = dates.get(0);
+        long reminderMillis = date.minusDays(leadDays).atStartOfDay(clock.getZone()).toInstant().toEpochMilli();
+        reminders.entriesById.put(task.getId(),
+                reminders.wheel.schedule(task.getOccurrence(date), reminderMillis / TICK_MILLIS));
+        if (task.getRecurrence() != null) {
+            reminders.recurringTasksById.put(task.getId(), task);
+        }
+        return true;
+    }
+
+    /**
+     * Expires the due timers once a tick, or right away when a reminder is already due, and sends
+     * their reminders outside the lock so that a slow user interface doesn't hold up the task list.
+     */
+    private void runTicker() {
+        while (true) {
+            List<Task> dueTasks = new ArrayList<>();
+            synchronized (this) {
+                Reminders reminders = getIndex();
+                reminders.wheel.advance(getCurrentTick(), task -> {
+                    dueTasks.add(task);
+                    reminders.entriesById.remove(task.getId());
+                });
+                for (Task occurrence : dueTasks) {
+                    Task recurringTask = reminders.recurringTasksById.remove(occurrence.getId());
+                    if (recurringTask != null) {
+                        schedule(reminders, recurringTask, occurrence.getDate().plusDays(1));
+                    }
+                }
+                if (dueTasks.isEmpty()) {
+                    try {
+                        wait(TICK_MILLIS - clock.millis() % TICK_MILLIS);
+                    } catch (InterruptedException e) {
+                        return;
+                    }
+                    continue;
+                }
+            }
+            notifier.accept(getReminderMessage(dueTasks));
+        }
+    }
+
+    private String getReminderMessage(List<Task> dueTasks) {
+        LocalDate today = LocalDate.now(clock);
+        StringBuilder message = new StringBuilder("Reminder:");
+        for (int i = 0; i < dueTasks.size() && i < MAX_LISTED_REMINDERS; i++) {
+            Task task = dueTasks.get(i);
+            long days = ChronoUnit.DAYS.between(today, task.getDate());
+            message.append("\n\t ").append(task).append(" @").append(task.getId());
+            if (days <= 0) {
+                message.append(" is today");
+            } else {
+                message.append(" is in ").append(days).append(days == 1 ? " day" : " days");
+            }
+        }
+        if (dueTasks.size() > MAX_LISTED_REMINDERS) {
+            message.append("\n\t and ").append(dueTasks.size() - MAX_LISTED_REMINDERS).append(" more tasks");
+        }
+        return message.toString();
+    }
+}
@@ -0,0 +1,211 @@
+package duke.logic.reminder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Hierarchical timing wheel, scheduling and cancelling timers in constant time however many are pending.
+ * Level 0 has a slot per tick, each higher level has a slot per full turn of the level below.
+ * Timers far away wait in a coarse slot and are moved down a level each time the wheel below
+ * completes a turn, until they land in the slot of the tick they expire at.
+ * Not thread safe.
+ *
+ * @param <T> The item carried by the timers.
+ */
+public class TimingWheel<T> {
+    private static final int SLOT_BITS = 6;
+    private static final int SLOT_COUNT = 1 << SLOT_BITS;
+    private static final int SLOT_MASK = SLOT_COUNT - 1;
+    private static final int LEVEL_COUNT = 4;
+
+    // Circular lists of the timers in each slot of each level, headed by a sentinel
+    private final List<Entry<T>> slots = new ArrayList<>();
+    // Timers beyond the range of the top level, looked at again on each turn of the top level
+    private final Entry<T> overflow = new Entry<>(null, 0);
+    // Timers that are already due
+    private final Entry<T> ready = new Entry<>(null, 0);
+    // The last tick processed
+    private long currentTick;
+    private int size;
+
+    /**
+     * A scheduled timer.
+     *
+     * @param <T> The item carried by the timer.
+     */
+    public static class Entry<T> {
+        private T item;
+        private final long tick;
+        private Entry<T> previous = this;
+        private Entry<T> next = this;
+
+        private Entry(T item, long tick) {
+            this.item = item;
+            this.tick = tick;
+        }
+
+        public T getItem() {
+            return item;
+        }
+
+        /**
+         * Replaces the item, keeping the timer as it is.
+         *
+         * @param item The new item.
+         */
+        public void setItem(T item) {
+            this.item = item;
+        }
+
+        public long getTick() {
+            return tick;
+        }
+
+        /**
+         * Returns whether the timer is still waiting, i.e. it has neither expired nor been cancelled.
+         *
+         * @return Whether the timer is pending.
+         */
+        public boolean isPending() {
+            return next != this;
+        }
+
+        private void unlink() {
+            previous.next = next;
+            next.previous = previous;
+            previous = this;
+            next = this;
+        }
+
+        private void linkBefore(Entry<T> sentinel) {
+            previous = sentinel.previous;
+            next = sentinel;
+            sentinel.previous.next = this;
+            sentinel.previous = this;
+        }
+    }
+
+    /**
+     * Constructs an empty wheel.
+     *
+     * @param currentTick The tick the wheel starts at, timers at or before it are already due.
+     */
+    public TimingWheel(long currentTick) {
+        this.currentTick = currentTick;
+        for (int i = 0; i < LEVEL_COUNT * SLOT_COUNT; i++) {
+            slots.add(new Entry<>(null, 0));
+        }
+    }
+
+    public long getCurrentTick() {
+        return currentTick;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Schedules a timer.
+     *
+     * @param item The item carried by the timer.
+     * @param tick The tick the timer expires at, a past tick expires on the next advance.
+     * @return The timer, to cancel it.
+     */
+    public Entry<T> schedule(T item, long tick) {
+        Entry<T> entry = new Entry<>(item, tick);
+        place(entry);
+        size++;
+        return entry;
+    }
+
+    /**
+     * Cancels a timer, doing nothing if it has already expired or been cancelled.
+     *
+     * @param entry The timer.
+     */
+    public void cancel(Entry<T> entry) {
+        if (entry.isPending()) {
+            entry.unlink();
+            size--;
+        }
+    }
+
+    /**
+     * Puts a timer in the slot of the lowest level whose range reaches its tick.
+     */
+    private void place(Entry<T> entry) {
+        long delta = entry.tick - currentTick;
+        if (delta <= 0) {
+            entry.linkBefore(ready);
+            return;
+        }
+        for (int level = 0; level < LEVEL_COUNT; level++) {
+            if (delta < 1L << (SLOT_BITS * (level + 1))) {
+                int slot = (int) (entry.tick >>> (SLOT_BITS * level)) & SLOT_MASK;
+                entry.linkBefore(slots.get(level * SLOT_COUNT + slot));
+                return;
+            }
+        }
+        entry.linkBefore(overflow);
+    }
+
+    /**
+     * Moves the wheel forward, expiring every timer up to the given tick.
+     *
+     * @param tick The tick to move to, usually the current time in ticks.
+     * @param consumer Receives the items of the expired timers, in order of expiry.
+     */
+    public void advance(long tick, Consumer<T> consumer) {
+        expire(ready, consumer);
+        while (currentTick < tick) {
+            currentTick++;
+            cascade(1);
+            expire(slots.get((int) (currentTick & SLOT_MASK)), consumer);
+            expire(ready, consumer);
+        }
+    }
+
+    /**
+     * Moves the timers of the current slot of a level down, when every level below completed a turn.
+     */
+    private void cascade(int level) {
+        if ((currentTick & ((1L << (SLOT_BITS * level)) - 1)) != 0) {
+            return;
+        }
+        if (level < LEVEL_COUNT) {
+            cascade(level + 1);
+            int slot = (int) (currentTick >>> (SLOT_BITS * level)) & SLOT_MASK;
+            replace(slots.get(level * SLOT_COUNT + slot));
+        } else {
+            replace(overflow);
+        }
+    }
+
+    /**
+     * Places again every timer of a list. The list is detached first, since timers still far away
+     * go back to the overflow list they came from.
+     */
+    private void replace(Entry<T> sentinel) {
+        Entry<T> entry = sentinel.next;
+        sentinel.next = sentinel;
+        sentinel.previous = sentinel;
+        while (entry != sentinel) {
+            Entry<T> next = entry.next;
+            entry.next = entry;
+            entry.previous = entry;
+            place(entry);
+            entry = next;
+        }
+    }
+
+    private void expire(Entry<T> sentinel, Consumer<T> consumer) {
+        while (sentinel.next != sentinel) {
+            Entry<T> entry = sentinel.next;
+            entry.unlink();
+            size--;
+            consumer.accept(entry.item);
+        }
+    }
+}
@@ -21,6 +21,18 @@ public class Deadline extends Task {
         this.by = by;
     }
 
+    @Override
+    public LocalDate getDate() {
+        return this.by;
+    }
+
+    @Override
+    public Task getOccurrence(LocalDate date) {
+        Deadline occurrence = (Deadline) copy();
+        occurrence.by = date;
+        return occurrence;
+    }
+
     /**
      * Return string representation of the task to write to hard disk.
      *
@@ -29,9 +41,11 @@ public class Deadline extends Task {
     @Override
     public String toSaveInHardDisk() {
         if (this.isDone) {
-            return "D ; 1 ; " + this.description + " ; " + this.by + " ; " + this.tag;
+            return "D ; 1 ; " + this.description + " ; " + toSaveDate(this.by)
+                    + " ; " + this.tag + toSaveCommonColumns();
         } else {
-            return "D ; 0 ; " + this.description + " ; " + this.by + " ; " + this.tag;
+            return "D ; 0 ; " + this.description + " ; " + toSaveDate(this.by)
+                    + " ; " + this.tag + toSaveCommonColumns();
         }
     }
 
@@ -43,7 +57,7 @@ public class Deadline extends Task {
     @Override
     public String toString() {
         return "[D] " + super.toString() + " (by: " 
-                + by.format(DateTimeFormatter.ofPattern("MMM d yyyy")) + ")" 
+                + by.format(DateTimeFormatter.ofPattern("MMM d yyyy")) + getRecurrenceText() + ")" 
                 + (this.tag.equals("") ? "" : " #" + this.tag);
     }
 }
\ No newline at end of file
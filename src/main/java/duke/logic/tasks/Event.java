@@ -2,13 +2,16 @@ package duke.logic.tasks;
 
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
+import java.time.temporal.ChronoUnit;
 
 /**
  * Task that start at a specific time and ends at a specific time
  */
 public class Event extends Task {
+    private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ofPattern("MMM d yyyy");
 
     protected LocalDate at;
+    protected LocalDate end;
 
     /**
      * Constructor for the Event class
@@ -17,8 +20,46 @@ public class Event extends Task {
      * @param at          The time the event occurs.
      */
     public Event(String description, String tag, LocalDate at) {
+        this(description, tag, at, at);
+    }
+
+    /**
+     * Constructs an event spanning several days.
+     *
+     * @param description The event description.
+     * @param tag         The event tag, empty if it has none.
+     * @param at          The first day of the event.
+     * @param end         The last day of the event, not before the first.
+     */
+    public Event(String description, String tag, LocalDate at, LocalDate end) {
         super(description, tag);
+        assert !end.isBefore(at);
         this.at = at;
+        this.end = end;
+    }
+
+    @Override
+    public LocalDate getDate() {
+        return this.at;
+    }
+
+    @Override
+    public LocalDate getEndDate() {
+        return this.end;
+    }
+
+    /**
+     * Returns the event as it occurs on one of its dates, lasting as many days as the event itself.
+     *
+     * @param date The first day of the occurrence.
+     * @return The occurrence.
+     */
+    @Override
+    public Task getOccurrence(LocalDate date) {
+        Event occurrence = (Event) copy();
+        occurrence.at = date;
+        occurrence.end = date.plusDays(ChronoUnit.DAYS.between(at, end));
+        return occurrence;
     }
 
     /**
@@ -29,9 +70,11 @@ public class Event extends Task {
     @Override
     public String toSaveInHardDisk() {
         if (this.isDone) {
-            return "E ; 1 ; " + this.description + " ; " + this.at + " ; " + this.tag;
+            return "E ; 1 ; " + this.description + " ; " + toSaveDate(this.at, this.end)
+                    + " ; " + this.tag + toSaveCommonColumns();
         } else {
-            return "E ; 0 ; " + this.description + " ; " + this.at + " ; " + this.tag;
+            return "E ; 0 ; " + this.description + " ; " + toSaveDate(this.at, this.end)
+                    + " ; " + this.tag + toSaveCommonColumns();
         }
     }
 
@@ -43,7 +86,8 @@ public class Event extends Task {
     @Override
     public String toString() {
         return "[E] " + super.toString() + " (at: " + 
-                at.format(DateTimeFormatter.ofPattern("MMM d yyyy")) + ")"
+                at.format(DATE_FORMATTER) + (end.equals(at) ? "" : " to " + end.format(DATE_FORMATTER))
+                + getRecurrenceText() + ")"
                 + (this.tag.equals("") ? "" : " #" + this.tag);
     }
 
@@ -0,0 +1,308 @@
+package duke.logic.tasks;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+/**
+ * Immutable set of tasks ordered by id, with positional access.
+ * It is a treap whose nodes also count the size of their subtree, every update copies only the
+ * O(log n) nodes on the path to the changed task and shares the rest with the previous version,
+ * so keeping an old version around is O(1) and costs memory proportional to what changed since.
+ */
+public final class PersistentTaskTree implements Iterable<Task> {
+    private static final PersistentTaskTree EMPTY = new PersistentTaskTree(null);
+
+    private final Node root;
+
+    private static final class Node {
+        private final Task task;
+        private final Node left;
+        private final Node right;
+        private final int size;
+
+        private Node(Task task, Node left, Node right) {
+            this.task = task;
+            this.left = left;
+            this.right = right;
+            this.size = 1 + sizeOf(left) + sizeOf(right);
+        }
+
+        private int getId() {
+            return task.getId();
+        }
+
+        private int getPriority() {
+            return priorityOf(task.getId());
+        }
+    }
+
+    private PersistentTaskTree(Node root) {
+        this.root = root;
+    }
+
+    public static PersistentTaskTree empty() {
+        return EMPTY;
+    }
+
+    /**
+     * Builds a tree from tasks sorted by increasing id in O(n).
+     *
+     * @param tasks Tasks with distinct ids, sorted by id.
+     * @return The tree holding the tasks.
+     */
+    public static PersistentTaskTree of(List<Task> tasks) {
+        // a treap is the cartesian tree of its priorities, built left to right with a stack of the right spine
+        int n = tasks.size();
+        int[] left = new int[n];
+        int[] right = new int[n];
+        int[] spine = new int[n];
+        int spineSize = 0;
+        for (int i = 0; i < n; i++) {
+            left[i] = -1;
+            right[i] = -1;
+            int last = -1;
+            while (spineSize > 0 && priorityOf(tasks.get(spine[spineSize - 1]).getId())
+                    < priorityOf(tasks.get(i).getId())) {
+                last = spine[--spineSize];
+            }
+            left[i] = last;
+            if (spineSize > 0) {
+                right[spine[spineSize - 1]] = i;
+            }
+            spine[spineSize++] = i;
+        }
+        return new PersistentTaskTree(spineSize == 0 ? null : build(tasks, left, right, spine[0]));
+    }
+
+    private static Node build(List<Task> tasks, int[] left, int[] right, int index) {
+        Node leftNode = left[index] < 0 ? null : build(tasks, left, right, left[index]);
+        Node rightNode = right[index] < 0 ? null : build(tasks, left, right, right[index]);
+        return new Node(tasks.get(index), leftNode, rightNode);
+    }
+
+    private static int sizeOf(Node node) {
+        return node == null ? 0 : node.size;
+    }
+
+    /** Pseudo-random but deterministic priority, so the shape of the tree only depends on its ids */
+    private static int priorityOf(int id) {
+        int h = id * 0x9E3779B9;
+        h ^= h >>> 16;
+        h *= 0x85EBCA6B;
+        h ^= h >>> 13;
+        return h;
+    }
+
+    public int size() {
+        return sizeOf(root);
+    }
+
+    /**
+     * Returns the task with the given id.
+     *
+     * @param id The task id.
+     * @return The task, null if there is none.
+     */
+    public Task get(int id) {
+        Node node = root;
+        while (node != null && node.getId() != id) {
+            node = id < node.getId() ? node.left : node.right;
+        }
+        return node == null ? null : node.task;
+    }
+
+    /**
+     * Returns the task at the given position in id order.
+     *
+     * @param index The 0-based position.
+     * @return The task.
+     */
+    public Task getAt(int index) {
+        if (index < 0 || index >= size()) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size());
+        }
+        Node node = root;
+        while (true) {
+            int leftSize = sizeOf(node.left);
+            if (index < leftSize) {
+                node = node.left;
+            } else if (index == leftSize) {
+                return node.task;
+            } else {
+                index -= leftSize + 1;
+                node = node.right;
+            }
+        }
+    }
+
+    /**
+     * Returns the position in id order of the task with the given id.
+     *
+     * @param id The task id.
+     * @return The 0-based position, -1 if there is no such task.
+     */
+    public int indexOf(int id) {
+        Node node = root;
+        int index = 0;
+        while (node != null) {
+            if (id < node.getId()) {
+                node = node.left;
+            } else if (id > node.getId()) {
+                index += sizeOf(node.left) + 1;
+                node = node.right;
+            } else {
+                return index + sizeOf(node.left);
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Returns the tasks whose ids are in the given range, in id order.
+     *
+     * @param fromId The smallest id, inclusive.
+     * @param toId The largest id, exclusive.
+     * @return The tasks in the range.
+     */
+    public List<Task> getRange(int fromId, int toId) {
+        List<Task> results = new ArrayList<>();
+        collectRange(root, fromId, toId, results);
+        return results;
+    }
+
+    private static void collectRange(Node node, int fromId, int toId, List<Task> results) {
+        if (node == null) {
+            return;
+        }
+        if (fromId < node.getId()) {
+            collectRange(node.left, fromId, toId, results);
+        }
+        if (fromId <= node.getId() && node.getId() < toId) {
+            results.add(node.task);
+        }
+        if (node.getId() < toId - 1) {
+            collectRange(node.right, fromId, toId, results);
+        }
+    }
+
+    /**
+     * Returns a tree with the given task added, or replacing the task with the same id.
+     *
+     * @param task The task.
+     * @return The new tree, this tree is unchanged.
+     */
+    public PersistentTaskTree put(Task task) {
+        if (get(task.getId()) != null) {
+            return new PersistentTaskTree(replace(root, task));
+        }
+        return new PersistentTaskTree(insert(root, task));
+    }
+
+    private static Node replace(Node node, Task task) {
+        int id = task.getId();
+        if (id < node.getId()) {
+            return new Node(node.task, replace(node.left, task), node.right);
+        } else if (id > node.getId()) {
+            return new Node(node.task, node.left, replace(node.right, task));
+        } else {
+            return new Node(task, node.left, node.right);
+        }
+    }
+
+    private static Node insert(Node node, Task task) {
+        int id = task.getId();
+        if (node == null) {
+            return new Node(task, null, null);
+        }
+        if (priorityOf(id) > node.getPriority()) {
+            Node[] parts = split(node, id);
+            return new Node(task, parts[0], parts[1]);
+        }
+        if (id < node.getId()) {
+            return new Node(node.task, insert(node.left, task), node.right);
+        } else {
+            return new Node(node.task, node.left, insert(node.right, task));
+        }
+    }
+
+    /** Splits a subtree into the nodes with smaller ids and the nodes with larger ids */
+    private static Node[] split(Node node, int id) {
+        if (node == null) {
+            return new Node[] {null, null};
+        }
+        if (node.getId() < id) {
+            Node[] parts = split(node.right, id);
+            return new Node[] {new Node(node.task, node.left, parts[0]), parts[1]};
+        } else {
+            Node[] parts = split(node.left, id);
+            return new Node[] {parts[0], new Node(node.task, parts[1], node.right)};
+        }
+    }
+
+    /** Joins two subtrees, every id in the first one being smaller than every id in the second one */
+    private static Node merge(Node first, Node second) {
+        if (first == null) {
+            return second;
+        }
+        if (second == null) {
+            return first;
+        }
+        if (first.getPriority() > second.getPriority()) {
+            return new Node(first.task, first.left, merge(first.right, second));
+        } else {
+            return new Node(second.task, merge(first, second.left), second.right);
+        }
+    }
+
+    /**
+     * Returns a tree without the task with the given id.
+     *
+     * @param id The task id.
+     * @return The new tree, this tree is unchanged.
+     */
+    public PersistentTaskTree remove(int id) {
+        return get(id) == null ? this : new PersistentTaskTree(remove(root, id));
+    }
+
+    private static Node remove(Node node, int id) {
+        if (id < node.getId()) {
+            return new Node(node.task, remove(node.left, id), node.right);
+        } else if (id > node.getId()) {
+            return new Node(node.task, node.left, remove(node.right, id));
+        } else {
+            return merge(node.left, node.right);
+        }
+    }
+
+    /**
+     * Iterates over the tasks in id order.
+     */
+    @Override
+    public Iterator<Task> iterator() {
+        ArrayDeque<Node> path = new ArrayDeque<>();
+        for (Node node = root; node != null; node = node.left) {
+            path.push(node);
+        }
+        return new Iterator<>() {
+            @Override
+            public boolean hasNext() {
+                return !path.isEmpty();
+            }
+
+            @Override
+            public Task next() {
+                if (path.isEmpty()) {
+                    throw new NoSuchElementException();
+                }
+                Node node = path.pop();
+                for (Node child = node.right; child != null; child = child.left) {
+                    path.push(child);
+                }
+                return node.task;
+            }
+        };
+    }
+}
@@ -0,0 +1,69 @@
+package duke.logic.tasks;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * How often a deadline or an event recurs. A recurring task is a single task holding its first date and
+ * its recurrence, its other dates are computed when they are asked for.
+ */
+public enum Recurrence {
+    DAY(ChronoUnit.DAYS),
+    WEEK(ChronoUnit.WEEKS),
+    MONTH(ChronoUnit.MONTHS),
+    YEAR(ChronoUnit.YEARS);
+
+    private final ChronoUnit unit;
+
+    Recurrence(ChronoUnit unit) {
+        this.unit = unit;
+    }
+
+    /**
+     * Returns the recurrence with the given name, ignoring case.
+     *
+     * @param name The name, e.g. week.
+     * @return The recurrence, null if there is none with that name.
+     */
+    public static Recurrence fromName(String name) {
+        for (Recurrence recurrence : values()) {
+            if (recurrence.getName().equalsIgnoreCase(name.trim())) {
+                return recurrence;
+            }
+        }
+        return null;
+    }
+
+    public String getName() {
+        return name().toLowerCase();
+    }
+
+    /**
+     * Returns the dates of a recurring task within a window. Each date is computed from the first date,
+     * so the dates before the window are skipped instead of generated, and a monthly task on the 31st
+     * stays on the last day of the shorter months without drifting.
+     *
+     * @param start The first date of the task.
+     * @param from The first date of the window, null for no limit.
+     * @param to The last date of the window, null for no limit.
+     * @param limit The maximum number of dates returned.
+     * @return The dates, in increasing order.
+     */
+    public List<LocalDate> getOccurrences(LocalDate start, LocalDate from, LocalDate to, int limit) {
+        long count = from == null || !from.isAfter(start) ? 0 : Math.max(0, unit.between(start, from) - 1);
+        LocalDate date = start.plus(count, unit);
+        while (from != null && date.isBefore(from)) {
+            count++;
+            date = start.plus(count, unit);
+        }
+        List<LocalDate> dates = new ArrayList<>();
+        while (dates.size() < limit && (to == null || !date.isAfter(to))) {
+            dates.add(date);
+            count++;
+            date = start.plus(count, unit);
+        }
+        return dates;
+    }
+}
@@ -1,12 +1,19 @@
 package duke.logic.tasks;
 
+import java.time.LocalDate;
+import java.util.Collections;
+import java.util.List;
+
 /**
  * An individual task
  */
-public abstract class Task {
+public abstract class Task implements Cloneable {
     protected String description;
     protected boolean isDone;
     protected String tag;
+    protected int id;
+    protected LocalDate doneDate;
+    protected Recurrence recurrence;
     
     /**
      * Constructor for the duke.logic.tasks.Task class
@@ -19,6 +26,24 @@ public abstract class Task {
         this.tag = tag;
     }
 
+    /**
+     * Get the persistent id of the task, 0 if the task has not been added to a task list yet.
+     *
+     * @return Task id.
+     */
+    public int getId() {
+        return this.id;
+    }
+
+    /**
+     * Set the persistent id of the task.
+     *
+     * @param id The id assigned by the task list.
+     */
+    public void setId(int id) {
+        this.id = id;
+    }
+
     /**
      * Get the description of the task.
      * 
@@ -28,6 +53,100 @@ public abstract class Task {
         return this.description;
     }
 
+    /**
+     * Get the tag of the task, empty if it has none.
+     *
+     * @return Task tag.
+     */
+    public String getTag() {
+        return this.tag;
+    }
+
+    /**
+     * Get the date the task is due or happens on, null if it has none.
+     *
+     * @return Task date.
+     */
+    public LocalDate getDate() {
+        return null;
+    }
+
+    /**
+     * Get the last date of the task, which is its date unless it spans several days, null if it has no date.
+     *
+     * @return Task end date.
+     */
+    public LocalDate getEndDate() {
+        return getDate();
+    }
+
+    /**
+     * Get how often the task recurs from its date, null if it doesn't recur.
+     *
+     * @return Task recurrence.
+     */
+    public Recurrence getRecurrence() {
+        return this.recurrence;
+    }
+
+    public void setRecurrence(Recurrence recurrence) {
+        this.recurrence = recurrence;
+    }
+
+    /**
+     * Returns the dates of the task within a window: its date, or the dates it recurs on.
+     *
+     * @param from The first date of the window, null for no limit.
+     * @param to The last date of the window, null for no limit.
+     * @param limit The maximum number of dates returned.
+     * @return The dates, in increasing order, none if the task has no date.
+     */
+    public List<LocalDate> getOccurrences(LocalDate from, LocalDate to, int limit) {
+        LocalDate date = getDate();
+        if (date == null || limit <= 0) {
+            return Collections.emptyList();
+        }
+        if (recurrence != null) {
+            return recurrence.getOccurrences(date, from, to, limit);
+        }
+        boolean isInWindow = (from == null || !date.isBefore(from)) && (to == null || !date.isAfter(to));
+        return isInWindow ? List.of(date) : Collections.emptyList();
+    }
+
+    /**
+     * Returns the task as it occurs on one of its dates, a copy which is not part of any task list.
+     * Tasks without a date only occur once, as themselves.
+     *
+     * @param date The date of the occurrence.
+     * @return The occurrence.
+     */
+    public Task getOccurrence(LocalDate date) {
+        return this;
+    }
+
+    /**
+     * Returns the date column of the save file: the date, followed by the recurrence if there is one.
+     */
+    protected String toSaveDate(LocalDate date) {
+        return toSaveDate(date, date);
+    }
+
+    /**
+     * Returns the date column of the save file for a task spanning several days: the first date, the last date
+     * if it is another day, then the recurrence if there is one.
+     */
+    protected String toSaveDate(LocalDate date, LocalDate end) {
+        return date + (end.equals(date) ? "" : " to " + end)
+                + (recurrence == null ? "" : " every " + recurrence.getName());
+    }
+
+    /**
+     * Returns the recurrence as shown after the date, empty if the task doesn't recur.
+     */
+    protected String getRecurrenceText() {
+        return recurrence == null ? "" : ", every " + recurrence.getName();
+    }
+
     /**
      * Return the completion status of the task
      *
@@ -37,6 +156,28 @@ public abstract class Task {
         return (isDone ? "X" : " "); // mark done task with X
     }
 
+    /**
+     * Return whether the task is done
+     *
+     * @return Task completion status.
+     */
+    public boolean isDone() {
+        return this.isDone;
+    }
+
+    /**
+     * Get the date the task was marked as done, null if it is not done or was done before done dates were saved.
+     *
+     * @return The date the task was done.
+     */
+    public LocalDate getDoneDate() {
+        return this.doneDate;
+    }
+
+    public void setDoneDate(LocalDate doneDate) {
+        this.doneDate = doneDate;
+    }
+
     /**
      * Mark a task as done
      *
@@ -47,10 +188,25 @@ public abstract class Task {
             return false;
         } else {
             this.isDone = true;
+            this.doneDate = LocalDate.now();
             return true;
         }
     }
 
+    /**
+     * Returns a copy of this task, which can be changed without affecting the versions of the task list
+     * that hold this task.
+     *
+     * @return The copy.
+     */
+    public Task copy() {
+        try {
+            return (Task) super.clone();
+        } catch (CloneNotSupportedException e) {
+            throw new AssertionError("Tasks are cloneable", e);
+        }
+    }
+
     /**
      * Tags a task with the given tag
      * 
@@ -69,6 +225,15 @@ public abstract class Task {
      */
     public abstract String toSaveInHardDisk();
 
+    /**
+     * Return the columns saved after the type specific ones: the id, then the done date if there is one.
+     *
+     * @return The string representation of the common columns.
+     */
+    protected String toSaveCommonColumns() {
+        return " ; " + this.id + (this.doneDate == null ? "" : " ; " + this.doneDate);
+    }
+
     @Override
     public String toString() {
         return ("[" + this.getStatusIcon() + "] " + this.getDescription() + 
@@ -1,30 +1,464 @@
 package duke.logic.tasks;
 
 import duke.gui.TextUi;
+import duke.logic.index.FuzzyIndex;
+import duke.logic.index.IntervalIndex;
+import duke.logic.index.RecurringIndex;
+import duke.logic.index.SortedView;
+import duke.logic.index.TaskCounters;
+import duke.logic.query.Query;
+import duke.logic.query.QueryPlanner;
+import duke.storage.SaveFileListener;
 import duke.storage.Storage;
 
 import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.time.DateTimeException;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.TreeSet;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
- * The task list to save all the duke.logic.tasks
+ * The task list to save all the duke.logic.tasks.
+ * The tasks are held in an immutable tree, every change replaces it with a new version sharing most of its nodes,
+ * so readers always see a consistent version without locking and older versions can be kept for undo.
  */
 public class TaskList {
-    // Saved duke.logic.tasks
-    private final ArrayList<Task> tasks;
+    // Number of days after which done tasks are archived when the task list is loaded, unset to disable
+    public static final String AUTO_ARCHIVE_PROPERTY = "duke.archive.afterDays";
+    private static final int MAX_UNDO_LEVELS = 100;
+    // Name of the text index saved next to the tasks
+    private static final String TEXT_INDEX_NAME = "text";
+    private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ofPattern("MMM d yyyy");
+
+    // Saved duke.logic.tasks in id order, which is also the list order
+    private volatile PersistentTaskTree tasks = PersistentTaskTree.empty();
+    // Saved duke.logic.tasks keyed by their persistent id
+    private final ConcurrentHashMap<Integer, Task> tasksById = new ConcurrentHashMap<>();
+    // Changes that can be undone, most recent first, and changes that were undone and can be redone
+    private final ArrayDeque<Change> undoHistory = new ArrayDeque<>();
+    private final ArrayDeque<Change> redoHistory = new ArrayDeque<>();
+    // Indexes and views kept up to date with every change, guarded by itself
+    private final List<TaskListListener> listeners = new ArrayList<>();
+    private final FuzzyIndex fuzzyIndex = new FuzzyIndex();
+    private final EnumMap<SortedView.Order, SortedView> sortedViews = new EnumMap<>(SortedView.Order.class);
+    private final RecurringIndex recurringIndex = new RecurringIndex();
+    private final TaskCounters taskCounters = new TaskCounters();
+    private final IntervalIndex intervalIndex = new IntervalIndex();
+    private final QueryPlanner queryPlanner = new QueryPlanner(fuzzyIndex, sortedViews, recurringIndex);
+    private final Storage storage;
+    // Done tasks done before this date are archived once loaded, null to keep them
+    private final LocalDate autoArchiveBefore;
+    private final CompletableFuture<Void> loading;
+    private boolean isLoaded;
+    // Whether the text index saved next to the tasks matches them, set by the loader and then guarded by this
+    private boolean isTextIndexSaved;
+    private int nextId = 1;
+
+    /**
+     * A change between two versions of the task list and the ids of the tasks it added, changed or deleted.
+     */
+    private static class Change {
+        private final PersistentTaskTree before;
+        private final PersistentTaskTree after;
+        private final Collection<Integer> ids;
+
+        private Change(PersistentTaskTree before, PersistentTaskTree after, Collection<Integer> ids) {
+            this.before = before;
+            this.after = after;
+            this.ids = ids;
+        }
+    }
 
     /**
      * Constructs for TaskList
      */
     public TaskList() {
+        this(Storage.fromSystemProperties());
+    }
+
+    /**
+     * Constructs a TaskList backed by the given storage.
+     * The saved tasks are loaded on a background thread so that the caller can show its prompt right away,
+     * every operation on the list waits for the load to finish.
+     *
+     * @param storage Where the task list is loaded from and saved to.
+     */
+    public TaskList(Storage storage) {
+        this.storage = storage;
+        this.autoArchiveBefore = getAutoArchiveDate();
+        this.listeners.add(fuzzyIndex);
+        this.listeners.add(recurringIndex);
+        this.listeners.add(taskCounters);
+        this.listeners.add(intervalIndex);
+        for (SortedView.Order order : SortedView.Order.values()) {
+            SortedView view = new SortedView(order);
+            sortedViews.put(order, view);
+            listeners.add(view);
+        }
+        // set before the loader starts, as the threads the loader starts wait for it
+        this.loading = new CompletableFuture<>();
+        // not a daemon so that exiting right after startup doesn't cut a save short
+        new Thread(() -> {
+            try {
+                loadTasks();
+                loading.complete(null);
+            } catch (RuntimeException | Error e) {
+                loading.completeExceptionally(e);
+            }
+        }, "task-list-loader").start();
+    }
+
+    private void loadTasks() {
         ArrayList<Task> temp;
         try {
-            temp = Storage.loadTaskListFromHardDisk();
+            temp = storage.loadTaskListFromHardDisk();
         } catch (IOException e) {
             temp = new ArrayList<>();
             TextUi.display("Can't read the save file.");
         }
-        this.tasks = temp;
+        boolean isChanged = indexTasksById(temp);
+        temp.sort(Comparator.comparingInt(Task::getId));
+        // tasks given a new id are saved again, which makes the saved index stale
+        isTextIndexSaved = !isChanged && restoreTextIndex();
+        synchronized (listeners) {
+            this.tasks = PersistentTaskTree.of(temp);
+            isLoaded = true;
+            for (TaskListListener listener : listeners) {
+                listener.onTasksLoaded(tasks);
+            }
+        }
+        if (isChanged) {
+            storage.saveTaskListToHardDisk(temp);
+        }
+        if (autoArchiveBefore != null) {
+            archiveTasks(autoArchiveBefore);
+        }
+        if (!isTextIndexSaved) {
+            saveTextIndexWhenBuilt();
+        }
+    }
+
+    /**
+     * Reads the auto-archive policy before the load starts, an invalid number of days is reported and ignored
+     * so that it cannot stop the load.
+     *
+     * @return The date before which done tasks are archived, null if no task is archived.
+     */
+    private static LocalDate getAutoArchiveDate() {
+        String autoArchiveDays = System.getProperty(AUTO_ARCHIVE_PROPERTY);
+        if (autoArchiveDays == null) {
+            return null;
+        }
+        try {
+            long days = Long.parseLong(autoArchiveDays.trim());
+            if (days < 0) {
+                throw new NumberFormatException();
+            }
+            return LocalDate.now().minusDays(days);
+        } catch (NumberFormatException | DateTimeException e) {
+            TextUi.display(AUTO_ARCHIVE_PROPERTY + " should be a number of days, no task is archived on load.");
+            return null;
+        }
+    }
+
+    /**
+     * Hands the text index saved for the loaded tasks to the index, which restores it instead of building it.
+     *
+     * @return Whether a saved index matching the tasks was found.
+     */
+    private boolean restoreTextIndex() {
+        ByteBuffer savedIndex;
+        try {
+            savedIndex = storage.loadIndex(TEXT_INDEX_NAME);
+        } catch (IOException e) {
+            savedIndex = null;
+        }
+        if (savedIndex == null) {
+            return false;
+        }
+        fuzzyIndex.restoreFrom(savedIndex, this::saveTextIndexWhenBuilt);
+        return true;
+    }
+
+    /**
+     * Saves the text index on a background thread once it is built from the tasks, so that the next start
+     * can restore it. Also called by the index builder when the saved index cannot be read, so the saved index
+     * is marked stale on the saver thread, a thread holding the task list lock may be waiting for the builder.
+     */
+    private void saveTextIndexWhenBuilt() {
+        Thread saver = new Thread(() -> {
+            synchronized (this) {
+                isTextIndexSaved = false;
+            }
+            fuzzyIndex.awaitBuilt();
+            saveTextIndex();
+        }, "text-index-saver");
+        saver.setDaemon(true);
+        saver.start();
+    }
+
+    /**
+     * Saves the text index unless the saved one already matches the tasks. The task list lock keeps the tasks
+     * and their saved segments from changing while the index is encoded.
+     */
+    private synchronized void saveTextIndex() {
+        awaitLoaded();
+        if (isTextIndexSaved) {
+            return;
+        }
+        try {
+            storage.saveIndex(TEXT_INDEX_NAME, fuzzyIndex.toBytes());
+            isTextIndexSaved = true;
+        } catch (IOException e) {
+            // the index is built from the tasks again on the next start
+        }
+    }
+
+    /**
+     * Adds a listener notified of every later change. If the tasks are already loaded,
+     * it gets them right away, otherwise it gets them once they are.
+     * This never waits for the load, the loader does not take the task list lock, only the listeners one.
+     *
+     * @param listener The listener.
+     */
+    public void addListener(TaskListListener listener) {
+        synchronized (listeners) {
+            listeners.add(listener);
+            if (isLoaded) {
+                listener.onTasksLoaded(tasks);
+            }
+        }
+    }
+
+    /**
+     * Removes a listener, it gets no change made after this returns.
+     *
+     * @param listener The listener.
+     */
+    public void removeListener(TaskListListener listener) {
+        synchronized (listeners) {
+            listeners.remove(listener);
+        }
+    }
+
+    /**
+     * Waits for the load and for the change being saved, if any, so that every change is in the save files
+     * and the task list can be dropped.
+     */
+    public synchronized void flush() {
+        awaitLoaded();
+    }
+
+    /**
+     * Follows the changes other programs make to the save files, see {@link Storage#watch(SaveFileListener)}.
+     * They are applied like the changes of the user and saved, but they cannot be undone,
+     * so they clear the undo history.
+     */
+    public void watchSaveFiles() {
+        storage.watch(new SaveFileListener() {
+            @Override
+            public void onTasksAppended(int segment, List<Task> appendedTasks) {
+                applySegmentChange(segment, appendedTasks, true);
+            }
+
+            @Override
+            public void onSegmentReplaced(int segment, List<Task> segmentTasks) {
+                applySegmentChange(segment, segmentTasks, false);
+            }
+
+            @Override
+            public void onSaveReplaced(List<Task> savedTasks) {
+                reload(savedTasks);
+            }
+        });
+    }
+
+    /**
+     * Stops following the save files once every change is saved, so that the task list can be dropped,
+     * and saves the text index if it changed, so that the next start doesn't have to build it.
+     */
+    public synchronized void close() {
+        flush();
+        storage.stopWatching();
+        if (fuzzyIndex.isBuilt()) {
+            saveTextIndex();
+        }
+    }
+
+    /**
+     * Stops following the save files without waiting, for exiting: every change is saved when it is made,
+     * a list still loading is left to its loader and a changed text index is saved on a background thread.
+     */
+    public void closeOnExit() {
+        storage.stopWatching();
+        if (loading.isDone() && fuzzyIndex.isBuilt()) {
+            // not a daemon so that exiting doesn't cut the index short
+            new Thread(this::saveTextIndex, "text-index-saver").start();
+        }
+    }
+
+    /**
+     * Applies a change made to a segment file by another program. Tasks with an id outside the segment,
+     * without one or with one already used get a fresh id, as on load. The segment is saved again in every case,
+     * so that the manifest matches it.
+     *
+     * @param isAppended Whether the tasks were appended to the segment, rather than replacing its tasks.
+     */
+    private synchronized void applySegmentChange(int segment, List<Task> segmentTasks, boolean isAppended) {
+        awaitLoaded();
+        int firstId = Storage.getFirstTaskId(segment);
+        int nextSegmentId = Storage.getFirstTaskId(segment + 1);
+        PersistentTaskTree newTasks = tasks;
+        TreeSet<Integer> changedIds = new TreeSet<>();
+        if (!isAppended) {
+            for (Task task : tasks.getRange(firstId, nextSegmentId)) {
+                newTasks = newTasks.remove(task.getId());
+                changedIds.add(task.getId());
+            }
+        }
+        for (Task task : segmentTasks) {
+            boolean isValidId = task.getId() > 0 && task.getId() >= firstId && task.getId() < nextSegmentId
+                    && newTasks.get(task.getId()) == null;
+            if (!isValidId) {
+                task.setId(nextId++);
+            }
+            nextId = Math.max(nextId, task.getId() + 1);
+            newTasks = newTasks.put(task);
+            changedIds.add(task.getId());
+        }
+        undoHistory.clear();
+        redoHistory.clear();
+        switchTo(newTasks, changedIds);
+        if (changedIds.stream().noneMatch(id -> Storage.getSegmentNumber(id) == segment)) {
+            storage.saveSegment(segment, newTasks.getRange(firstId, nextSegmentId));
+        }
+    }
+
+    /**
+     * Replaces every task with the tasks of save files replaced by another program.
+     */
+    private synchronized void reload(List<Task> savedTasks) {
+        awaitLoaded();
+        ArrayList<Task> temp = new ArrayList<>(savedTasks);
+        tasksById.clear();
+        nextId = 1;
+        boolean isChanged = indexTasksById(temp);
+        temp.sort(Comparator.comparingInt(Task::getId));
+        isTextIndexSaved = false;
+        synchronized (listeners) {
+            this.tasks = PersistentTaskTree.of(temp);
+            for (TaskListListener listener : listeners) {
+                listener.onTasksLoaded(tasks);
+            }
+        }
+        undoHistory.clear();
+        redoHistory.clear();
+        if (isChanged) {
+            storage.saveTaskListToHardDisk(temp);
+        }
+    }
+
+    /**
+     * Blocks until the saved tasks are loaded.
+     */
+    private void awaitLoaded() {
+        loading.join();
+    }
+
+    /**
+     * Fills the id map from the loaded tasks, giving a fresh id to tasks saved without one
+     * (or with a duplicated one).
+     *
+     * @return Whether any task got a new id and the task list needs to be saved again.
+     */
+    private boolean indexTasksById(List<Task> loadedTasks) {
+        for (Task t : loadedTasks) {
+            nextId = Math.max(nextId, t.getId() + 1);
+        }
+        boolean isChanged = false;
+        for (Task t : loadedTasks) {
+            if (t.getId() <= 0 || tasksById.containsKey(t.getId())) {
+                t.setId(nextId++);
+                isChanged = true;
+            }
+            tasksById.put(t.getId(), t);
+        }
+        return isChanged;
+    }
+
+    /**
+     * Makes a new version current and remembers the change so that it can be undone.
+     *
+     * @param newTasks The new version of the task list.
+     * @param changedIds The ids of the tasks added, changed or deleted since the current version.
+     */
+    private void commit(PersistentTaskTree newTasks, Collection<Integer> changedIds) {
+        undoHistory.push(new Change(tasks, newTasks, changedIds));
+        if (undoHistory.size() > MAX_UNDO_LEVELS) {
+            undoHistory.removeLast();
+        }
+        redoHistory.clear();
+        switchTo(newTasks, changedIds);
+    }
+
+    /**
+     * Makes a version current, updating the id map, notifying the listeners and saving the segments
+     * of the changed tasks.
+     */
+    private void switchTo(PersistentTaskTree newTasks, Collection<Integer> changedIds) {
+        TreeSet<Integer> touchedSegments = new TreeSet<>();
+        isTextIndexSaved = false;
+        synchronized (listeners) {
+            PersistentTaskTree oldTasks = tasks;
+            tasks = newTasks;
+            for (int id : changedIds) {
+                Task task = newTasks.get(id);
+                if (task == null) {
+                    tasksById.remove(id);
+                } else {
+                    tasksById.put(id, task);
+                }
+                touchedSegments.add(Storage.getSegmentNumber(id));
+                for (TaskListListener listener : listeners) {
+                    listener.onTaskChanged(oldTasks.get(id), task);
+                }
+            }
+        }
+        for (int segment : touchedSegments) {
+            storage.saveSegment(segment, newTasks.getRange(Storage.getFirstTaskId(segment),
+                    Storage.getFirstTaskId(segment + 1)));
+        }
+    }
+
+    /**
+     * Returns the current version of the task list. It never changes, so it can be read while
+     * commands keep changing the task list.
+     *
+     * @return The tasks in list order.
+     */
+    public PersistentTaskTree getSnapshot() {
+        awaitLoaded();
+        return tasks;
+    }
+
+    /**
+     * Checks whether a task with the given id is in the list.
+     *
+     * @param id The persistent task id.
+     * @return Whether the task exists.
+     */
+    public boolean hasTaskWithId(int id) {
+        awaitLoaded();
+        return tasksById.containsKey(id);
     }
 
     /**
@@ -33,50 +467,116 @@ public class TaskList {
      * @param task The added task.
      * @return The result of the operation.
      */
-    public String addTask(Task task) {
-        tasks.add(task);
+    public synchronized String addTask(Task task) {
+        awaitLoaded();
+        task.setId(nextId++);
+        commit(tasks.put(task), List.of(task.getId()));
 
         StringBuilder response = new StringBuilder("Got it. I've added this task:");
-        response.append("\t").append("  ").append(task)
+        response.append("\t").append("  ").append(task).append(" @").append(task.getId())
                 .append("\n\t Now you have ").append(tasks.size());
         if (tasks.size() == 1) {
             response.append(" task in the list.");
         } else {
             response.append(" tasks in the list.");
         }
-        Storage.saveTaskListToHardDisk(tasks);
         return response.toString();
     }
 
+    /**
+     * Adds many tasks at once, as a single change saved once and undone at once.
+     *
+     * @param newTasks The added tasks, in list order.
+     * @return The result of the operation.
+     */
+    public synchronized String addTasks(List<Task> newTasks) {
+        awaitLoaded();
+        List<Integer> ids = new ArrayList<>(newTasks.size());
+        for (Task task : newTasks) {
+            task.setId(nextId++);
+            ids.add(task.getId());
+        }
+        PersistentTaskTree newTree;
+        if (newTasks.size() > tasks.size()) {
+            // the new ids come after every id in the list, so building the tree again from both is linear
+            List<Task> allTasks = new ArrayList<>(tasks.size() + newTasks.size());
+            tasks.forEach(allTasks::add);
+            allTasks.addAll(newTasks);
+            newTree = PersistentTaskTree.of(allTasks);
+        } else {
+            newTree = tasks;
+            for (Task task : newTasks) {
+                newTree = newTree.put(task);
+            }
+        }
+        commit(newTree, ids);
+        return "Got it. I've added " + newTasks.size() + (newTasks.size() == 1 ? " task." : " tasks.")
+                + getSizeMessage();
+    }
+
     /**
      * Marks a task in the task list as done
      *
      * @param index The user requested index.
      * @return The status of the operation.
      */
-    public String markTaskAsDone(int index) {
+    public synchronized String markTaskAsDone(int index) {
+        awaitLoaded();
         assert index <= tasks.size() && index > 0 : "Done index out of bounds";
+        return markTaskAsDone(tasks.getAt(index - 1));
+    }
+
+    /**
+     * Marks the task with the given persistent id as done
+     *
+     * @param id The persistent task id.
+     * @return The status of the operation.
+     */
+    public synchronized String markTaskAsDoneById(int id) {
+        awaitLoaded();
+        assert tasksById.containsKey(id) : "Done id does not exist";
+        return markTaskAsDone(tasksById.get(id));
+    }
+
+    private String markTaskAsDone(Task task) {
         StringBuilder response = new StringBuilder();
-        if (tasks.get(index - 1).markAsDone()) {
+        Task doneTask = task.copy();
+        if (doneTask.markAsDone()) {
+            commit(tasks.put(doneTask), List.of(doneTask.getId()));
             response.append("Nice! I've marked this task as done:\n");
         } else {
             response.append("This task is already done!");
         }
-        response.append("\t" + "  ").append(tasks.get(index - 1).toString());
-        Storage.saveTaskListToHardDisk(tasks);
+        response.append("\t" + "  ").append(doneTask.toString());
         return response.toString();
     }
 
     /**
      * Deletes a task with a given index.
-     * 
+     *
      * @param index The given index.
      * @return The status of the operation.
      */
-    public String deleteTask(int index) {
+    public synchronized String deleteTask(int index) {
+        awaitLoaded();
         assert index <= tasks.size() && index > 0 : "Deleted index out of bounds";
-        Task temp = tasks.get(index - 1);
-        tasks.remove(index - 1);
+        return deleteTask(tasks.getAt(index - 1));
+    }
+
+    /**
+     * Deletes the task with the given persistent id.
+     *
+     * @param id The persistent task id.
+     * @return The status of the operation.
+     */
+    public synchronized String deleteTaskById(int id) {
+        awaitLoaded();
+        assert tasksById.containsKey(id) : "Deleted id does not exist";
+        return deleteTask(tasksById.get(id));
+    }
+
+    private String deleteTask(Task temp) {
+        commit(tasks.remove(temp.getId()), List.of(temp.getId()));
 
         StringBuilder response = new StringBuilder("Noted. I've removed this task:");
         response.append("\t").append("  ").append(temp)
@@ -86,10 +586,44 @@ public class TaskList {
         } else {
             response.append(" tasks in the list.");
         }
-        Storage.saveTaskListToHardDisk(tasks);
         return response.toString();
     }
 
+    /**
+     * Summarizes the task list from counters kept up to date with every change, so the time taken doesn't depend
+     * on the number of tasks.
+     *
+     * @return The number of tasks, done, pending and overdue, of each type and of each tag.
+     */
+    public String summarizeTasks() {
+        awaitLoaded();
+        TaskCounters.Summary summary = taskCounters.getSummary(LocalDate.now());
+        StringBuilder response = new StringBuilder("Here is a summary of your list:");
+        response.append("\n\t ").append(countOf(summary.getTotal(), "task")).append(": ")
+                .append(summary.getPending()).append(" pending, ").append(summary.getDone()).append(" done, ")
+                .append(summary.getOverdue()).append(" overdue");
+        response.append("\n\t ").append(countOf(summary.getTodos(), "todo")).append(", ")
+                .append(countOf(summary.getDeadlines(), "deadline")).append(", ")
+                .append(countOf(summary.getEvents(), "event"));
+        if (!summary.getTagCounts().isEmpty()) {
+            List<String> tagCounts = new ArrayList<>();
+            summary.getTagCounts().forEach((tag, count) -> {
+                if (!tag.isEmpty()) {
+                    tagCounts.add("#" + tag + " " + count);
+                }
+            });
+            if (summary.getTagCounts().containsKey("")) {
+                tagCounts.add("untagged " + summary.getTagCounts().get(""));
+            }
+            response.append("\n\t tags: ").append(String.join(", ", tagCounts));
+        }
+        return response.toString();
+    }
+
+    private static String countOf(int count, String noun) {
+        return count + " " + noun + (count == 1 ? "" : "s");
+    }
+
     /**
      * Find a task with a given keyword.
      *
@@ -97,11 +631,14 @@ public class TaskList {
      * @return The result of the search.
      */
     public String findTask(String keyword) {
+        PersistentTaskTree snapshot = getSnapshot();
         int count = 0;
+        int index = 0;
         StringBuilder res = new StringBuilder("Here are the matching tasks in your list:\n");
-        for (int i = 0; i < tasks.size(); i++) {
-            if (tasks.get(i).getDescription().contains(keyword)) {
-                String temp = "\t" + " " + (i + 1) + "." + tasks.get(i).toString() + "\n";
+        for (Task task : snapshot) {
+            index++;
+            if (task.getDescription().contains(keyword)) {
+                String temp = "\t" + " " + index + "." + task.toString() + " @" + task.getId() + "\n";
                 res.append(temp);
                 count++;
             }
@@ -114,46 +651,329 @@ public class TaskList {
         }
     }
 
+    /**
+     * Finds the tasks matching a query, starting from the index that gives the fewest candidates.
+     * A recurring task is listed once per date it occurs on within the date window of the query.
+     *
+     * @param query The query.
+     * @param isExplained Whether to describe the plan of the query instead of listing the tasks.
+     * @return The matching tasks in list order, or the plan and the number of tasks it read.
+     */
+    public String queryTasks(Query query, boolean isExplained) {
+        PersistentTaskTree snapshot = getSnapshot();
+        QueryPlanner.Result result = queryPlanner.execute(query, snapshot);
+        if (isExplained) {
+            return "Here is the plan of the query " + query + ":\n\t "
+                    + String.join("\n\t ", QueryPlanner.explain(query, result, snapshot.size()));
+        }
+        if (result.getMatchingIds().length == 0) {
+            return "There are no tasks matching the query";
+        }
+        StringBuilder res = new StringBuilder("Here are the tasks matching the query:");
+        for (int id : result.getMatchingIds()) {
+            Task task = snapshot.get(id);
+            String prefix = "\n\t " + (snapshot.indexOf(id) + 1) + ".";
+            if (task.getRecurrence() == null || !query.hasDateWindow()) {
+                res.append(prefix).append(task).append(" @").append(id);
+                continue;
+            }
+            // the occurrences are only made for the window asked for, the next one if it has no end
+            int limit = query.getBefore() == null ? 1 : Integer.MAX_VALUE;
+            for (LocalDate date : query.getOccurrences(task, limit)) {
+                res.append(prefix).append(task.getOccurrence(date)).append(" @").append(id);
+            }
+        }
+        return res.toString();
+    }
+
+    /**
+     * Finds the events overlapping a range of dates, looked up in the interval tree of the events.
+     * A recurring event is listed once per occurrence overlapping the range.
+     *
+     * @param from The first date of the range.
+     * @param to The last date of the range.
+     * @return The events, by first date.
+     */
+    public String findOverlappingEvents(LocalDate from, LocalDate to) {
+        PersistentTaskTree snapshot = getSnapshot();
+        StringBuilder res = new StringBuilder();
+        for (Task event : intervalIndex.findOverlapping(from, to)) {
+            if (snapshot.get(event.getId()) != null) {
+                res.append("\n\t ").append(describe(snapshot, event));
+            }
+        }
+        if (res.length() == 0) {
+            return "There are no events overlapping " + formatRange(from, to);
+        }
+        return "Here are the events overlapping " + formatRange(from, to) + ":" + res;
+    }
+
+    /**
+     * Finds the events overlapping each other within a range of dates, occurrences of recurring events included.
+     *
+     * @param from The first date of the range.
+     * @param to The last date of the range.
+     * @return The pairs of conflicting events, by first date of the later one.
+     */
+    public String findConflictingEvents(LocalDate from, LocalDate to) {
+        PersistentTaskTree snapshot = getSnapshot();
+        StringBuilder res = new StringBuilder();
+        for (Task[] conflict : intervalIndex.findConflicts(from, to)) {
+            if (snapshot.get(conflict[0].getId()) != null && snapshot.get(conflict[1].getId()) != null) {
+                res.append("\n\t ").append(describe(snapshot, conflict[0])).append(" and ")
+                        .append(describe(snapshot, conflict[1]));
+            }
+        }
+        String range = (to.equals(from) ? "on " : "from ") + formatRange(from, to);
+        if (res.length() == 0) {
+            return "There are no conflicting events " + range;
+        }
+        return "Here are the conflicting events " + range + ":" + res;
+    }
+
+    private static String describe(PersistentTaskTree snapshot, Task task) {
+        return (snapshot.indexOf(task.getId()) + 1) + "." + task + " @" + task.getId();
+    }
+
+    private static String formatRange(LocalDate from, LocalDate to) {
+        return from.format(DATE_FORMATTER) + (to.equals(from) ? "" : " to " + to.format(DATE_FORMATTER));
+    }
+
+    /**
+     * Finds the tasks with words close to the words of the keyword, tolerating typos.
+     * The tasks are looked up in the fuzzy index instead of scanning the list, unless the index is being built
+     * from the tasks, e.g. when no saved index matched them, in which case the list is scanned rather than
+     * waiting for it.
+     *
+     * @param keyword The given keyword.
+     * @return The result of the search, closest matches first.
+     */
+    public String findTaskFuzzy(String keyword) {
+        PersistentTaskTree snapshot = getSnapshot();
+        StringBuilder res = new StringBuilder("Here are the closest matching tasks in your list:");
+        int count = 0;
+        List<FuzzyIndex.Match> matches = fuzzyIndex.isBuildingFromTasks() ? FuzzyIndex.scan(keyword, snapshot)
+                : fuzzyIndex.search(keyword);
+        for (FuzzyIndex.Match match : matches) {
+            Task task = snapshot.get(match.getId());
+            if (task == null) {
+                // changed since the snapshot was taken
+                continue;
+            }
+            res.append("\n\t ").append(snapshot.indexOf(task.getId()) + 1).append(".").append(task)
+                    .append(" @").append(task.getId());
+            count++;
+        }
+        if (count == 0) {
+            return "There are no tasks close to the given keyword";
+        }
+        return res.toString();
+    }
+
+    /**
+     * Find an archived task with a given keyword. The archive is read from the hard disk on every search.
+     *
+     * @param keyword The given keyword.
+     * @return The result of the search.
+     */
+    public String findArchivedTask(String keyword) {
+        ArrayList<Task> matches;
+        try {
+            matches = storage.searchArchive(keyword);
+        } catch (IOException e) {
+            return "Can't read the archive.";
+        }
+        if (matches.isEmpty()) {
+            return "There are no archived tasks with the given keyword";
+        }
+        StringBuilder res = new StringBuilder("Here are the matching tasks in your archive:");
+        for (int i = 0; i < matches.size(); i++) {
+            res.append("\n\t ").append(i + 1).append(".").append(matches.get(i)).append(" @")
+                    .append(matches.get(i).getId());
+        }
+        return res.toString();
+    }
+
+    /**
+     * Moves done tasks out of the task list into the archive.
+     *
+     * @param doneBefore Only tasks done before this date are archived, null to archive every done task.
+     * @return The status of the operation.
+     */
+    public synchronized String archiveDoneTasks(LocalDate doneBefore) {
+        awaitLoaded();
+        int count = archiveTasks(doneBefore);
+        if (count == 0) {
+            return "There are no done tasks to archive";
+        }
+        return "Noted. I've archived " + count + (count == 1 ? " task." : " tasks.")
+                + "\n\t Now you have " + tasks.size() + (tasks.size() == 1 ? " task" : " tasks") + " in the list.";
+    }
+
+    /**
+     * Appends the matching done tasks to the archive first, so that a failure never loses them,
+     * then removes them from the list and saves the segments they were in.
+     * The archive is append-only, so archiving cannot be undone and clears the undo history.
+     *
+     * @return The number of archived tasks.
+     */
+    private int archiveTasks(LocalDate doneBefore) {
+        List<Task> archived = new ArrayList<>();
+        for (Task t : tasks) {
+            boolean isOldEnough = doneBefore == null
+                    || (t.getDoneDate() != null && t.getDoneDate().isBefore(doneBefore));
+            if (t.isDone() && isOldEnough) {
+                archived.add(t);
+            }
+        }
+        if (archived.isEmpty()) {
+            return 0;
+        }
+        try {
+            storage.appendToArchive(archived);
+        } catch (IOException e) {
+            TextUi.display("Can't write the archive, no task is archived.");
+            return 0;
+        }
+        PersistentTaskTree newTasks = tasks;
+        List<Integer> archivedIds = new ArrayList<>();
+        for (Task t : archived) {
+            newTasks = newTasks.remove(t.getId());
+            archivedIds.add(t.getId());
+        }
+        undoHistory.clear();
+        redoHistory.clear();
+        switchTo(newTasks, archivedIds);
+        return archived.size();
+    }
+
     /**
      * Tags a task with the given index and tag.
-     * 
+     *
      * @param index The given index.
      * @param tag The tag description.
      * @return Response of the operation.
      */
-    public String tagTask(int index, String tag) {
+    public synchronized String tagTask(int index, String tag) {
+        awaitLoaded();
+        return tagTask(tasks.getAt(index - 1), tag);
+    }
+
+    /**
+     * Tags the task with the given persistent id.
+     *
+     * @param id The persistent task id.
+     * @param tag The tag description.
+     * @return Response of the operation.
+     */
+    public synchronized String tagTaskById(int id, String tag) {
+        awaitLoaded();
+        assert tasksById.containsKey(id) : "Tagged id does not exist";
+        return tagTask(tasksById.get(id), tag);
+    }
+
+    private String tagTask(Task task, String tag) {
         StringBuilder response = new StringBuilder();
-        if (tasks.get(index - 1).tag(tag)) {
+        Task taggedTask = task.copy();
+        if (taggedTask.tag(tag)) {
+            commit(tasks.put(taggedTask), List.of(taggedTask.getId()));
             response.append("Nice! I've tagged this task:\n");
         } else {
             response.append("This task is already tagged!");
         }
-        response.append("\t" + "  ").append(tasks.get(index - 1).toString());
-        Storage.saveTaskListToHardDisk(tasks);
+        response.append("\t" + "  ").append(taggedTask.toString());
         return response.toString();
     }
-    
+
+    /**
+     * Undoes the last change to the task list.
+     *
+     * @return The status of the operation.
+     */
+    public synchronized String undo() {
+        awaitLoaded();
+        Change change = undoHistory.poll();
+        if (change == null) {
+            return "There is nothing to undo";
+        }
+        redoHistory.push(change);
+        switchTo(change.before, change.ids);
+        return "Noted. I've undone the last change." + getSizeMessage();
+    }
+
+    /**
+     * Redoes the last undone change to the task list.
+     *
+     * @return The status of the operation.
+     */
+    public synchronized String redo() {
+        awaitLoaded();
+        Change change = redoHistory.poll();
+        if (change == null) {
+            return "There is nothing to redo";
+        }
+        undoHistory.push(change);
+        switchTo(change.after, change.ids);
+        return "Noted. I've redone the last undone change." + getSizeMessage();
+    }
+
+    private String getSizeMessage() {
+        return "\n\t Now you have " + tasks.size() + (tasks.size() == 1 ? " task" : " tasks") + " in the list.";
+    }
+
     /**
      * Return the size of the task list
      *
      * @return Size of the task list.
      */
     public int getSize() {
+        return getSnapshot().size();
+    }
+
+    /**
+     * Returns the size of the task list without waiting for the load, 0 while the tasks are still loading.
+     *
+     * @return The number of tasks loaded.
+     */
+    public int getLoadedSize() {
         return tasks.size();
     }
 
+    /**
+     * Lists the tasks in the given order, read from a sorted view kept up to date with every change.
+     * The index shown is still the list index, which done, delete and tag use.
+     *
+     * @param order The order.
+     * @return The sorted tasks.
+     */
+    public String listTasks(SortedView.Order order) {
+        PersistentTaskTree snapshot = getSnapshot();
+        if (snapshot.size() == 0) {
+            return "There is no task in the list";
+        }
+        StringBuilder res = new StringBuilder("Here are the tasks in your list by ")
+                .append(order.name().toLowerCase()).append(":");
+        sortedViews.get(order).forEach(task -> {
+            int index = snapshot.indexOf(task.getId());
+            if (index >= 0) {
+                res.append("\n\t ").append(index + 1).append(".").append(task).append(" @").append(task.getId());
+            }
+        });
+        return res.toString();
+    }
+
     @Override
     public String toString() {
-        if (this.getSize() == 0) {
+        PersistentTaskTree snapshot = getSnapshot();
+        if (snapshot.size() == 0) {
             return "There is no task in the list";
         } else {
-            StringBuilder res = new StringBuilder("Here are the tasks in your list:\n");
-            for (int i = 0; i < tasks.size(); i++) {
-                String temp = "\t" + " " + (i + 1) + "." + tasks.get(i).toString();
-                if (i < tasks.size() - 1) { // remove the last \n char, ugly but get the job done
-                    temp += "\n";
-                }
-                res.append(temp);
+            StringBuilder res = new StringBuilder("Here are the tasks in your list:");
+            int index = 0;
+            for (Task task : snapshot) {
+                index++;
+                res.append("\n\t" + " ").append(index).append(".").append(task.toString())
+                        .append(" @").append(task.getId());
             }
             return res.toString();
         }
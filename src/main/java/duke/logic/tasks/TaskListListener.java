@@ -0,0 +1,23 @@
+package duke.logic.tasks;
+
+/**
+ * Gets notified of every change to a task list, to keep indexes and views up to date incrementally.
+ * Notifications are sent while the task list is locked, so listeners must be quick and must not call back
+ * into the task list.
+ */
+public interface TaskListListener {
+    /**
+     * Called once when the saved tasks are loaded, or when the listener is added to an already loaded list.
+     *
+     * @param tasks All the tasks, in list order.
+     */
+    void onTasksLoaded(PersistentTaskTree tasks);
+
+    /**
+     * Called when a task is added, changed or deleted, including by undo and redo.
+     *
+     * @param oldTask The task before the change, null if it was added.
+     * @param newTask The task after the change, null if it was deleted.
+     */
+    void onTaskChanged(Task oldTask, Task newTask);
+}
@@ -22,9 +22,9 @@ public class ToDo extends Task {
     @Override
     public String toSaveInHardDisk() {
         if (this.isDone) {
-            return "T ; 1 ; " + this.description + " ; " + this.tag ;
+            return "T ; 1 ; " + this.description + " ; " + this.tag + toSaveCommonColumns();
         } else {
-            return "T ; 0 ; " + this.description + " ; " + this.tag;
+            return "T ; 0 ; " + this.description + " ; " + this.tag + toSaveCommonColumns();
         }
     }
 
@@ -0,0 +1,157 @@
+package duke.logic.tasks;
+
+import duke.storage.Storage;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+/**
+ * The named task lists of the user, one of which is in use.
+ * Each list is saved in its own directory. Recently used lists stay loaded so that switching back to them is
+ * instant, the least recently used ones are dropped once the loaded lists hold more than
+ * {@value #DEFAULT_MAX_CACHED_TASKS} tasks (or the value of {@value #MAX_CACHED_TASKS_PROPERTY}).
+ * The loaded lists follow the changes other programs make to their save files.
+ */
+public class Workspace {
+    public static final String DEFAULT_LIST_NAME = "default";
+    // Number of tasks the loaded lists may hold together, the list in use is kept loaded whatever its size
+    public static final String MAX_CACHED_TASKS_PROPERTY = "duke.workspace.maxCachedTasks";
+    private static final int DEFAULT_MAX_CACHED_TASKS = 1_000_000;
+    private static final Pattern LIST_NAME_PATTERN = Pattern.compile("[A-Za-z0-9_-]+");
+
+    private final Storage storage;
+    private final int maxCachedTasks;
+    // Loaded task lists by name, least recently used first
+    private final LinkedHashMap<String, TaskList> cachedLists = new LinkedHashMap<>(16, 0.75f, true);
+    // Listeners that follow the list in use
+    private final List<TaskListListener> listeners = new ArrayList<>();
+    private String activeName;
+    private volatile TaskList activeList;
+
+    /**
+     * Constructs a workspace using the default list, saved in the given storage. The other lists are saved
+     * in subdirectories of it.
+     *
+     * @param storage Where the default list is loaded from and saved to.
+     */
+    public Workspace(Storage storage) {
+        this.storage = storage;
+        this.maxCachedTasks = Integer.getInteger(MAX_CACHED_TASKS_PROPERTY, DEFAULT_MAX_CACHED_TASKS);
+        this.activeName = DEFAULT_LIST_NAME;
+        this.activeList = new TaskList(storage);
+        activeList.watchSaveFiles();
+        cachedLists.put(activeName, activeList);
+    }
+
+    /**
+     * Checks whether a name can be used for a task list.
+     *
+     * @param name The name.
+     * @return Whether it only has letters, digits, '-' and '_'.
+     */
+    public static boolean isValidListName(String name) {
+        return LIST_NAME_PATTERN.matcher(name).matches();
+    }
+
+    /**
+     * Returns the task list in use.
+     *
+     * @return The task list.
+     */
+    public TaskList getActiveList() {
+        return activeList;
+    }
+
+    /**
+     * Returns the name of the task list in use.
+     *
+     * @return The name.
+     */
+    public synchronized String getActiveName() {
+        return activeName;
+    }
+
+    /**
+     * Adds a listener notified of every change to the list in use. When another list is used,
+     * the listener moves to it and gets its tasks through {@link TaskListListener#onTasksLoaded}.
+     *
+     * @param listener The listener.
+     */
+    public synchronized void addListener(TaskListListener listener) {
+        listeners.add(listener);
+        activeList.addListener(listener);
+    }
+
+    /**
+     * Uses the task list with the given name, loading it if it is not loaded, or creating it if it doesn't exist.
+     * This doesn't wait for the load, the commands on the list do.
+     *
+     * @param name The name of the list, which must be a valid list name.
+     * @return The result of the operation.
+     */
+    public synchronized String use(String name) {
+        assert isValidListName(name);
+        if (name.equals(activeName)) {
+            return "You are already using the list " + name;
+        }
+        TaskList list = cachedLists.get(name);
+        if (list == null) {
+            list = new TaskList(name.equals(DEFAULT_LIST_NAME) ? storage : storage.getListStorage(name));
+            list.watchSaveFiles();
+            cachedLists.put(name, list);
+        }
+        for (TaskListListener listener : listeners) {
+            activeList.removeListener(listener);
+            list.addListener(listener);
+        }
+        activeName = name;
+        activeList = list;
+        evictLeastRecentlyUsed();
+        return "Now using the list " + name;
+    }
+
+    /**
+     * Waits for every change to be saved and stops following the save files of the loaded lists.
+     */
+    public synchronized void close() {
+        for (TaskList list : cachedLists.values()) {
+            list.close();
+        }
+    }
+
+    /**
+     * Stops following the save files of the loaded lists without waiting for them to load or for their text
+     * index to be saved, see {@link TaskList#closeOnExit()}.
+     */
+    public synchronized void closeOnExit() {
+        for (TaskList list : cachedLists.values()) {
+            list.closeOnExit();
+        }
+    }
+
+    /**
+     * Drops the least recently used lists until the loaded lists fit in the limit. A list still loading counts
+     * as empty, it is counted from the next switch on.
+     */
+    private void evictLeastRecentlyUsed() {
+        long cachedTasks = 0;
+        for (TaskList list : cachedLists.values()) {
+            cachedTasks += list.getLoadedSize();
+        }
+        Iterator<Map.Entry<String, TaskList>> iterator = cachedLists.entrySet().iterator();
+        while (cachedTasks > maxCachedTasks && iterator.hasNext()) {
+            TaskList list = iterator.next().getValue();
+            if (list == activeList) {
+                continue;
+            }
+            // every change is saved when it is made, this only waits for one still being saved
+            list.close();
+            cachedTasks -= list.getLoadedSize();
+            iterator.remove();
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package duke.monitoring;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Threshold;
+
+/**
+ * Flight recorder event for parsing and executing one user command.
+ */
+@Name("duke.Command")
+@Label("Command")
+@Category("Duke")
+@Description("Parsing and execution of a user command")
+@Threshold("1 ms")
+public class CommandEvent extends Event {
+    @Label("Command")
+    public String command;
+
+    @Label("Outcome")
+    @Description("success, or the error message of an invalid command")
+    public String outcome;
+}
@@ -0,0 +1,154 @@
+package duke.monitoring;
+
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Process-wide counters and latency histograms of the commands and of the storage.
+ * Recording never takes a lock, so it can be called from any thread on the hot path.
+ */
+public class Metrics {
+    private static final ConcurrentHashMap<String, CommandMetrics> COMMANDS = new ConcurrentHashMap<>();
+    private static final LatencyHistogram LOAD_TIME = new LatencyHistogram();
+    private static final LatencyHistogram SAVE_TIME = new LatencyHistogram();
+    private static final LongAdder BYTES_WRITTEN = new LongAdder();
+    private static final AtomicLong STARTUP_MILLIS = new AtomicLong(-1);
+    // Time spent saving since the last call to takePendingPersistNanos, per thread
+    private static final ThreadLocal<long[]> PENDING_PERSIST_NANOS = ThreadLocal.withInitial(() -> new long[1]);
+
+    private static class CommandMetrics {
+        private final LongAdder count = new LongAdder();
+        private final EnumMap<Phase, LatencyHistogram> phases = new EnumMap<>(Phase.class);
+
+        private CommandMetrics() {
+            for (Phase phase : Phase.values()) {
+                phases.put(phase, new LatencyHistogram());
+            }
+        }
+    }
+
+    private Metrics() {
+    }
+
+    private static CommandMetrics getCommandMetrics(String commandType) {
+        return COMMANDS.computeIfAbsent(commandType, type -> new CommandMetrics());
+    }
+
+    /**
+     * Counts one more invocation of a command type.
+     *
+     * @param commandType The command type, e.g. todo.
+     */
+    public static void recordCommand(String commandType) {
+        getCommandMetrics(commandType).count.increment();
+    }
+
+    /**
+     * Records the duration of one phase of a command.
+     *
+     * @param commandType The command type, e.g. todo.
+     * @param phase The phase of the command.
+     * @param nanos The duration in nanoseconds.
+     */
+    public static void recordPhase(String commandType, Phase phase, long nanos) {
+        getCommandMetrics(commandType).phases.get(phase).record(nanos);
+    }
+
+    /**
+     * Records the time from JVM start to the first prompt shown to the user. Only the first call counts.
+     */
+    public static void recordFirstPrompt() {
+        STARTUP_MILLIS.compareAndSet(-1, ManagementFactory.getRuntimeMXBean().getUptime());
+    }
+
+    /**
+     * Records a load of the task list.
+     *
+     * @param nanos The load duration in nanoseconds.
+     */
+    public static void recordLoad(long nanos) {
+        LOAD_TIME.record(nanos);
+    }
+
+    /**
+     * Records a save of the task list. The duration is also kept for the calling thread
+     * so that it can be attributed to the command that triggered the save.
+     *
+     * @param nanos The save duration in nanoseconds.
+     * @param bytes The number of bytes written.
+     */
+    public static void recordSave(long nanos, long bytes) {
+        SAVE_TIME.record(nanos);
+        BYTES_WRITTEN.add(bytes);
+        PENDING_PERSIST_NANOS.get()[0] += nanos;
+    }
+
+    /**
+     * Returns and resets the time the calling thread spent saving since the last call.
+     *
+     * @return The time spent saving in nanoseconds.
+     */
+    public static long takePendingPersistNanos() {
+        long[] pending = PENDING_PERSIST_NANOS.get();
+        long nanos = pending[0];
+        pending[0] = 0;
+        return nanos;
+    }
+
+    private static String formatNanos(long nanos) {
+        return String.format("%.3fms", nanos / 1_000_000.0);
+    }
+
+    private static String formatHistogram(LatencyHistogram histogram) {
+        return "p50 " + formatNanos(histogram.getPercentile(50))
+                + ", p99 " + formatNanos(histogram.getPercentile(99))
+                + ", max " + formatNanos(histogram.getMax());
+    }
+
+    /**
+     * Builds a report of all the statistics recorded so far.
+     *
+     * @return The report.
+     */
+    public static String getReport() {
+        StringBuilder report = new StringBuilder("Here are the statistics since startup:");
+        report.append("\n\t startup: ").append(STARTUP_MILLIS.get()).append("ms to first prompt");
+        report.append("\n\t load: ").append(LOAD_TIME.getCount()).append(" times, ")
+                .append(formatHistogram(LOAD_TIME));
+        report.append("\n\t save: ").append(SAVE_TIME.getCount()).append(" times, ")
+                .append(formatHistogram(SAVE_TIME))
+                .append(", ").append(BYTES_WRITTEN.sum()).append(" bytes written");
+        for (Map.Entry<String, CommandMetrics> entry : new TreeMap<>(COMMANDS).entrySet()) {
+            report.append("\n\t ").append(entry.getKey()).append(": ")
+                    .append(entry.getValue().count.sum()).append(" times");
+            for (Phase phase : Phase.values()) {
+                LatencyHistogram histogram = entry.getValue().phases.get(phase);
+                if (histogram.getCount() > 0) {
+                    report.append("\n\t   ").append(phase.name().toLowerCase()).append(": ")
+                            .append(formatHistogram(histogram));
+                }
+            }
+        }
+        return report.toString();
+    }
+
+    /**
+     * Writes the report of all the statistics recorded so far to a file.
+     *
+     * @param file The file to write to.
+     * @throws IOException If the file cannot be written.
+     */
+    public static void exportToFile(File file) throws IOException {
+        try (FileWriter fileWriter = new FileWriter(file)) {
+            fileWriter.write(getReport().replace("\t ", "") + System.lineSeparator());
+        }
+    }
+}
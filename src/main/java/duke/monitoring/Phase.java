@@ -0,0 +1,8 @@
+package duke.monitoring;
+
+/**
+ * The phases a user command goes through.
+ */
+public enum Phase {
+    PARSE, EXECUTE, RENDER, PERSIST
+}
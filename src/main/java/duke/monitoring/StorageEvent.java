@@ -0,0 +1,29 @@
+package duke.monitoring;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Threshold;
+
+/**
+ * Flight recorder event for loading or saving the task list.
+ */
+@Name("duke.Storage")
+@Label("Storage")
+@Category("Duke")
+@Description("Load or save of the task list")
+@Threshold("1 ms")
+public class StorageEvent extends Event {
+    @Label("Operation")
+    public String operation;
+
+    @Label("Bytes")
+    @DataAmount
+    public long bytes;
+
+    @Label("Task Count")
+    public int taskCount;
+}
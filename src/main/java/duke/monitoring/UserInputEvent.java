@@ -0,0 +1,22 @@
+package duke.monitoring;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Threshold;
+
+/**
+ * Flight recorder event for handling one user input in the GUI, from reading the text field
+ * to adding the dialog boxes. The threshold is about one frame at 60 fps.
+ */
+@Name("duke.UserInput")
+@Label("User Input")
+@Category({"Duke", "GUI"})
+@Description("End-to-end handling of a user input in the GUI")
+@Threshold("16 ms")
+public class UserInputEvent extends Event {
+    @Label("Command")
+    public String command;
+}
@@ -0,0 +1,77 @@
+package duke.monitoring;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+
+/**
+ * Records the commands of a session in a {@link WorkloadTrace} file, when Duke is run with
+ * {@value #TRACE_FILE_PROPERTY} set to the file. Recording is best effort, a failed write stops it
+ * without affecting the session.
+ */
+public class WorkloadRecorder {
+    public static final String TRACE_FILE_PROPERTY = "duke.trace.file";
+
+    private final long startNanos = System.nanoTime();
+    private BufferedWriter writer;
+
+    private WorkloadRecorder(BufferedWriter writer) {
+        this.writer = writer;
+    }
+
+    /**
+     * Starts recording in the file given by {@value #TRACE_FILE_PROPERTY}, replacing it.
+     *
+     * @return The recorder, null if the property is not set or the file cannot be created.
+     */
+    public static WorkloadRecorder fromSystemProperty() {
+        String traceFile = System.getProperty(TRACE_FILE_PROPERTY);
+        if (traceFile == null) {
+            return null;
+        }
+        try {
+            BufferedWriter writer = Files.newBufferedWriter(Paths.get(traceFile), StandardCharsets.UTF_8);
+            writer.write(WorkloadTrace.HEADER);
+            writer.newLine();
+            return new WorkloadRecorder(writer);
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Records a command typed now. Each command is flushed, so that the trace survives a crash.
+     *
+     * @param command The command, as typed.
+     */
+    public synchronized void record(String command) {
+        if (writer == null) {
+            return;
+        }
+        long offsetMillis = (System.nanoTime() - startNanos) / 1_000_000;
+        try {
+            writer.write(WorkloadTrace.format(new WorkloadTrace.Entry(offsetMillis, command)));
+            writer.newLine();
+            writer.flush();
+        } catch (IOException e) {
+            close();
+        }
+    }
+
+    /**
+     * Stops recording.
+     */
+    public synchronized void close() {
+        if (writer == null) {
+            return;
+        }
+        try {
+            writer.close();
+        } catch (IOException e) {
+            // the commands recorded so far were already flushed
+        }
+        writer = null;
+    }
+}
@@ -0,0 +1,109 @@
+package duke.monitoring;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A recorded or synthesized session of commands, replayed to measure Duke end to end.
+ * A trace file has one command per line, after the milliseconds since the start of the session and a tab.
+ * Lines starting with # are comments.
+ */
+public class WorkloadTrace {
+    public static final String HEADER = "# duke workload trace: milliseconds since the start of the session, "
+            + "a tab, the command";
+    private static final String COMMENT_PREFIX = "#";
+    private static final char SEPARATOR = '\t';
+
+    private WorkloadTrace() {
+    }
+
+    /**
+     * A command of a session and when it was typed.
+     */
+    public static class Entry {
+        private final long offsetMillis;
+        private final String command;
+
+        /**
+         * Constructs an entry.
+         *
+         * @param offsetMillis The milliseconds since the start of the session.
+         * @param command The command, as typed.
+         */
+        public Entry(long offsetMillis, String command) {
+            this.offsetMillis = offsetMillis;
+            this.command = command;
+        }
+
+        public long getOffsetMillis() {
+            return offsetMillis;
+        }
+
+        public String getCommand() {
+            return command;
+        }
+    }
+
+    /**
+     * Formats an entry as a line of a trace file, without the line separator.
+     *
+     * @param entry The entry.
+     * @return The line.
+     */
+    public static String format(Entry entry) {
+        return entry.getOffsetMillis() + String.valueOf(SEPARATOR) + entry.getCommand();
+    }
+
+    /**
+     * Reads a trace file.
+     *
+     * @param file The trace file.
+     * @return The entries, in the order of the file.
+     * @throws IOException If the file cannot be read or a line is invalid.
+     */
+    public static List<Entry> read(Path file) throws IOException {
+        List<Entry> entries = new ArrayList<>();
+        try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            String line;
+            int lineNumber = 0;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                if (line.isBlank() || line.startsWith(COMMENT_PREFIX)) {
+                    continue;
+                }
+                int separator = line.indexOf(SEPARATOR);
+                try {
+                    entries.add(new Entry(Long.parseLong(line.substring(0, Math.max(separator, 0))),
+                            line.substring(separator + 1)));
+                } catch (NumberFormatException e) {
+                    throw new IOException("Line " + lineNumber + " of " + file + " is invalid");
+                }
+            }
+        }
+        return entries;
+    }
+
+    /**
+     * Writes a trace file.
+     *
+     * @param entries The entries.
+     * @param file The trace file, replaced if it exists.
+     * @throws IOException If the file cannot be written.
+     */
+    public static void write(List<Entry> entries, Path file) throws IOException {
+        try (BufferedWriter writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+            writer.write(HEADER);
+            writer.newLine();
+            for (Entry entry : entries) {
+                writer.write(format(entry));
+                writer.newLine();
+            }
+        }
+    }
+}
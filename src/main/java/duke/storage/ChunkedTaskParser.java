@@ -0,0 +1,149 @@
+package duke.storage;
+
+import duke.exception.DukeCorruptedSaveException;
+import duke.logic.tasks.Task;
+
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+
+/**
+ * Parses a save file on several cores. The file is split at line boundaries into chunks, which are parsed
+ * concurrently on a fork-join pool into lists that are then concatenated in file order.
+ * Each chunk counts its own lines, so the line number of a corrupted line is its line in the chunk
+ * plus the lines of the chunks before it, and of the part of the file before the parsed content.
+ */
+public class ChunkedTaskParser {
+    // Files smaller than this are parsed in a single chunk, splitting them costs more than it saves
+    private static final int MIN_CHUNK_BYTES = 64 * 1024;
+    private static final int CHUNKS_PER_THREAD = 4;
+
+    /**
+     * The tasks parsed from a chunk and its number of lines, or the first corrupted line in it.
+     */
+    private static class ParsedChunk {
+        private final ArrayList<Task> tasks = new ArrayList<>();
+        private int lineCount;
+        private int corruptedLine;
+    }
+
+    /**
+     * Parses a save file on the common pool.
+     *
+     * @param bytes The content of the file.
+     * @param charset The charset of the file, a charset where a line feed is always the byte 10, like UTF-8.
+     * @param fileName The name of the file, to report corrupted lines.
+     * @return The tasks, in file order.
+     * @throws DukeCorruptedSaveException If a line is corrupted, with its line number.
+     */
+    public static ArrayList<Task> parse(byte[] bytes, Charset charset, String fileName)
+            throws DukeCorruptedSaveException {
+        return parse(bytes, charset, fileName, 0);
+    }
+
+    /**
+     * Parses the end of a save file on the common pool, e.g. the lines another program appended to it.
+     *
+     * @param bytes The content of the end of the file, starting at the start of a line.
+     * @param charset The charset of the file, a charset where a line feed is always the byte 10, like UTF-8.
+     * @param fileName The name of the file, to report corrupted lines.
+     * @param linesBefore The number of lines of the file before the given content.
+     * @return The tasks, in file order.
+     * @throws DukeCorruptedSaveException If a line is corrupted, with its line number in the whole file.
+     */
+    public static ArrayList<Task> parse(byte[] bytes, Charset charset, String fileName, int linesBefore)
+            throws DukeCorruptedSaveException {
+        return parse(bytes, charset, fileName, linesBefore, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Parses the end of a save file on the given pool, in a few chunks per thread of the pool
+     * so that threads finishing early can take more.
+     *
+     * @param bytes The content of the end of the file, starting at the start of a line.
+     * @param charset The charset of the file, a charset where a line feed is always the byte 10, like UTF-8.
+     * @param fileName The name of the file, to report corrupted lines.
+     * @param linesBefore The number of lines of the file before the given content, 0 for the whole file.
+     * @param pool The pool the chunks are parsed on.
+     * @return The tasks, in file order.
+     * @throws DukeCorruptedSaveException If a line is corrupted, with its line number in the whole file.
+     */
+    public static ArrayList<Task> parse(byte[] bytes, Charset charset, String fileName, int linesBefore,
+            ForkJoinPool pool) throws DukeCorruptedSaveException {
+        int chunkCount = Math.max(1, Math.min(pool.getParallelism() * CHUNKS_PER_THREAD,
+                bytes.length / MIN_CHUNK_BYTES));
+        List<ParsedChunk> chunks = new ArrayList<>(chunkCount);
+        if (chunkCount == 1) {
+            chunks.add(parseChunk(bytes, 0, bytes.length, charset));
+        } else {
+            List<ForkJoinTask<ParsedChunk>> chunkTasks = new ArrayList<>(chunkCount);
+            int start = 0;
+            for (int i = 1; i <= chunkCount && start < bytes.length; i++) {
+                int end = i == chunkCount
+                        ? bytes.length
+                        : getLineEnd(bytes, (int) ((long) bytes.length * i / chunkCount));
+                int chunkStart = start;
+                chunkTasks.add(pool.submit(() -> parseChunk(bytes, chunkStart, end, charset)));
+                start = end;
+            }
+            for (ForkJoinTask<ParsedChunk> chunkTask : chunkTasks) {
+                chunks.add(chunkTask.join());
+            }
+        }
+
+        int totalTaskCount = 0;
+        int linesBeforeChunk = linesBefore;
+        for (ParsedChunk chunk : chunks) {
+            if (chunk.corruptedLine > 0) {
+                throw new DukeCorruptedSaveException("Line " + (linesBeforeChunk + chunk.corruptedLine) + " of "
+                        + fileName + " is corrupted!");
+            }
+            totalTaskCount += chunk.tasks.size();
+            linesBeforeChunk += chunk.lineCount;
+        }
+        ArrayList<Task> tasks = new ArrayList<>(totalTaskCount);
+        for (ParsedChunk chunk : chunks) {
+            tasks.addAll(chunk.tasks);
+        }
+        return tasks;
+    }
+
+    /**
+     * Returns the position just after the line feed ending the line that contains the given position,
+     * so that chunks never split a line.
+     */
+    private static int getLineEnd(byte[] bytes, int position) {
+        while (position < bytes.length && bytes[position - 1] != '\n') {
+            position++;
+        }
+        return position;
+    }
+
+    private static ParsedChunk parseChunk(byte[] bytes, int start, int end, Charset charset) {
+        ParsedChunk chunk = new ParsedChunk();
+        String text = new String(bytes, start, end - start, charset);
+        int lineStart = 0;
+        while (lineStart < text.length()) {
+            int lineEnd = text.indexOf('\n', lineStart);
+            if (lineEnd < 0) {
+                lineEnd = text.length();
+            }
+            chunk.lineCount++;
+            String line = text.substring(lineStart, lineEnd);
+            lineStart = lineEnd + 1;
+            if (line.isBlank()) {
+                continue;
+            }
+            try {
+                FileStorage.parseTaskLine(chunk.tasks,
+                        line.endsWith("\r") ? line.substring(0, line.length() - 1) : line);
+            } catch (DukeCorruptedSaveException e) {
+                chunk.corruptedLine = chunk.lineCount;
+                break;
+            }
+        }
+        return chunk;
+    }
+}
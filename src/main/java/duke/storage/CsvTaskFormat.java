@@ -0,0 +1,88 @@
+package duke.storage;
+
+import duke.logic.tasks.Task;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Comma separated values, with a header line. Fields with commas or quotes are quoted,
+ * quotes inside them are doubled.
+ */
+public class CsvTaskFormat extends TaskFormat {
+    public static final String EXTENSION = ".csv";
+    private static final String HEADER = "type,done,description,date,tag,doneDate,endDate,recurrence";
+    private static final int FIELD_COUNT = 8;
+
+    @Override
+    public String getHeader() {
+        return HEADER;
+    }
+
+    /**
+     * Also accepts the header of a file with fewer fields, as written before the last fields were added.
+     */
+    @Override
+    public boolean isHeader(String line) {
+        String header = line.trim().toLowerCase();
+        return header.startsWith("type,") && (HEADER.toLowerCase() + ",").startsWith(header + ",");
+    }
+
+    @Override
+    public Task parse(String line) {
+        List<String> fields = splitFields(line);
+        if (fields.size() < 3 || fields.size() > FIELD_COUNT) {
+            throw new IllegalArgumentException("expected " + FIELD_COUNT + " fields but found " + fields.size());
+        }
+        while (fields.size() < FIELD_COUNT) {
+            fields.add("");
+        }
+        return createTask(fields.get(0), parseDone(fields.get(1)), fields.get(2), fields.get(3), fields.get(4),
+                fields.get(5), fields.get(6), fields.get(7));
+    }
+
+    private static List<String> splitFields(String line) {
+        List<String> fields = new ArrayList<>(FIELD_COUNT);
+        StringBuilder field = new StringBuilder();
+        boolean isQuoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (isQuoted) {
+                if (c != '"') {
+                    field.append(c);
+                } else if (i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    field.append('"');
+                    i++;
+                } else {
+                    isQuoted = false;
+                }
+            } else if (c == '"') {
+                isQuoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+        if (isQuoted) {
+            throw new IllegalArgumentException("a quoted field is not closed");
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+
+    @Override
+    public String format(Task task) {
+        return getType(task) + "," + task.isDone() + "," + quote(task.getDescription()) + ","
+                + toField(task.getDate()) + "," + quote(task.getTag()) + "," + toField(task.getDoneDate()) + ","
+                + toField(getEndDate(task)) + "," + toField(getRecurrence(task));
+    }
+
+    private static String quote(String field) {
+        if (field.indexOf(',') < 0 && field.indexOf('"') < 0) {
+            return field;
+        }
+        return "\"" + field.replace("\"", "\"\"") + "\"";
+    }
+}
@@ -0,0 +1,877 @@
+package duke.storage;
+
+import duke.gui.TextUi;
+import duke.exception.DukeCorruptedSaveException;
+import duke.logic.tasks.Deadline;
+import duke.logic.tasks.Event;
+import duke.logic.tasks.Recurrence;
+import duke.logic.tasks.ToDo;
+import duke.logic.tasks.Task;
+import duke.monitoring.Metrics;
+import duke.monitoring.StorageEvent;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+import java.util.zip.CRC32;
+
+/**
+ * Deals with loading tasks from the file and saving tasks in the file.
+ * Tasks are saved in segment files of {@value Storage#SEGMENT_SIZE} consecutive task ids, listed in a manifest,
+ * so that a change to one task only rewrites its segment and a corrupted segment only loses its own tasks.
+ * The save files are read and written holding a lock on {@value #LOCK_FILENAME}, which other programs changing
+ * them should take too.
+ */
+public class FileStorage implements Storage {
+    public static final String DEFAULT_DIRECTORY = "src/data";
+    // Directory of the save files when none is given, instead of the default one
+    public static final String DATA_DIRECTORY_PROPERTY = "duke.data.dir";
+    public static final String LOCK_FILENAME = "duke.lock";
+    private static final String LEGACY_FILENAME = "duke.txt";
+    private static final String ARCHIVE_FILENAME = "archive.txt";
+    private static final String SEGMENT_DIRECTORY = "segments";
+    private static final String MANIFEST_FILENAME = "manifest.txt";
+    private static final String SEGMENT_PREFIX = "segment-";
+    private static final String SEGMENT_SUFFIX = ".txt";
+    private static final String TEMP_SUFFIX = ".tmp";
+    private static final String CORRUPT_SUFFIX = ".corrupt";
+    private static final String LISTS_DIRECTORY = "lists";
+    // Separates the columns of a task line
+    static final String COLUMN_SEPARATOR = " ; ";
+    private static final String RECURRENCE_SEPARATOR = " every ";
+    private static final String END_DATE_SEPARATOR = " to ";
+    private static final String CONFLICT_SUFFIX = ".conflict";
+    private static final String INDEX_SUFFIX = ".index";
+    // First bytes of an index file, "DUKI"
+    private static final int INDEX_MAGIC = 0x44554b49;
+    private static final int INDEX_FORMAT_VERSION = 1;
+    // Magic, format version, manifest generation, fingerprint of the segments, index length and index checksum
+    private static final int INDEX_HEADER_SIZE = 4 + 4 + 8 + 8 + 4 + 8;
+    // One monitor per data directory, as a file lock is held by the whole process and cannot be taken twice in it
+    private static final ConcurrentHashMap<String, Object> DIRECTORY_MONITORS = new ConcurrentHashMap<>();
+    // Monitors whose file lock is taken, only ever checked by the thread in the monitor, which holds the lock
+    private static final Set<Object> LOCKED_MONITORS = ConcurrentHashMap.newKeySet();
+
+    private final File directory;
+    private final File legacyFile;
+    private final File archiveFile;
+    private final File segmentDirectory;
+    private final SegmentManifest manifest;
+    private final File lockFile;
+    private final Object monitor;
+    private SaveFileWatcher watcher;
+    // Segments changed by another program whose change was handed to the watch listener, guarded by the lock
+    private final Set<Integer> pickedUpSegments = new HashSet<>();
+
+    /**
+     * An operation on the save files, run while holding the lock.
+     */
+    private interface LockedOperation<T> {
+        T run() throws IOException;
+    }
+
+    /**
+     * Constructs a storage that saves in the directory given by {@value #DATA_DIRECTORY_PROPERTY},
+     * or in the default data directory.
+     */
+    public FileStorage() {
+        this(System.getProperty(DATA_DIRECTORY_PROPERTY, DEFAULT_DIRECTORY));
+    }
+
+    /**
+     * Constructs a storage that saves in the given data directory.
+     *
+     * @param directory The directory holding the save files.
+     */
+    public FileStorage(String directory) {
+        this.directory = new File(directory);
+        this.legacyFile = new File(directory, LEGACY_FILENAME);
+        this.archiveFile = new File(directory, ARCHIVE_FILENAME);
+        this.segmentDirectory = new File(directory, SEGMENT_DIRECTORY);
+        this.manifest = new SegmentManifest(new File(segmentDirectory, MANIFEST_FILENAME));
+        this.lockFile = new File(directory, LOCK_FILENAME);
+        this.monitor = DIRECTORY_MONITORS.computeIfAbsent(this.directory.getAbsolutePath(), path -> new Object());
+    }
+
+    /**
+     * Runs an operation holding the lock of the data directory, both against the other threads and the other
+     * programs. The lock is reentrant, an operation may run another one.
+     */
+    private <T> T withLock(LockedOperation<T> operation) throws IOException {
+        synchronized (monitor) {
+            if (LOCKED_MONITORS.contains(monitor)) {
+                return operation.run();
+            }
+            directory.mkdirs();
+            try (FileChannel channel = FileChannel.open(lockFile.toPath(), StandardOpenOption.CREATE,
+                    StandardOpenOption.WRITE)) {
+                // released when the channel is closed
+                channel.lock();
+                LOCKED_MONITORS.add(monitor);
+                try {
+                    return operation.run();
+                } finally {
+                    LOCKED_MONITORS.remove(monitor);
+                }
+            }
+        }
+    }
+
+    private File getSegmentFile(int segment) {
+        return new File(segmentDirectory, SEGMENT_PREFIX + segment + SEGMENT_SUFFIX);
+    }
+
+    private static File getTempFile(File file) {
+        return new File(file.getPath() + TEMP_SUFFIX);
+    }
+
+    private static long getChecksum(byte[] bytes) {
+        return getChecksum(bytes, bytes.length);
+    }
+
+    private static long getChecksum(byte[] bytes, int length) {
+        CRC32 crc = new CRC32();
+        crc.update(bytes, 0, length);
+        return crc.getValue();
+    }
+
+    /**
+     * Counts the lines of the start of a file, which ends with a line feed when it was saved by this storage.
+     */
+    private static int countLines(byte[] bytes, int length) {
+        int lineCount = 0;
+        for (int i = 0; i < length; i++) {
+            if (bytes[i] == '\n') {
+                lineCount++;
+            }
+        }
+        return lineCount;
+    }
+
+    private static byte[] toSaveInHardDisk(List<Task> tasks) {
+        StringBuilder content = new StringBuilder();
+        for (Task t : tasks) {
+            content.append(t.toSaveInHardDisk()).append(System.lineSeparator());
+        }
+        return content.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Writes the new content of a segment next to the segment file and records it in the manifest.
+     * The content only replaces the segment file in {@link #commitSegment(int)}, after the manifest is written,
+     * so a crash in between can be completed on the next load.
+     *
+     * @return The number of bytes written.
+     */
+    private long prepareSegment(int segment, List<Task> segmentTasks) throws IOException {
+        byte[] bytes = toSaveInHardDisk(segmentTasks);
+        Files.write(getTempFile(getSegmentFile(segment)).toPath(), bytes);
+        manifest.putSegment(segment, segmentTasks.size(), bytes.length, getChecksum(bytes));
+        return bytes.length;
+    }
+
+    private void commitSegment(int segment) throws IOException {
+        File segmentFile = getSegmentFile(segment);
+        Files.move(getTempFile(segmentFile).toPath(), segmentFile.toPath(), StandardCopyOption.REPLACE_EXISTING,
+                StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * Save the whole task list to a location on the hard disk, rewriting every segment.
+     *
+     * @param tasks The task list to be saved.
+     */
+    @Override
+    public void saveTaskListToHardDisk(List<Task> tasks) {
+        StorageEvent event = new StorageEvent();
+        event.begin();
+        long startTime = System.nanoTime();
+        long bytes = 0;
+        try {
+            bytes = withLock(() -> writeAllSegments(tasks));
+        } catch (IOException e) {
+            TextUi.display("Can't save the duke.logic.tasks");
+        }
+        Metrics.recordSave(System.nanoTime() - startTime, bytes);
+        commitEvent(event, "save", bytes, tasks.size());
+    }
+
+    private long writeAllSegments(List<Task> tasks) throws IOException {
+        long bytes = 0;
+        segmentDirectory.mkdirs();
+        TreeMap<Integer, List<Task>> segments = tasks.stream()
+                .collect(Collectors.groupingBy(t -> Storage.getSegmentNumber(t.getId()), TreeMap::new,
+                        Collectors.toList()));
+        manifest.clear();
+        for (int segment : segments.keySet()) {
+            bytes += prepareSegment(segment, segments.get(segment));
+        }
+        manifest.write();
+        for (int segment : segments.keySet()) {
+            commitSegment(segment);
+        }
+        deleteUnlistedSegments();
+        if (legacyFile.exists()) {
+            Files.move(legacyFile.toPath(), new File(directory, LEGACY_FILENAME + ".bak").toPath(),
+                    StandardCopyOption.REPLACE_EXISTING);
+        }
+        return bytes;
+    }
+
+    /**
+     * Saves the tasks of one segment, leaving the other segments untouched.
+     *
+     * @param segment The segment number.
+     * @param segmentTasks All the tasks whose ids fall in the segment, in list order.
+     */
+    @Override
+    public void saveSegment(int segment, List<Task> segmentTasks) {
+        StorageEvent event = new StorageEvent();
+        event.begin();
+        long startTime = System.nanoTime();
+        long bytes = 0;
+        try {
+            bytes = withLock(() -> writeSegment(segment, segmentTasks));
+        } catch (IOException e) {
+            TextUi.display("Can't save the duke.logic.tasks");
+        }
+        Metrics.recordSave(System.nanoTime() - startTime, bytes);
+        commitEvent(event, "save segment", bytes, segmentTasks.size());
+    }
+
+    private long writeSegment(int segment, List<Task> segmentTasks) throws IOException {
+        segmentDirectory.mkdirs();
+        keepExternalChange(segment);
+        if (segmentTasks.isEmpty()) {
+            manifest.removeSegment(segment);
+            manifest.write();
+            Files.deleteIfExists(getSegmentFile(segment).toPath());
+            return 0;
+        }
+        long bytes = prepareSegment(segment, segmentTasks);
+        manifest.write();
+        commitSegment(segment);
+        return bytes;
+    }
+
+    /**
+     * Copies a segment file aside if another program changed it since it was last saved or loaded and the change
+     * was not picked up yet, instead of overwriting it silently. Only the length is checked, so that saving
+     * never reads the segment.
+     */
+    private void keepExternalChange(int segment) throws IOException {
+        if (pickedUpSegments.remove(segment)) {
+            return;
+        }
+        SegmentManifest.SegmentInfo info = manifest.getSegment(segment);
+        File segmentFile = getSegmentFile(segment);
+        boolean isChanged = info == null
+                ? segmentFile.exists()
+                : info.getLength() >= 0 && segmentFile.length() != info.getLength();
+        if (isChanged) {
+            File conflictFile = new File(segmentFile.getPath() + CONFLICT_SUFFIX);
+            Files.copy(segmentFile.toPath(), conflictFile.toPath(), StandardCopyOption.REPLACE_EXISTING);
+            TextUi.display(segmentFile.getName() + " was changed by another program while saving, "
+                    + "its content is kept in " + conflictFile.getName());
+        }
+    }
+
+    private void deleteUnlistedSegments() throws IOException {
+        List<Integer> listedSegments = manifest.getSegmentNumbers();
+        for (int segment : getSegmentNumbersOnDisk()) {
+            if (!listedSegments.contains(segment)) {
+                Files.delete(getSegmentFile(segment).toPath());
+            }
+        }
+    }
+
+    private List<Integer> getSegmentNumbersOnDisk() {
+        List<Integer> segments = new ArrayList<>();
+        String[] names = segmentDirectory.list((dir, name) -> getSegmentNumber(name) >= 0);
+        if (names != null) {
+            for (String name : names) {
+                segments.add(getSegmentNumber(name));
+            }
+        }
+        return segments;
+    }
+
+    /**
+     * Returns the segment saved in a file.
+     *
+     * @return The segment number, -1 if the file is not a segment file.
+     */
+    private static int getSegmentNumber(String fileName) {
+        if (!fileName.matches(SEGMENT_PREFIX + "\\d{1,9}" + SEGMENT_SUFFIX)) {
+            return -1;
+        }
+        return Integer.parseInt(fileName.substring(SEGMENT_PREFIX.length(),
+                fileName.length() - SEGMENT_SUFFIX.length()));
+    }
+
+    private static void commitEvent(StorageEvent event, String operation, long bytes, int taskCount) {
+        event.end();
+        if (event.shouldCommit()) {
+            event.operation = operation;
+            event.bytes = bytes;
+            event.taskCount = taskCount;
+            event.commit();
+        }
+    }
+
+    /**
+     * Returns a file in the data directory, next to the save files.
+     *
+     * @param name The file name.
+     * @return The file.
+     */
+    @Override
+    public File getDataFile(String name) {
+        return new File(directory, name);
+    }
+
+    private File getIndexFile(String name) {
+        return new File(directory, name + INDEX_SUFFIX);
+    }
+
+    /**
+     * Saves an encoded index in the data directory, after a header with the generation of the manifest and
+     * a fingerprint of the segments it matches, and the checksum of the index. The file is written aside and
+     * moved over the previous one, so that a crash never leaves half an index.
+     *
+     * @param name The name of the index.
+     * @param content The encoded index, matching the saved tasks.
+     * @throws IOException If the index cannot be written.
+     */
+    @Override
+    public void saveIndex(String name, byte[] content) throws IOException {
+        withLock(() -> {
+            ByteBuffer header = ByteBuffer.allocate(INDEX_HEADER_SIZE);
+            header.putInt(INDEX_MAGIC).putInt(INDEX_FORMAT_VERSION).putLong(manifest.getGeneration())
+                    .putLong(getSegmentsFingerprint()).putInt(content.length).putLong(getChecksum(content));
+            File indexFile = getIndexFile(name);
+            File temp = getTempFile(indexFile);
+            try (OutputStream out = Files.newOutputStream(temp.toPath())) {
+                out.write(header.array());
+                out.write(content);
+            }
+            Files.move(temp.toPath(), indexFile.toPath(), StandardCopyOption.REPLACE_EXISTING,
+                    StandardCopyOption.ATOMIC_MOVE);
+            return null;
+        });
+    }
+
+    /**
+     * Maps an index saved by {@link #saveIndex(String, byte[])} into memory, if it was saved for the manifest
+     * and the segments loaded last and its checksum matches.
+     *
+     * @param name The name of the index.
+     * @return The encoded index, read-only, null if there is none, or it is stale or damaged.
+     * @throws IOException If the index cannot be read.
+     */
+    @Override
+    public ByteBuffer loadIndex(String name) throws IOException {
+        File indexFile = getIndexFile(name);
+        if (!indexFile.exists()) {
+            return null;
+        }
+        return withLock(() -> {
+            ByteBuffer buffer;
+            try (FileChannel channel = FileChannel.open(indexFile.toPath(), StandardOpenOption.READ)) {
+                if (channel.size() < INDEX_HEADER_SIZE || channel.size() > Integer.MAX_VALUE) {
+                    return null;
+                }
+                // the mapping stays valid once the channel is closed
+                buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            }
+            boolean isCurrent = buffer.getInt() == INDEX_MAGIC && buffer.getInt() == INDEX_FORMAT_VERSION
+                    && buffer.getLong() == manifest.getGeneration() && buffer.getLong() == getSegmentsFingerprint();
+            if (!isCurrent) {
+                return null;
+            }
+            int length = buffer.getInt();
+            long checksum = buffer.getLong();
+            if (length != buffer.remaining()) {
+                return null;
+            }
+            ByteBuffer content = buffer.slice();
+            CRC32 crc = new CRC32();
+            crc.update(content.duplicate());
+            return crc.getValue() == checksum ? content : null;
+        });
+    }
+
+    /**
+     * Combines the checksums of the segments listed in the manifest, which change with any saved task.
+     */
+    private long getSegmentsFingerprint() {
+        CRC32 crc = new CRC32();
+        ByteBuffer entry = ByteBuffer.allocate(4 + 8);
+        for (int segment : manifest.getSegmentNumbers()) {
+            entry.clear();
+            entry.putInt(segment).putLong(manifest.getSegment(segment).getChecksum());
+            entry.flip();
+            crc.update(entry);
+        }
+        return crc.getValue();
+    }
+
+    /**
+     * Returns the storage of another named task list, saved in its own directory under this one.
+     *
+     * @param listName The name of the task list.
+     * @return The storage of that list.
+     */
+    @Override
+    public Storage getListStorage(String listName) {
+        return new FileStorage(new File(new File(directory, LISTS_DIRECTORY), listName).getPath());
+    }
+
+    /**
+     * Watches the save files for changes made by other programs, on a background thread that is idle until
+     * a file changes. Lines appended to a segment file are parsed alone, a segment file truncated or rewritten
+     * is parsed again, and the whole task list is loaded again only when the manifest is replaced.
+     * The changes made by this storage are recognized by the length and checksum of each segment
+     * and the generation of the manifest, and ignored.
+     *
+     * @param listener Notified of the changes, on the watcher thread.
+     */
+    @Override
+    public synchronized void watch(SaveFileListener listener) {
+        if (watcher != null) {
+            return;
+        }
+        segmentDirectory.mkdirs();
+        try {
+            watcher = new SaveFileWatcher(segmentDirectory, fileNames -> onFilesChanged(fileNames, listener));
+        } catch (IOException e) {
+            TextUi.display("Can't watch the save files, changes made by other programs are seen on the next start");
+        }
+    }
+
+    /**
+     * Stops watching the save files.
+     */
+    @Override
+    public synchronized void stopWatching() {
+        if (watcher != null) {
+            watcher.close();
+            watcher = null;
+        }
+    }
+
+    private void onFilesChanged(Set<String> fileNames, SaveFileListener listener) {
+        List<Runnable> notifications = new ArrayList<>();
+        try {
+            withLock(() -> {
+                findExternalChanges(fileNames, listener, notifications);
+                return null;
+            });
+        } catch (IOException e) {
+            TextUi.display("Can't read the save files changed by another program.");
+        }
+        // the listener saves the changes it applies, which takes the lock again
+        notifications.forEach(Runnable::run);
+    }
+
+    private void findExternalChanges(Set<String> fileNames, SaveFileListener listener, List<Runnable> notifications)
+            throws IOException {
+        // the manifest is only written holding the lock, so a generation other than ours is another program's
+        if (fileNames.contains(MANIFEST_FILENAME) && manifest.exists()
+                && manifest.readGeneration() != manifest.getGeneration()) {
+            ArrayList<Task> tasks = loadTasks();
+            notifications.add(() -> listener.onSaveReplaced(tasks));
+            return;
+        }
+        for (String fileName : fileNames) {
+            int segment = getSegmentNumber(fileName);
+            if (segment >= 0) {
+                findSegmentChange(segment, listener, notifications);
+            }
+        }
+    }
+
+    /**
+     * Compares a segment file with its length and checksum in the manifest. When the saved content is still at
+     * the start of the file, only the bytes after it are parsed.
+     */
+    private void findSegmentChange(int segment, SaveFileListener listener, List<Runnable> notifications)
+            throws IOException {
+        SegmentManifest.SegmentInfo info = manifest.getSegment(segment);
+        File segmentFile = getSegmentFile(segment);
+        if (!segmentFile.exists()) {
+            if (info != null) {
+                notifications.add(() -> listener.onSegmentReplaced(segment, new ArrayList<>()));
+                pickedUpSegments.add(segment);
+            }
+            return;
+        }
+        byte[] bytes = Files.readAllBytes(segmentFile.toPath());
+        if (info != null && bytes.length == info.getLength() && getChecksum(bytes) == info.getChecksum()) {
+            // saved by this storage
+            return;
+        }
+        boolean isAppended = info != null && info.getLength() >= 0 && bytes.length > info.getLength()
+                && getChecksum(bytes, (int) info.getLength()) == info.getChecksum();
+        try {
+            if (isAppended) {
+                byte[] tail = Arrays.copyOfRange(bytes, (int) info.getLength(), bytes.length);
+                List<Task> tasks = ChunkedTaskParser.parse(tail, StandardCharsets.UTF_8, segmentFile.getName(),
+                        countLines(bytes, (int) info.getLength()));
+                notifications.add(() -> listener.onTasksAppended(segment, tasks));
+            } else {
+                List<Task> tasks = ChunkedTaskParser.parse(bytes, StandardCharsets.UTF_8, segmentFile.getName());
+                notifications.add(() -> listener.onSegmentReplaced(segment, tasks));
+            }
+            pickedUpSegments.add(segment);
+        } catch (DukeCorruptedSaveException e) {
+            TextUi.display(e.getMessage());
+            TextUi.display(segmentFile.getName() + " was changed by another program and can't be read, "
+                    + "the change is ignored");
+        }
+    }
+
+    /**
+     * Load the saved task list. Segments are read in parallel, a corrupted segment is moved aside and
+     * only its tasks are lost. A save file from before segments existed is read and converted.
+     *
+     * @return Saved task list.
+     * @throws IOException The save directory cannot be read.
+     */
+    @Override
+    public ArrayList<Task> loadTaskListFromHardDisk() throws IOException {
+        return withLock(this::loadTasks);
+    }
+
+    private ArrayList<Task> loadTasks() throws IOException {
+        StorageEvent event = new StorageEvent();
+        event.begin();
+        long startTime = System.nanoTime();
+        segmentDirectory.mkdirs();
+        ArrayList<Task> results;
+        long bytes;
+        if (!manifest.exists() && legacyFile.exists()) {
+            bytes = legacyFile.length();
+            results = loadLegacyFile();
+        } else {
+            bytes = 0;
+            results = new ArrayList<>();
+            for (List<Task> segmentTasks : loadSegments()) {
+                results.addAll(segmentTasks);
+            }
+        }
+        Metrics.recordLoad(System.nanoTime() - startTime);
+        commitEvent(event, "load", bytes, results.size());
+        return results;
+    }
+
+    private List<List<Task>> loadSegments() throws IOException {
+        if (!manifest.exists()) {
+            return new ArrayList<>();
+        }
+        try {
+            manifest.read();
+        } catch (DukeCorruptedSaveException e) {
+            quarantine(getSegmentNumbersOnDisk());
+            manifest.clear();
+            manifest.write();
+            TextUi.display("There's an error with the save file, the saved task list is deleted");
+            return new ArrayList<>();
+        }
+        long generation = manifest.getGeneration();
+        List<List<Task>> results;
+        try {
+            results = manifest.getSegmentNumbers().parallelStream()
+                    .map(this::loadSegment)
+                    .collect(Collectors.toList());
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        if (manifest.getGeneration() != generation) {
+            manifest.write();
+        }
+        return results;
+    }
+
+    /**
+     * Reads one segment, completing a save that was interrupted after the manifest was written.
+     * Lines appended by another program after the saved content are kept, and the manifest updated.
+     * A segment that does not match its checksum or cannot be parsed is moved aside and dropped from the manifest.
+     */
+    private List<Task> loadSegment(int segment) {
+        try {
+            SegmentManifest.SegmentInfo info = manifest.getSegment(segment);
+            File segmentFile = getSegmentFile(segment);
+            byte[] bytes = segmentFile.exists() ? Files.readAllBytes(segmentFile.toPath()) : new byte[0];
+            File tempFile = getTempFile(segmentFile);
+            if (getChecksum(bytes) != info.getChecksum() && tempFile.exists()) {
+                byte[] tempBytes = Files.readAllBytes(tempFile.toPath());
+                if (getChecksum(tempBytes) == info.getChecksum()) {
+                    commitSegment(segment);
+                    bytes = tempBytes;
+                }
+            }
+            boolean isAppended = info.getLength() >= 0 && bytes.length > info.getLength()
+                    && getChecksum(bytes, (int) info.getLength()) == info.getChecksum();
+            try {
+                if (getChecksum(bytes) != info.getChecksum() && !isAppended) {
+                    throw new DukeCorruptedSaveException(segmentFile.getName() + " does not match its checksum!");
+                }
+                List<Task> tasks = ChunkedTaskParser.parse(bytes, StandardCharsets.UTF_8, segmentFile.getName());
+                if (isAppended) {
+                    manifest.putSegment(segment, tasks.size(), bytes.length, getChecksum(bytes));
+                }
+                return tasks;
+            } catch (DukeCorruptedSaveException e) {
+                quarantine(List.of(segment));
+                manifest.removeSegment(segment);
+                TextUi.display(e.getMessage());
+                TextUi.display("There's an error with the save file, the tasks with ids from "
+                        + Storage.getFirstTaskId(segment) + " to " + (Storage.getFirstTaskId(segment + 1) - 1)
+                        + " are deleted");
+                return new ArrayList<>();
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /** Moves segment files aside instead of deleting them, so that they can be recovered by hand */
+    private void quarantine(List<Integer> segments) throws IOException {
+        for (int segment : segments) {
+            File segmentFile = getSegmentFile(segment);
+            if (segmentFile.exists()) {
+                Files.move(segmentFile.toPath(), new File(segmentFile.getPath() + CORRUPT_SUFFIX).toPath(),
+                        StandardCopyOption.REPLACE_EXISTING);
+            }
+        }
+    }
+
+    /**
+     * Reads the single save file used before segments existed, in parallel chunks since it holds every task.
+     * The tasks are saved as segments right away when they all have ids, otherwise the task list saves them
+     * after giving out the missing ids.
+     */
+    private ArrayList<Task> loadLegacyFile() throws IOException {
+        ArrayList<Task> results;
+        try {
+            results = ChunkedTaskParser.parse(Files.readAllBytes(legacyFile.toPath()), Charset.defaultCharset(),
+                    LEGACY_FILENAME);
+        } catch (DukeCorruptedSaveException e) {
+            Files.move(legacyFile.toPath(), new File(directory, LEGACY_FILENAME + CORRUPT_SUFFIX).toPath(),
+                    StandardCopyOption.REPLACE_EXISTING);
+            TextUi.display(e.getMessage());
+            TextUi.display("There's an error with the save file, the saved task list is deleted");
+            return new ArrayList<>();
+        }
+        if (results.stream().allMatch(t -> t.getId() > 0)) {
+            saveTaskListToHardDisk(results);
+        }
+        return results;
+    }
+
+    /**
+     * Parses a saved task and adds it to the list.
+     *
+     * @param tasks The list the task is added to.
+     * @param line The saved task.
+     * @throws DukeCorruptedSaveException If the line is not a saved task.
+     */
+    static void parseTaskLine(ArrayList<Task> tasks, String line) throws DukeCorruptedSaveException {
+        String[] currentLine = line.split(COLUMN_SEPARATOR);
+        try {
+            switch (currentLine[0].trim()) {
+            case "T": {
+                handleTodo(tasks, currentLine);
+                break;
+            }
+            case "D": {
+                handleDeadline(tasks, currentLine);
+                break;
+            }
+            case "E": {
+                handleEvent(tasks, currentLine);
+                break;
+            }
+            default:
+                throw new DukeCorruptedSaveException("The save file is corrupted!");
+            }
+        } catch (RuntimeException e) {
+            // a missing column or a malformed date
+            throw new DukeCorruptedSaveException("The save file is corrupted!");
+        }
+    }
+
+    /**
+     * Appends tasks to the archive file. The archive is never loaded with the task list,
+     * it is only read by {@link #searchArchive(String)}.
+     *
+     * @param tasks The tasks to archive.
+     * @throws IOException If the archive cannot be written.
+     */
+    @Override
+    public void appendToArchive(List<Task> tasks) throws IOException {
+        directory.mkdirs();
+        Files.write(archiveFile.toPath(), toSaveInHardDisk(tasks), StandardOpenOption.CREATE,
+                StandardOpenOption.APPEND);
+    }
+
+    /**
+     * Streams through the archive file and returns the archived tasks whose description contains the keyword.
+     * Damaged lines are skipped, the archive is append-only and never rewritten.
+     *
+     * @param keyword The keyword to search for.
+     * @return The matching archived tasks, oldest first.
+     * @throws IOException If the archive cannot be read.
+     */
+    @Override
+    public ArrayList<Task> searchArchive(String keyword) throws IOException {
+        ArrayList<Task> results = new ArrayList<>();
+        if (!archiveFile.exists()) {
+            return results;
+        }
+        try (BufferedReader reader = Files.newBufferedReader(archiveFile.toPath(), StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                // cheap check on the raw line before parsing it
+                if (!line.contains(keyword)) {
+                    continue;
+                }
+                try {
+                    parseTaskLine(results, line);
+                } catch (DukeCorruptedSaveException e) {
+                    continue;
+                }
+                if (!results.get(results.size() - 1).getDescription().contains(keyword)) {
+                    results.remove(results.size() - 1);
+                }
+            }
+        }
+        return results;
+    }
+
+    private static void handleEvent(ArrayList<Task> tasks, String[] currentLine)
+            throws DukeCorruptedSaveException {
+        Task temp;
+        String tag = currentLine.length == 4 ? "" : currentLine[4].trim();
+        LocalDate date = parseDate(currentLine[3]);
+        LocalDate end = parseEndDate(currentLine[3]);
+        if (end.isBefore(date)) {
+            throw new IllegalArgumentException("The event ends before it starts");
+        }
+        temp = new Event(currentLine[2].trim(), tag, date, end);
+        temp.setRecurrence(parseRecurrence(currentLine[3]));
+        if (currentLine[1].equals("1")) {
+            temp.markAsDone();
+        }
+        handleCommonColumns(temp, currentLine, 5);
+        tasks.add(temp);
+    }
+
+    private static void handleDeadline(ArrayList<Task> tasks, String[] currentLine)
+            throws DukeCorruptedSaveException {
+        Task temp;
+        if (currentLine.length == 4) {
+            temp = new Deadline(currentLine[2].trim(), "", 
+                    parseDate(currentLine[3]));
+        } else {
+            temp = new Deadline(currentLine[2].trim(), 
+                    currentLine[4].trim(), parseDate(currentLine[3]));
+        }
+
+        temp.setRecurrence(parseRecurrence(currentLine[3]));
+        if (currentLine[1].equals("1")) {
+            temp.markAsDone();
+        }
+        handleCommonColumns(temp, currentLine, 5);
+        tasks.add(temp);
+    }
+
+    /**
+     * Parses the date of a date column, which is followed by the last date of an event spanning several days
+     * and by the recurrence of a recurring task.
+     */
+    private static LocalDate parseDate(String dateColumn) {
+        return LocalDate.parse(dateColumn.split(RECURRENCE_SEPARATOR)[0].split(END_DATE_SEPARATOR)[0].trim());
+    }
+
+    /**
+     * Parses the last date of a date column, which is the date itself for a task lasting a single day.
+     */
+    private static LocalDate parseEndDate(String dateColumn) {
+        String[] dates = dateColumn.split(RECURRENCE_SEPARATOR)[0].split(END_DATE_SEPARATOR);
+        return LocalDate.parse(dates[dates.length - 1].trim());
+    }
+
+    /**
+     * Parses the recurrence of a date column.
+     *
+     * @return The recurrence, null if the task doesn't recur.
+     * @throws IllegalArgumentException If the recurrence is unknown.
+     */
+    private static Recurrence parseRecurrence(String dateColumn) {
+        String[] dateAndRecurrence = dateColumn.split(RECURRENCE_SEPARATOR);
+        if (dateAndRecurrence.length < 2) {
+            return null;
+        }
+        Recurrence recurrence = Recurrence.fromName(dateAndRecurrence[1]);
+        if (recurrence == null) {
+            throw new IllegalArgumentException("Unknown recurrence " + dateAndRecurrence[1]);
+        }
+        return recurrence;
+    }
+
+    private static void handleTodo(ArrayList<Task> tasks, String[] currentLine)
+            throws DukeCorruptedSaveException {
+        Task temp;
+        if (currentLine.length == 3) {
+            temp = new ToDo(currentLine[2].trim(), "");
+        } else {
+            temp = new ToDo(currentLine[2].trim(), currentLine[3].trim());
+        }
+        if (currentLine[1].equals("1")) {
+            temp.markAsDone();
+        }
+        handleCommonColumns(temp, currentLine, 4);
+        tasks.add(temp);
+    }
+
+    /**
+     * Restores the persistent id and the done date of a task. Save files written before ids existed have no id
+     * column, those tasks keep id 0 and get a fresh id from the task list. Tasks done before done dates were saved
+     * have no done date.
+     */
+    private static void handleCommonColumns(Task temp, String[] currentLine, int idPosition)
+            throws DukeCorruptedSaveException {
+        temp.setDoneDate(null);
+        if (currentLine.length <= idPosition) {
+            return;
+        }
+        try {
+            temp.setId(Integer.parseInt(currentLine[idPosition].trim()));
+        } catch (NumberFormatException e) {
+            throw new DukeCorruptedSaveException("The save file is corrupted!");
+        }
+        if (currentLine.length > idPosition + 1 && temp.isDone()) {
+            temp.setDoneDate(LocalDate.parse(currentLine[idPosition + 1].trim()));
+        }
+    }
+}
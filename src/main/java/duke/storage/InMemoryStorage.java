@@ -0,0 +1,102 @@
+package duke.storage;
+
+import duke.logic.tasks.Task;
+import duke.monitoring.Metrics;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Keeps the saved tasks in memory, for benchmarks and tests that measure the task list without the disk.
+ * Nothing outlives the process. The task list never changes a task once it is saved, so the saved tasks are
+ * kept as they are and only copied on load, where the caller may change them.
+ */
+public class InMemoryStorage implements Storage {
+    // Saved tasks by segment, guarded by itself
+    private final TreeMap<Integer, List<Task>> segments = new TreeMap<>();
+    // Archived tasks, oldest first, guarded by itself
+    private final List<Task> archive = new ArrayList<>();
+    private final Map<String, InMemoryStorage> listStorages = new ConcurrentHashMap<>();
+
+    @Override
+    public ArrayList<Task> loadTaskListFromHardDisk() {
+        long startTime = System.nanoTime();
+        ArrayList<Task> results = new ArrayList<>();
+        synchronized (segments) {
+            for (List<Task> segmentTasks : segments.values()) {
+                for (Task task : segmentTasks) {
+                    results.add(task.copy());
+                }
+            }
+        }
+        Metrics.recordLoad(System.nanoTime() - startTime);
+        return results;
+    }
+
+    @Override
+    public void saveTaskListToHardDisk(List<Task> tasks) {
+        long startTime = System.nanoTime();
+        synchronized (segments) {
+            segments.clear();
+            for (Task task : tasks) {
+                segments.computeIfAbsent(Storage.getSegmentNumber(task.getId()), segment -> new ArrayList<>())
+                        .add(task);
+            }
+        }
+        Metrics.recordSave(System.nanoTime() - startTime, 0);
+    }
+
+    @Override
+    public void saveSegment(int segment, List<Task> segmentTasks) {
+        long startTime = System.nanoTime();
+        synchronized (segments) {
+            if (segmentTasks.isEmpty()) {
+                segments.remove(segment);
+            } else {
+                segments.put(segment, new ArrayList<>(segmentTasks));
+            }
+        }
+        Metrics.recordSave(System.nanoTime() - startTime, 0);
+    }
+
+    @Override
+    public void appendToArchive(List<Task> tasks) {
+        synchronized (archive) {
+            archive.addAll(tasks);
+        }
+    }
+
+    @Override
+    public ArrayList<Task> searchArchive(String keyword) {
+        ArrayList<Task> results = new ArrayList<>();
+        synchronized (archive) {
+            for (Task task : archive) {
+                if (task.getDescription().contains(keyword)) {
+                    results.add(task.copy());
+                }
+            }
+        }
+        return results;
+    }
+
+    /**
+     * Returns the storage of another named task list, the same one every time so that its tasks stay saved
+     * while this storage exists.
+     *
+     * @param listName The name of the task list.
+     * @return The storage of that list.
+     */
+    @Override
+    public Storage getListStorage(String listName) {
+        return listStorages.computeIfAbsent(listName, name -> new InMemoryStorage());
+    }
+
+    @Override
+    public File getDataFile(String name) {
+        return null;
+    }
+}
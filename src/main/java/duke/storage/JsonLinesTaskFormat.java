@@ -0,0 +1,181 @@
+package duke.storage;
+
+import duke.logic.tasks.Task;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * JSON Lines, one flat JSON object per line, e.g.
+ * {"type":"deadline","done":false,"description":"report","date":"2021-01-01","tag":"work"}.
+ * Missing fields and null values are empty.
+ */
+public class JsonLinesTaskFormat extends TaskFormat {
+    public static final String EXTENSION = ".jsonl";
+
+    @Override
+    public String getHeader() {
+        return null;
+    }
+
+    @Override
+    public Task parse(String line) {
+        Map<String, String> fields = new ObjectReader(line).read();
+        return createTask(fields.get("type"), parseDone(fields.get("done")), fields.get("description"),
+                fields.get("date"), fields.get("tag"), fields.get("doneDate"), fields.get("endDate"),
+                fields.get("recurrence"));
+    }
+
+    @Override
+    public String format(Task task) {
+        StringBuilder line = new StringBuilder("{\"type\":\"").append(getType(task))
+                .append("\",\"done\":").append(task.isDone())
+                .append(",\"description\":");
+        appendString(line, task.getDescription());
+        if (task.getDate() != null) {
+            line.append(",\"date\":\"").append(task.getDate()).append('"');
+        }
+        line.append(",\"tag\":");
+        appendString(line, task.getTag());
+        if (task.getDoneDate() != null) {
+            line.append(",\"doneDate\":\"").append(task.getDoneDate()).append('"');
+        }
+        if (getEndDate(task) != null) {
+            line.append(",\"endDate\":\"").append(getEndDate(task)).append('"');
+        }
+        if (getRecurrence(task) != null) {
+            line.append(",\"recurrence\":\"").append(getRecurrence(task)).append('"');
+        }
+        return line.append('}').toString();
+    }
+
+    private static void appendString(StringBuilder line, String value) {
+        line.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '"' || c == '\\') {
+                line.append('\\').append(c);
+            } else if (c < ' ') {
+                line.append(String.format("\\u%04x", (int) c));
+            } else {
+                line.append(c);
+            }
+        }
+        line.append('"');
+    }
+
+    /**
+     * Reads a flat JSON object whose values are strings, booleans, numbers or null, as strings.
+     */
+    private static class ObjectReader {
+        private final String line;
+        private int position;
+
+        private ObjectReader(String line) {
+            this.line = line;
+        }
+
+        private Map<String, String> read() {
+            Map<String, String> fields = new HashMap<>();
+            expect('{');
+            if (peek() == '}') {
+                position++;
+            } else {
+                do {
+                    String name = readString();
+                    expect(':');
+                    fields.put(name, readValue());
+                } while (tryRead(','));
+                expect('}');
+            }
+            if (peek() != 0) {
+                throw new IllegalArgumentException("unexpected text after the object");
+            }
+            return fields;
+        }
+
+        private String readValue() {
+            if (peek() == '"') {
+                return readString();
+            }
+            int start = position;
+            while (position < line.length() && ",} \t".indexOf(line.charAt(position)) < 0) {
+                position++;
+            }
+            String value = line.substring(start, position);
+            if (value.isEmpty() || value.startsWith("{") || value.startsWith("[")) {
+                throw new IllegalArgumentException("only flat objects of strings, booleans and numbers are supported");
+            }
+            return value.equals("null") ? null : value;
+        }
+
+        private String readString() {
+            expect('"');
+            StringBuilder value = new StringBuilder();
+            while (true) {
+                if (position >= line.length()) {
+                    throw new IllegalArgumentException("a string is not closed");
+                }
+                char c = line.charAt(position++);
+                if (c == '"') {
+                    return value.toString();
+                } else if (c != '\\') {
+                    value.append(c);
+                } else if (position >= line.length()) {
+                    throw new IllegalArgumentException("a string is not closed");
+                } else {
+                    value.append(readEscape(line.charAt(position++)));
+                }
+            }
+        }
+
+        private char readEscape(char c) {
+            switch (c) {
+            case 'n':
+                return '\n';
+            case 't':
+                return '\t';
+            case 'r':
+                return '\r';
+            case 'b':
+                return '\b';
+            case 'f':
+                return '\f';
+            case 'u':
+                if (position + 4 > line.length()) {
+                    throw new IllegalArgumentException("an escape sequence is cut short");
+                }
+                try {
+                    char unicode = (char) Integer.parseInt(line.substring(position, position + 4), 16);
+                    position += 4;
+                    return unicode;
+                } catch (NumberFormatException e) {
+                    throw new IllegalArgumentException("an escape sequence is invalid");
+                }
+            default:
+                return c;
+            }
+        }
+
+        private char peek() {
+            while (position < line.length() && Character.isWhitespace(line.charAt(position))) {
+                position++;
+            }
+            return position < line.length() ? line.charAt(position) : 0;
+        }
+
+        private boolean tryRead(char c) {
+            if (peek() == c) {
+                position++;
+                return true;
+            }
+            return false;
+        }
+
+        private void expect(char c) {
+            if (!tryRead(c)) {
+                throw new IllegalArgumentException("expected '" + c + "' at column " + (position + 1));
+            }
+        }
+    }
+}
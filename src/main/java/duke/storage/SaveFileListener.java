@@ -0,0 +1,35 @@
+package duke.storage;
+
+import duke.logic.tasks.Task;
+
+import java.util.List;
+
+/**
+ * Notified when the save files are changed by another program, see {@link FileStorage#watch(SaveFileListener)}.
+ * The methods are called on the watcher thread, without holding the save file lock.
+ */
+public interface SaveFileListener {
+    /**
+     * Called when lines were appended to a segment file, with only the tasks of the new lines.
+     *
+     * @param segment The segment number.
+     * @param tasks The appended tasks, in file order. Their ids may be missing or outside the segment.
+     */
+    void onTasksAppended(int segment, List<Task> tasks);
+
+    /**
+     * Called when a segment file was truncated, rewritten or deleted, with all its tasks.
+     *
+     * @param segment The segment number.
+     * @param tasks The tasks now in the segment file, in file order, empty if it was deleted.
+     */
+    void onSegmentReplaced(int segment, List<Task> tasks);
+
+    /**
+     * Called when the manifest was replaced, e.g. by a copy of the save files from another machine,
+     * with the whole task list loaded again.
+     *
+     * @param tasks The saved tasks.
+     */
+    void onSaveReplaced(List<Task> tasks);
+}
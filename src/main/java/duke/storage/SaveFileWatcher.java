@@ -0,0 +1,87 @@
+package duke.storage;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Watches a directory on a daemon thread and reports the names of the files changed in it.
+ * The thread blocks in the {@link WatchService} while nothing changes, so watching costs nothing when idle.
+ * Events arriving within {@value #BATCH_MILLIS}ms of each other are reported together, since a single save
+ * creates, writes and moves several files.
+ */
+class SaveFileWatcher {
+    private static final long BATCH_MILLIS = 50;
+
+    private final File directory;
+    private final WatchService watchService;
+    private final Consumer<Set<String>> onChange;
+
+    /**
+     * Starts watching a directory.
+     *
+     * @param directory The directory, which must exist.
+     * @param onChange Receives the names of the files created, changed or deleted, on the watcher thread.
+     * @throws IOException If the directory cannot be watched.
+     */
+    SaveFileWatcher(File directory, Consumer<Set<String>> onChange) throws IOException {
+        this.directory = directory;
+        this.onChange = onChange;
+        this.watchService = FileSystems.getDefault().newWatchService();
+        directory.toPath().register(watchService, StandardWatchEventKinds.ENTRY_CREATE,
+                StandardWatchEventKinds.ENTRY_MODIFY, StandardWatchEventKinds.ENTRY_DELETE);
+        Thread thread = new Thread(this::run, "save-file-watcher");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    private void run() {
+        try {
+            while (true) {
+                Set<String> changedNames = new TreeSet<>();
+                WatchKey key = watchService.take();
+                do {
+                    for (WatchEvent<?> event : key.pollEvents()) {
+                        if (event.kind() == StandardWatchEventKinds.OVERFLOW) {
+                            // events were lost, every file is checked
+                            changedNames.addAll(List.of(Objects.requireNonNullElse(directory.list(),
+                                    new String[0])));
+                        } else if (event.context() instanceof Path) {
+                            changedNames.add(event.context().toString());
+                        }
+                    }
+                    key.reset();
+                    key = watchService.poll(BATCH_MILLIS, TimeUnit.MILLISECONDS);
+                } while (key != null);
+                if (!changedNames.isEmpty()) {
+                    onChange.accept(changedNames);
+                }
+            }
+        } catch (InterruptedException | ClosedWatchServiceException e) {
+            // stopped
+        }
+    }
+
+    /**
+     * Stops watching, the watcher thread ends.
+     */
+    void close() {
+        try {
+            watchService.close();
+        } catch (IOException e) {
+            // the thread ends either way
+        }
+    }
+}
@@ -0,0 +1,178 @@
+package duke.storage;
+
+import duke.exception.DukeCorruptedSaveException;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.TreeMap;
+
+/**
+ * The list of segment files of a save, with the number of tasks, the length and the checksum of each segment.
+ * A generation counter is incremented on every change so that other files can tell which save they belong to.
+ */
+public class SegmentManifest {
+    private static final String GENERATION_HEADER = "generation";
+    private static final String SEPARATOR = " ; ";
+
+    private final File file;
+    private final TreeMap<Integer, SegmentInfo> segments = new TreeMap<>();
+    private long generation;
+
+    /**
+     * Number of tasks and checksum of one segment file.
+     */
+    public static class SegmentInfo {
+        private final int taskCount;
+        // Length of the segment file in bytes, -1 in manifests written before lengths were saved
+        private final long length;
+        private final long checksum;
+
+        private SegmentInfo(int taskCount, long length, long checksum) {
+            this.taskCount = taskCount;
+            this.length = length;
+            this.checksum = checksum;
+        }
+
+        public int getTaskCount() {
+            return taskCount;
+        }
+
+        public long getLength() {
+            return length;
+        }
+
+        public long getChecksum() {
+            return checksum;
+        }
+    }
+
+    /**
+     * Constructs an empty manifest saved in the given file.
+     *
+     * @param file The manifest file.
+     */
+    public SegmentManifest(File file) {
+        this.file = file;
+    }
+
+    public boolean exists() {
+        return file.exists();
+    }
+
+    /**
+     * Reads the manifest file, replacing the segments in memory.
+     *
+     * @throws IOException If the file cannot be read.
+     * @throws DukeCorruptedSaveException If the file is not a valid manifest.
+     */
+    public synchronized void read() throws IOException, DukeCorruptedSaveException {
+        segments.clear();
+        try (BufferedReader reader = Files.newBufferedReader(file.toPath(), StandardCharsets.UTF_8)) {
+            String header = reader.readLine();
+            if (header == null || !header.startsWith(GENERATION_HEADER + " ")) {
+                throw new DukeCorruptedSaveException("The manifest of the save file is corrupted!");
+            }
+            generation = Long.parseLong(header.substring(GENERATION_HEADER.length() + 1).trim());
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.isBlank()) {
+                    continue;
+                }
+                String[] fields = line.split(SEPARATOR);
+                if (fields.length != 3 && fields.length != 4) {
+                    throw new DukeCorruptedSaveException("The manifest of the save file is corrupted!");
+                }
+                long length = fields.length == 4 ? Long.parseLong(fields[3].trim()) : -1;
+                segments.put(Integer.parseInt(fields[0].trim()),
+                        new SegmentInfo(Integer.parseInt(fields[1].trim()), length, Long.parseLong(fields[2].trim())));
+            }
+        } catch (NumberFormatException e) {
+            throw new DukeCorruptedSaveException("The manifest of the save file is corrupted!");
+        }
+    }
+
+    /**
+     * Reads only the generation of the manifest file, leaving the manifest in memory untouched.
+     *
+     * @return The generation of the file, -1 if it is not a valid manifest.
+     * @throws IOException If the file cannot be read.
+     */
+    public long readGeneration() throws IOException {
+        try (BufferedReader reader = Files.newBufferedReader(file.toPath(), StandardCharsets.UTF_8)) {
+            String header = reader.readLine();
+            if (header == null || !header.startsWith(GENERATION_HEADER + " ")) {
+                return -1;
+            }
+            return Long.parseLong(header.substring(GENERATION_HEADER.length() + 1).trim());
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    /**
+     * Writes the manifest to a temporary file and moves it over the manifest file,
+     * so that a crash never leaves a half-written manifest.
+     *
+     * @throws IOException If the file cannot be written.
+     */
+    public synchronized void write() throws IOException {
+        StringBuilder content = new StringBuilder(GENERATION_HEADER).append(" ").append(generation)
+                .append(System.lineSeparator());
+        segments.forEach((segment, info) -> content.append(segment).append(SEPARATOR).append(info.taskCount)
+                .append(SEPARATOR).append(info.checksum).append(SEPARATOR).append(info.length)
+                .append(System.lineSeparator()));
+        File temp = new File(file.getPath() + ".tmp");
+        Files.write(temp.toPath(), content.toString().getBytes(StandardCharsets.UTF_8));
+        Files.move(temp.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING,
+                StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * Records the new content of a segment and starts a new generation.
+     *
+     * @param segment The segment number.
+     * @param taskCount The number of tasks in the segment.
+     * @param length The length of the segment file in bytes.
+     * @param checksum The CRC32 of the segment file.
+     */
+    public synchronized void putSegment(int segment, int taskCount, long length, long checksum) {
+        segments.put(segment, new SegmentInfo(taskCount, length, checksum));
+        generation++;
+    }
+
+    /**
+     * Forgets a segment and starts a new generation.
+     *
+     * @param segment The segment number.
+     */
+    public synchronized void removeSegment(int segment) {
+        segments.remove(segment);
+        generation++;
+    }
+
+    /**
+     * Forgets all segments and starts a new generation.
+     */
+    public synchronized void clear() {
+        segments.clear();
+        generation++;
+    }
+
+    public synchronized SegmentInfo getSegment(int segment) {
+        return segments.get(segment);
+    }
+
+    public synchronized List<Integer> getSegmentNumbers() {
+        return new ArrayList<>(segments.keySet());
+    }
+
+    public synchronized long getGeneration() {
+        return generation;
+    }
+}
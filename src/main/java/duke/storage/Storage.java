@@ -1,143 +1,149 @@
 package duke.storage;
 
-import duke.gui.TextUi;
-import duke.exception.DukeCorruptedSaveException;
-import duke.logic.tasks.Deadline;
-import duke.logic.tasks.Event;
-import duke.logic.tasks.ToDo;
 import duke.logic.tasks.Task;
 
 import java.io.File;
-import java.io.FileNotFoundException;
-import java.io.FileWriter;
 import java.io.IOException;
-import java.time.LocalDate;
+import java.nio.ByteBuffer;
 import java.util.ArrayList;
-import java.util.Scanner;
+import java.util.List;
 
 /**
- * Deals with loading tasks from the file and saving tasks in the file
+ * Where a task list is loaded from and saved to.
+ * Tasks are saved by segments of {@value #SEGMENT_SIZE} consecutive task ids, so that a change to one task only
+ * saves its segment again. {@link FileStorage} saves them in files, {@link InMemoryStorage} keeps them in memory,
+ * so that the task list can be measured and tested without the cost of the disk.
  */
-public class Storage {
-    private static final String DIRECTORY = "src/data";
-    private static final String FILEPATH = "src/data/duke.txt";
+public interface Storage {
+    int SEGMENT_SIZE = 1024;
+    // The storage used by default, "file" or "memory"
+    String STORAGE_PROPERTY = "duke.storage";
+    String MEMORY_STORAGE = "memory";
 
     /**
-     * Save the task list to a location on the hard disk
+     * Creates the storage chosen by {@value #STORAGE_PROPERTY}, files in the data directory by default.
      *
-     * @param tasks The task list to be saved.
+     * @return The storage.
      */
-    public static void saveTaskListToHardDisk(ArrayList<Task> tasks) {
-        try {
-            FileWriter fileWriter = new FileWriter(FILEPATH);
-            if (tasks.size() == 0) {
-                fileWriter.write("");
-            } else {
-                for (Task t : tasks) {
-                    fileWriter.write(t.toSaveInHardDisk() + System.getProperty("line.separator"));
-                }
-            }
-            fileWriter.close();
-        } catch (IOException e) {
-            TextUi.display("Can't save the duke.logic.tasks");
+    static Storage fromSystemProperties() {
+        if (MEMORY_STORAGE.equals(System.getProperty(STORAGE_PROPERTY))) {
+            return new InMemoryStorage();
         }
+        return new FileStorage();
     }
 
     /**
-     * Load the saved task list, if the task list does not exist, then raise an duke.exception
+     * Returns the segment a task is saved in.
      *
-     * @return Saved task list.
-     * @throws IOException Task list does not exist.
+     * @param taskId The persistent id of the task.
+     * @return The segment number.
      */
-    public static ArrayList<Task> loadTaskListFromHardDisk() throws IOException {
-        File dir = new File(DIRECTORY);
-        File logs = new File(FILEPATH);
-        ArrayList<Task> results = new ArrayList<>();
-        try {
-            results = parseSavedTaskList(logs);
-        } catch (FileNotFoundException e) {
-            if (!dir.exists()) {
-                dir.mkdirs();
-            }
-            if (!logs.exists()) {
-                logs.createNewFile();
-            }
-        } catch (DukeCorruptedSaveException e) {
-            logs.delete();
-            logs.createNewFile();
-            TextUi.display("There's an error with the save file, the saved task list is deleted");
-        }
-        return results;
+    static int getSegmentNumber(int taskId) {
+        return taskId / SEGMENT_SIZE;
     }
 
-    private static ArrayList<Task> parseSavedTaskList(File logs)
-            throws FileNotFoundException, DukeCorruptedSaveException {
-        Scanner sc = new Scanner(logs);
-        ArrayList<Task> tasks = new ArrayList<>();
-
-        while (sc.hasNext()) {
-            String[] currentLine = sc.nextLine().split(" ; ");
-            switch (currentLine[0].trim()) {
-            case "T": {
-                handleTodo(tasks, currentLine);
-                break;
-            }
-            case "D": {
-                handleDeadline(tasks, currentLine);
-                break;
-            }
-            case "E": {
-                handleEvent(tasks, currentLine);
-                break;
-            }
-            default:
-                throw new DukeCorruptedSaveException("The save file is corrupted!");
-            }
-        }
-        return tasks;
+    /**
+     * Returns the smallest task id saved in a segment.
+     *
+     * @param segment The segment number.
+     * @return The first task id of the segment.
+     */
+    static int getFirstTaskId(int segment) {
+        return segment * SEGMENT_SIZE;
     }
 
-    private static void handleEvent(ArrayList<Task> tasks, String[] currentLine) {
-        Task temp;
-        if (currentLine.length == 4) {
-            temp = new Event(currentLine[2].trim(), "",
-                    LocalDate.parse(currentLine[3]));
-        } else {
-            temp = new Event(currentLine[2].trim(),
-                    currentLine[4].trim(), LocalDate.parse(currentLine[3]));
-        }
-        if (currentLine[1].equals("1")) {
-            temp.markAsDone();
-        }
-        tasks.add(temp);
+    /**
+     * Load the saved task list.
+     *
+     * @return Saved task list, tasks that can be changed by the caller.
+     * @throws IOException The saved tasks cannot be read.
+     */
+    ArrayList<Task> loadTaskListFromHardDisk() throws IOException;
+
+    /**
+     * Save the whole task list, replacing every segment.
+     *
+     * @param tasks The task list to be saved.
+     */
+    void saveTaskListToHardDisk(List<Task> tasks);
+
+    /**
+     * Saves the tasks of one segment, leaving the other segments untouched.
+     *
+     * @param segment The segment number.
+     * @param segmentTasks All the tasks whose ids fall in the segment, in list order.
+     */
+    void saveSegment(int segment, List<Task> segmentTasks);
+
+    /**
+     * Appends tasks to the archive. The archive is never loaded with the task list,
+     * it is only read by {@link #searchArchive(String)}.
+     *
+     * @param tasks The tasks to archive.
+     * @throws IOException If the archive cannot be written.
+     */
+    void appendToArchive(List<Task> tasks) throws IOException;
+
+    /**
+     * Returns the archived tasks whose description contains the keyword.
+     *
+     * @param keyword The keyword to search for.
+     * @return The matching archived tasks, oldest first.
+     * @throws IOException If the archive cannot be read.
+     */
+    ArrayList<Task> searchArchive(String keyword) throws IOException;
+
+    /**
+     * Returns the storage of another named task list.
+     *
+     * @param listName The name of the task list.
+     * @return The storage of that list.
+     */
+    Storage getListStorage(String listName);
+
+    /**
+     * Returns a file next to the saved tasks, e.g. for statistics.
+     *
+     * @param name The file name.
+     * @return The file, null if the storage has no directory.
+     */
+    File getDataFile(String name);
+
+    /**
+     * Notifies the listener of changes other programs make to the saved tasks. Does nothing by default,
+     * for storages that only this program changes.
+     *
+     * @param listener Notified of the changes.
+     */
+    default void watch(SaveFileListener listener) {
     }
 
-    private static void handleDeadline(ArrayList<Task> tasks, String[] currentLine) {
-        Task temp;
-        if (currentLine.length == 4) {
-            temp = new Deadline(currentLine[2].trim(), "", 
-                    LocalDate.parse(currentLine[3]));
-        } else {
-            temp = new Deadline(currentLine[2].trim(), 
-                    currentLine[4].trim(), LocalDate.parse(currentLine[3]));
-        }
+    /**
+     * Stops notifying the listener given to {@link #watch(SaveFileListener)}.
+     */
+    default void stopWatching() {
+    }
 
-        if (currentLine[1].equals("1")) {
-            temp.markAsDone();
-        }
-        tasks.add(temp);
+    /**
+     * Saves an encoded index of the saved tasks next to them, so that the next start can restore it instead of
+     * building it. The index belongs to the saved tasks as they are now and is ignored once they change.
+     * Does nothing by default, for storages that don't outlive the program.
+     *
+     * @param name The name of the index.
+     * @param content The encoded index, matching the saved tasks.
+     * @throws IOException If the index cannot be written.
+     */
+    default void saveIndex(String name, byte[] content) throws IOException {
     }
 
-    private static void handleTodo(ArrayList<Task> tasks, String[] currentLine) {
-        Task temp;
-        if (currentLine.length == 3) {
-            temp = new ToDo(currentLine[2].trim(), "");
-        } else {
-            temp = new ToDo(currentLine[2].trim(), currentLine[3].trim());
-        }
-        if (currentLine[1].equals("1")) {
-            temp.markAsDone();
-        }
-        tasks.add(temp);
+    /**
+     * Loads an encoded index saved by {@link #saveIndex(String, byte[])} for the saved tasks as they are now.
+     *
+     * @param name The name of the index.
+     * @return The encoded index, null if there is none, or it was saved for other tasks or is damaged.
+     * @throws IOException If the index cannot be read.
+     */
+    default ByteBuffer loadIndex(String name) throws IOException {
+        return null;
     }
 }
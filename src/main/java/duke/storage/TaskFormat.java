@@ -0,0 +1,205 @@
+package duke.storage;
+
+import duke.logic.tasks.Deadline;
+import duke.logic.tasks.Event;
+import duke.logic.tasks.Recurrence;
+import duke.logic.tasks.Task;
+import duke.logic.tasks.ToDo;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+
+/**
+ * A file format tasks are imported from and exported to, one task per line.
+ * Every format has the same fields: type (todo, deadline or event), done, description, date, tag, done date,
+ * the end date of an event lasting several days and the recurrence of a recurring deadline or event.
+ */
+public abstract class TaskFormat {
+    /**
+     * Returns the format of a file from its extension.
+     *
+     * @param fileName The file name.
+     * @return The format, null if the extension is not supported.
+     */
+    public static TaskFormat forFileName(String fileName) {
+        String lowerCaseName = fileName.toLowerCase();
+        if (lowerCaseName.endsWith(CsvTaskFormat.EXTENSION)) {
+            return new CsvTaskFormat();
+        } else if (lowerCaseName.endsWith(JsonLinesTaskFormat.EXTENSION)) {
+            return new JsonLinesTaskFormat();
+        } else {
+            return null;
+        }
+    }
+
+    /**
+     * Returns the line written before the tasks.
+     *
+     * @return The header line, null if the format has none.
+     */
+    public abstract String getHeader();
+
+    /**
+     * Checks whether the first line of a file is the header line of the format.
+     *
+     * @param line The first line.
+     * @return Whether it is the header line.
+     */
+    public boolean isHeader(String line) {
+        return line.trim().equalsIgnoreCase(getHeader());
+    }
+
+    /**
+     * Reads a task from a line.
+     *
+     * @param line The line.
+     * @return The task, without an id.
+     * @throws IllegalArgumentException If the line is not a valid task, with the reason as message.
+     */
+    public abstract Task parse(String line);
+
+    /**
+     * Writes a task as a line.
+     *
+     * @param task The task.
+     * @return The line, without a line separator.
+     */
+    public abstract String format(Task task);
+
+    /**
+     * Returns the type field of a task.
+     */
+    protected static String getType(Task task) {
+        return task.getClass().getSimpleName().toLowerCase();
+    }
+
+    /**
+     * Creates a task from its fields, checking them.
+     *
+     * @param type The type, todo, deadline or event.
+     * @param isDone Whether the task is done.
+     * @param description The description.
+     * @param date The date of a deadline or event, null or empty for a todo.
+     * @param tag The tag, null or empty if the task has none.
+     * @param doneDate The date the task was done, null or empty if unknown.
+     * @param endDate The last date of an event lasting several days, null or empty if it ends on its date.
+     * @param recurrence How often a deadline or event recurs, day, week, month or year, null or empty if it doesn't.
+     * @return The task.
+     * @throws IllegalArgumentException If a field is invalid.
+     */
+    protected static Task createTask(String type, boolean isDone, String description, String date, String tag,
+            String doneDate, String endDate, String recurrence) {
+        if (description == null || description.isBlank()) {
+            throw new IllegalArgumentException("the description is empty");
+        }
+        checkSavable(description.trim(), "description");
+        String taskTag = tag == null ? "" : tag.trim();
+        checkSavable(taskTag, "tag");
+        String taskType = type == null ? "" : type.trim().toLowerCase();
+        boolean hasEndDate = endDate != null && !endDate.isBlank();
+        if (hasEndDate && !taskType.equals("event")) {
+            throw new IllegalArgumentException("only an event has an end date");
+        }
+        Task task;
+        switch (taskType) {
+        case "todo":
+            task = new ToDo(description.trim(), taskTag);
+            break;
+        case "deadline":
+            task = new Deadline(description.trim(), taskTag, parseDate(date, "date"));
+            break;
+        case "event":
+            LocalDate start = parseDate(date, "date");
+            LocalDate end = hasEndDate ? parseDate(endDate, "end date") : start;
+            if (end.isBefore(start)) {
+                throw new IllegalArgumentException("the end date " + end + " is before the date " + start);
+            }
+            task = new Event(description.trim(), taskTag, start, end);
+            break;
+        default:
+            throw new IllegalArgumentException("unknown task type '" + type + "'");
+        }
+        if (recurrence != null && !recurrence.isBlank()) {
+            if (task instanceof ToDo) {
+                throw new IllegalArgumentException("a todo can't recur");
+            }
+            task.setRecurrence(parseRecurrence(recurrence));
+        }
+        if (isDone) {
+            task.markAsDone();
+            task.setDoneDate(doneDate == null || doneDate.isBlank() ? null : parseDate(doneDate, "done date"));
+        }
+        return task;
+    }
+
+    /**
+     * Checks that a text field fits in a column of the save file, which holds one task per line
+     * with its columns separated by " ; ".
+     */
+    private static void checkSavable(String value, String field) {
+        for (int i = 0; i < value.length(); i++) {
+            if (Character.isISOControl(value.charAt(i))) {
+                throw new IllegalArgumentException("the " + field + " contains a line break or control character");
+            }
+        }
+        // the column is written between two separators, so a semicolon at either end would form one too
+        if ((" " + value + " ").contains(FileStorage.COLUMN_SEPARATOR)) {
+            throw new IllegalArgumentException("the " + field + " contains '" + FileStorage.COLUMN_SEPARATOR.trim()
+                    + "' between spaces, which separates the columns of the save file");
+        }
+    }
+
+    private static Recurrence parseRecurrence(String recurrence) {
+        Recurrence parsed = Recurrence.fromName(recurrence);
+        if (parsed == null) {
+            throw new IllegalArgumentException("the recurrence '" + recurrence + "' is not day, week, month or year");
+        }
+        return parsed;
+    }
+
+    private static LocalDate parseDate(String date, String field) {
+        if (date == null || date.isBlank()) {
+            throw new IllegalArgumentException("the " + field + " is missing");
+        }
+        try {
+            return LocalDate.parse(date.trim());
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("the " + field + " '" + date + "' is not in yyyy-mm-dd format");
+        }
+    }
+
+    /**
+     * Parses a done field, accepting true/false and 1/0.
+     */
+    protected static boolean parseDone(String done) {
+        switch (done == null ? "" : done.trim().toLowerCase()) {
+        case "true":
+        case "1":
+            return true;
+        case "false":
+        case "0":
+        case "":
+            return false;
+        default:
+            throw new IllegalArgumentException("the done field '" + done + "' is not true or false");
+        }
+    }
+
+    protected static String toField(Object value) {
+        return value == null ? "" : value.toString();
+    }
+
+    /**
+     * Returns the recurrence field of a task, null if it doesn't recur.
+     */
+    protected static String getRecurrence(Task task) {
+        return task.getRecurrence() == null ? null : task.getRecurrence().getName();
+    }
+
+    /**
+     * Returns the end date of a task lasting several days, null if it ends on its date or has none.
+     */
+    protected static LocalDate getEndDate(Task task) {
+        return task.getDate() == null || task.getEndDate().equals(task.getDate()) ? null : task.getEndDate();
+    }
+}
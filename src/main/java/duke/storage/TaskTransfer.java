@@ -0,0 +1,165 @@
+package duke.storage;
+
+import duke.exception.DukeImportException;
+import duke.logic.tasks.Task;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+
+/**
+ * Imports tasks from and exports tasks to CSV or JSON Lines files.
+ * Files are streamed in chunks of lines, each chunk is parsed or formatted on the fork-join pool while the
+ * next ones are read, and the results are collected in file order. Only a few chunks are in flight at a time,
+ * so memory stays bounded however large the file is.
+ */
+public class TaskTransfer {
+    private static final int CHUNK_LINES = 8192;
+
+    /**
+     * The tasks parsed from a chunk, or why the chunk is invalid.
+     */
+    private static class ParsedChunk {
+        private final List<Task> tasks;
+        private final String error;
+
+        private ParsedChunk(List<Task> tasks, String error) {
+            this.tasks = tasks;
+            this.error = error;
+        }
+    }
+
+    private static ForkJoinPool getPool() {
+        return ForkJoinPool.commonPool();
+    }
+
+    private static int getMaxChunksInFlight() {
+        return getPool().getParallelism() * 2;
+    }
+
+    /**
+     * Reads the tasks of a file. Blank lines and the header line of the format are skipped.
+     *
+     * @param file The file.
+     * @param format The format of the file.
+     * @return The tasks, in file order and without ids.
+     * @throws IOException If the file can't be read.
+     * @throws DukeImportException If a line is not a valid task, nothing is imported then.
+     */
+    public static List<Task> importTasks(Path file, TaskFormat format) throws IOException, DukeImportException {
+        List<Task> tasks = new ArrayList<>();
+        ArrayDeque<ForkJoinTask<ParsedChunk>> chunksInFlight = new ArrayDeque<>();
+        try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            List<String> chunk = new ArrayList<>(CHUNK_LINES);
+            int lineNumber = 0;
+            int chunkFirstLine = 1;
+            String line;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                boolean isHeader = lineNumber == 1 && format.getHeader() != null && format.isHeader(line);
+                chunk.add(isHeader ? "" : line);
+                if (chunk.size() == CHUNK_LINES) {
+                    chunksInFlight.add(submitParse(format, chunk, chunkFirstLine));
+                    chunk = new ArrayList<>(CHUNK_LINES);
+                    chunkFirstLine = lineNumber + 1;
+                    if (chunksInFlight.size() >= getMaxChunksInFlight()) {
+                        tasks.addAll(joinParse(chunksInFlight));
+                    }
+                }
+            }
+            chunksInFlight.add(submitParse(format, chunk, chunkFirstLine));
+            while (!chunksInFlight.isEmpty()) {
+                tasks.addAll(joinParse(chunksInFlight));
+            }
+        } finally {
+            chunksInFlight.forEach(chunk -> chunk.cancel(false));
+        }
+        return tasks;
+    }
+
+    private static ForkJoinTask<ParsedChunk> submitParse(TaskFormat format, List<String> lines, int firstLine) {
+        return getPool().submit(() -> {
+            List<Task> tasks = new ArrayList<>(lines.size());
+            for (int i = 0; i < lines.size(); i++) {
+                if (lines.get(i).isBlank()) {
+                    continue;
+                }
+                try {
+                    tasks.add(format.parse(lines.get(i)));
+                } catch (IllegalArgumentException e) {
+                    return new ParsedChunk(null, "Line " + (firstLine + i) + " is invalid: " + e.getMessage());
+                }
+            }
+            return new ParsedChunk(tasks, null);
+        });
+    }
+
+    /**
+     * Waits for the oldest chunk in flight to be parsed, so that chunks are collected in file order.
+     */
+    private static List<Task> joinParse(ArrayDeque<ForkJoinTask<ParsedChunk>> chunksInFlight)
+            throws DukeImportException {
+        ParsedChunk chunk = chunksInFlight.remove().join();
+        if (chunk.error != null) {
+            throw new DukeImportException("OOPS!!! " + chunk.error);
+        }
+        return chunk.tasks;
+    }
+
+    /**
+     * Writes tasks to a file, replacing it.
+     *
+     * @param tasks The tasks, in the order they are written.
+     * @param file The file.
+     * @param format The format of the file.
+     * @return The number of tasks written.
+     * @throws IOException If the file can't be written.
+     */
+    public static int exportTasks(Iterable<Task> tasks, Path file, TaskFormat format) throws IOException {
+        ArrayDeque<ForkJoinTask<String>> chunksInFlight = new ArrayDeque<>();
+        int count = 0;
+        try (BufferedWriter writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+            if (format.getHeader() != null) {
+                writer.write(format.getHeader());
+                writer.newLine();
+            }
+            List<Task> chunk = new ArrayList<>(CHUNK_LINES);
+            for (Task task : tasks) {
+                chunk.add(task);
+                count++;
+                if (chunk.size() == CHUNK_LINES) {
+                    chunksInFlight.add(submitFormat(format, chunk));
+                    chunk = new ArrayList<>(CHUNK_LINES);
+                    if (chunksInFlight.size() >= getMaxChunksInFlight()) {
+                        writer.write(chunksInFlight.remove().join());
+                    }
+                }
+            }
+            chunksInFlight.add(submitFormat(format, chunk));
+            while (!chunksInFlight.isEmpty()) {
+                writer.write(chunksInFlight.remove().join());
+            }
+        } finally {
+            chunksInFlight.forEach(chunk -> chunk.cancel(false));
+        }
+        return count;
+    }
+
+    private static ForkJoinTask<String> submitFormat(TaskFormat format, List<Task> tasks) {
+        return getPool().submit(() -> {
+            StringBuilder lines = new StringBuilder(tasks.size() * 64);
+            for (Task task : tasks) {
+                lines.append(format.format(task)).append(System.lineSeparator());
+            }
+            return lines.toString();
+        });
+    }
+}
@@ -2,6 +2,11 @@ package duke;
 
 import org.junit.jupiter.api.Test;
 
+import duke.exception.DukeCorruptedSaveException;
+import duke.storage.ChunkedTaskParser;
+import duke.storage.SaveFileListener;
+import duke.storage.FileStorage;
+import duke.storage.InMemoryStorage;
 import duke.storage.Storage;
 import duke.logic.tasks.Deadline;
 import duke.logic.tasks.Event;
@@ -10,26 +15,152 @@ import duke.logic.tasks.ToDo;
 
 import java.io.File;
 import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
 import java.time.LocalDate;
 import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.junit.jupiter.api.Assertions.fail;
 
 public class StorageTest {
     @Test
-    public void saveFileTest() {
+    public void saveFileTest() throws IOException {
         ArrayList<Task> saved = new ArrayList<>();
+        Path directory = Files.createTempDirectory("duke-storage-test");
+        Storage storage = new FileStorage(directory.toString());
         try {
-            Storage.loadTaskListFromHardDisk();
+            storage.loadTaskListFromHardDisk();
         } catch (IOException e) {
             fail();
         }
         saved.add(new ToDo("go to school", ""));
         saved.add(new Deadline("read book", "", LocalDate.parse("2020-10-10")));
         saved.add(new Event("read book", "", LocalDate.parse("2020-10-10")));
-        Storage.saveTaskListToHardDisk(saved);
+        storage.saveTaskListToHardDisk(saved);
 
-        File file = new File("src/data/duke.txt");
+        File file = directory.resolve("segments").resolve("manifest.txt").toFile();
         assert (file.exists());
     }
+
+    @Test
+    public void inMemoryStorageLoadsCopiesOfSavedTasks() throws IOException {
+        Storage storage = new InMemoryStorage();
+        ToDo todo = new ToDo("go to school", "");
+        todo.setId(1);
+        Deadline deadline = new Deadline("read book", "", LocalDate.parse("2020-10-10"));
+        deadline.setId(Storage.SEGMENT_SIZE + 1);
+        storage.saveTaskListToHardDisk(List.of(todo, deadline));
+        deadline = (Deadline) deadline.copy();
+        deadline.markAsDone();
+        storage.saveSegment(Storage.getSegmentNumber(deadline.getId()), List.of(deadline));
+
+        List<Task> loaded = storage.loadTaskListFromHardDisk();
+        assertEquals(2, loaded.size());
+        assertEquals("go to school", loaded.get(0).getDescription());
+        assertTrue(loaded.get(1).isDone());
+        loaded.get(0).markAsDone();
+        assertFalse(storage.loadTaskListFromHardDisk().get(0).isDone());
+    }
+
+    @Test
+    public void savedIndexOnlyMatchesTheTasksItWasSavedFor() throws IOException {
+        Path directory = Files.createTempDirectory("duke-storage-test");
+        FileStorage storage = new FileStorage(directory.toString());
+        ToDo todo = new ToDo("go to school", "");
+        todo.setId(1);
+        storage.saveTaskListToHardDisk(List.of(todo));
+        storage.saveIndex("text", new byte[] {1, 2, 3});
+        Path indexFile = directory.resolve("text.index");
+        byte[] bytes = Files.readAllBytes(indexFile);
+        bytes[bytes.length - 1] ^= 1;
+        Files.write(indexFile, bytes);
+
+        FileStorage reopened = new FileStorage(directory.toString());
+        reopened.loadTaskListFromHardDisk();
+        assertNull(reopened.loadIndex("text"));
+        reopened.saveIndex("text", new byte[] {1, 2, 3});
+        assertEquals(ByteBuffer.wrap(new byte[] {1, 2, 3}), reopened.loadIndex("text"));
+        todo.markAsDone();
+        reopened.saveSegment(Storage.getSegmentNumber(todo.getId()), List.of(todo));
+        assertNull(reopened.loadIndex("text"));
+    }
+
+    @Test
+    public void corruptedLineIsReportedWithItsLineInTheFile() throws Exception {
+        StringBuilder lines = new StringBuilder();
+        int lineCount = 0;
+        // more than two chunks of valid lines, so the corrupted line is past a chunk boundary
+        while (lines.length() < 3 * 64 * 1024) {
+            lineCount++;
+            lines.append("T ; 0 ; read book ").append(lineCount).append(" ;  ; ").append(lineCount).append('\n');
+        }
+        lines.append("corrupted\n");
+        byte[] bytes = lines.toString().getBytes(StandardCharsets.UTF_8);
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            for (int linesBefore : new int[] {0, 10}) {
+                try {
+                    ChunkedTaskParser.parse(bytes, StandardCharsets.UTF_8, "segment-0.txt", linesBefore, pool);
+                    fail();
+                } catch (DukeCorruptedSaveException e) {
+                    assertEquals("Line " + (linesBefore + lineCount + 1) + " of segment-0.txt is corrupted!",
+                            e.getMessage());
+                }
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    public void watchReportsOnlyAppendedTasks() throws Exception {
+        Path directory = Files.createTempDirectory("duke-storage-test");
+        FileStorage storage = new FileStorage(directory.toString());
+        ArrayList<Task> saved = new ArrayList<>();
+        ToDo todo = new ToDo("go to school", "");
+        todo.setId(1);
+        saved.add(todo);
+        storage.saveTaskListToHardDisk(saved);
+        storage.loadTaskListFromHardDisk();
+
+        CompletableFuture<List<Task>> appended = new CompletableFuture<>();
+        storage.watch(new SaveFileListener() {
+            @Override
+            public void onTasksAppended(int segment, List<Task> tasks) {
+                appended.complete(tasks);
+            }
+
+            @Override
+            public void onSegmentReplaced(int segment, List<Task> tasks) {
+                appended.completeExceptionally(new AssertionError("segment replaced"));
+            }
+
+            @Override
+            public void onSaveReplaced(List<Task> tasks) {
+                appended.completeExceptionally(new AssertionError("save replaced"));
+            }
+        });
+        try {
+            Files.write(directory.resolve("segments").resolve("segment-0.txt"),
+                    ("T ; 0 ; read book ;  ; 2" + System.lineSeparator()).getBytes(StandardCharsets.UTF_8),
+                    StandardOpenOption.APPEND);
+            List<Task> tasks = appended.get(10, TimeUnit.SECONDS);
+            assertEquals(1, tasks.size());
+            assertEquals("read book", tasks.get(0).getDescription());
+            assertEquals(2, tasks.get(0).getId());
+        } finally {
+            storage.stopWatching();
+        }
+    }
 }
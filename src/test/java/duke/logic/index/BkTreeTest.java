@@ -0,0 +1,47 @@
+package duke.logic.index;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class BkTreeTest {
+    @Test
+    public void editDistance() {
+        assertEquals(0, BkTree.getEditDistance("book", "book"));
+        assertEquals(1, BkTree.getEditDistance("book", "bokk"));
+        assertEquals(2, BkTree.getEditDistance("report", "reprot"));
+        assertEquals(3, BkTree.getEditDistance("kitten", "sitting"));
+        assertEquals(4, BkTree.getEditDistance("", "milk"));
+    }
+
+    @Test
+    public void searchFindsSameWordsAsScan() {
+        Random random = new Random(42);
+        BkTree tree = new BkTree();
+        String[] words = new String[2000];
+        for (int i = 0; i < words.length; i++) {
+            StringBuilder word = new StringBuilder();
+            int length = 1 + random.nextInt(6);
+            for (int j = 0; j < length; j++) {
+                word.append((char) ('a' + random.nextInt(4)));
+            }
+            words[i] = word.toString();
+            tree.add(words[i]);
+        }
+        Map<String, Integer> expected = new HashMap<>();
+        for (String word : words) {
+            int distance = BkTree.getEditDistance(word, "abca");
+            if (distance <= 2) {
+                expected.put(word, distance);
+            }
+        }
+        Map<String, Integer> found = new HashMap<>();
+        tree.search("abca", 2, found::put);
+        assertEquals(expected, found);
+        assertEquals(expected.size(), found.size());
+    }
+}
@@ -0,0 +1,95 @@
+package duke.logic.index;
+
+import duke.logic.tasks.PersistentTaskTree;
+import duke.logic.tasks.Task;
+import duke.logic.tasks.ToDo;
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class FuzzyIndexTest {
+    private static final String[] WORDS = {"read", "report", "book", "books", "milk", "buy", "2021", "call", "mom"};
+    private static final String[] QUERIES = {"reprot", "bok", "milk buy", "2021", "mum", "xyz"};
+
+    private static PersistentTaskTree createTasks() {
+        Random random = new Random(42);
+        List<Task> tasks = new ArrayList<>();
+        for (int id = 1; id <= 500; id++) {
+            StringBuilder description = new StringBuilder();
+            for (int i = 0; i < 1 + random.nextInt(4); i++) {
+                description.append(WORDS[random.nextInt(WORDS.length)]).append(' ');
+            }
+            Task task = new ToDo(description.toString().trim(), "");
+            task.setId(id);
+            tasks.add(task);
+        }
+        return PersistentTaskTree.of(tasks);
+    }
+
+    private static List<String> describe(List<FuzzyIndex.Match> matches) {
+        List<String> descriptions = new ArrayList<>();
+        for (FuzzyIndex.Match match : matches) {
+            descriptions.add(match.getId() + ":" + match.getDistance());
+        }
+        return descriptions;
+    }
+
+    @Test
+    public void restoredIndexAndScanFindTheSameTasks() {
+        PersistentTaskTree tasks = createTasks();
+        FuzzyIndex built = new FuzzyIndex();
+        built.onTasksLoaded(tasks);
+        AtomicInteger failedRestores = new AtomicInteger();
+        FuzzyIndex restored = new FuzzyIndex();
+        restored.restoreFrom(ByteBuffer.wrap(built.toBytes()), failedRestores::incrementAndGet);
+        restored.onTasksLoaded(tasks);
+        for (String query : QUERIES) {
+            List<String> expected = describe(built.search(query));
+            assertEquals(expected, describe(restored.search(query)));
+            assertEquals(expected, describe(FuzzyIndex.scan(query, tasks)));
+        }
+        assertEquals(0, failedRestores.get());
+    }
+
+    @Test
+    public void loadAfterRestoreIsBuiltFromTheTasks() {
+        PersistentTaskTree tasks = createTasks();
+        FuzzyIndex built = new FuzzyIndex();
+        built.onTasksLoaded(tasks);
+        FuzzyIndex restored = new FuzzyIndex();
+        restored.restoreFrom(ByteBuffer.wrap(built.toBytes()), () -> { });
+        restored.onTasksLoaded(tasks);
+        restored.awaitBuilt();
+        assertFalse(restored.isBuildingFromTasks());
+        restored.onTasksLoaded(tasks);
+        // searches scan the tasks until the new build is installed
+        assertTrue(restored.isBuildingFromTasks() || restored.isBuilt());
+        restored.awaitBuilt();
+        assertFalse(restored.isBuildingFromTasks());
+    }
+
+    @Test
+    public void damagedIndexIsBuiltFromTheTasks() {
+        PersistentTaskTree tasks = createTasks();
+        FuzzyIndex built = new FuzzyIndex();
+        built.onTasksLoaded(tasks);
+        byte[] bytes = built.toBytes();
+        AtomicInteger failedRestores = new AtomicInteger();
+        FuzzyIndex restored = new FuzzyIndex();
+        restored.restoreFrom(ByteBuffer.wrap(bytes, 0, bytes.length / 2), failedRestores::incrementAndGet);
+        restored.onTasksLoaded(tasks);
+        for (String query : QUERIES) {
+            assertEquals(describe(built.search(query)), describe(restored.search(query)));
+        }
+        // reported so that the task list saves the index again
+        assertEquals(1, failedRestores.get());
+    }
+}
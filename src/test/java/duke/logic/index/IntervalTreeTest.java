@@ -0,0 +1,94 @@
+package duke.logic.index;
+
+import duke.logic.tasks.Event;
+import duke.logic.tasks.PersistentTaskTree;
+import duke.logic.tasks.Recurrence;
+import duke.logic.tasks.Task;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class IntervalTreeTest {
+    private static final LocalDate START = LocalDate.parse("2021-01-01");
+
+    private static Event createEvent(int id, int firstDay, int lastDay) {
+        Event event = new Event("event " + id, "", START.plusDays(firstDay), START.plusDays(lastDay));
+        event.setId(id);
+        return event;
+    }
+
+    @Test
+    public void findOverlappingIncludesBothEnds() {
+        IntervalTree tree = new IntervalTree();
+        Event first = createEvent(1, 0, 2);
+        Event second = createEvent(2, 3, 3);
+        Event third = createEvent(3, 5, 9);
+        for (Event event : new Event[] {third, first, second}) {
+            tree.add(event, event.getDate(), event.getEndDate());
+        }
+        assertEquals(List.of(first, second), tree.findOverlapping(START.plusDays(2), START.plusDays(4)));
+        assertEquals(List.of(third), tree.findOverlapping(START.plusDays(9), START.plusDays(20)));
+        assertEquals(List.of(), tree.findOverlapping(START.plusDays(4), START.plusDays(4)));
+        assertTrue(tree.remove(second, second.getDate()));
+        assertFalse(tree.remove(second, second.getDate()));
+        assertEquals(List.of(first), tree.findOverlapping(START.plusDays(2), START.plusDays(4)));
+        assertEquals(2, tree.size());
+    }
+
+    @Test
+    public void findOverlappingMatchesScanAfterRandomChanges() {
+        Random random = new Random(42);
+        IntervalTree tree = new IntervalTree();
+        Map<Integer, Event> events = new HashMap<>();
+        for (int i = 1; i <= 5000; i++) {
+            if (!events.isEmpty() && random.nextInt(3) == 0) {
+                Event removed = events.remove(events.keySet().iterator().next());
+                assertTrue(tree.remove(removed, removed.getDate()));
+            } else {
+                int firstDay = random.nextInt(1000);
+                Event event = createEvent(i, firstDay, firstDay + random.nextInt(random.nextInt(5) == 0 ? 100 : 5));
+                tree.add(event, event.getDate(), event.getEndDate());
+                events.put(i, event);
+            }
+            if (i % 100 == 0) {
+                LocalDate from = START.plusDays(random.nextInt(1000));
+                LocalDate to = from.plusDays(random.nextInt(20));
+                List<Task> expected = new ArrayList<>();
+                for (Event event : events.values()) {
+                    if (!event.getEndDate().isBefore(from) && !event.getDate().isAfter(to)) {
+                        expected.add(event);
+                    }
+                }
+                expected.sort(Comparator.comparing(Task::getDate).thenComparingInt(Task::getId));
+                assertEquals(expected, tree.findOverlapping(from, to));
+            }
+        }
+        assertEquals(events.size(), tree.size());
+    }
+
+    @Test
+    public void recurringEventConflictsOncePerOccurrence() {
+        IntervalIndex index = new IntervalIndex();
+        Event trip = createEvent(1, 0, 9);
+        Event standup = createEvent(2, 1, 1);
+        standup.setRecurrence(Recurrence.fromName("week"));
+        Event later = createEvent(3, 30, 31);
+        index.onTasksLoaded(PersistentTaskTree.of(List.of(trip, standup, later)));
+        List<Task[]> conflicts = index.findConflicts(START, START.plusDays(40));
+        assertEquals(2, conflicts.size());
+        assertEquals(trip, conflicts.get(0)[0]);
+        assertEquals(START.plusDays(1), conflicts.get(0)[1].getDate());
+        assertEquals(START.plusDays(8), conflicts.get(1)[1].getDate());
+        assertEquals(8, index.findOverlapping(START, START.plusDays(40)).size());
+    }
+}
@@ -0,0 +1,68 @@
+package duke.logic.index;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Random;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class PrefixTrieTest {
+    @Test
+    public void completeInAlphabeticalOrder() {
+        PrefixTrie trie = new PrefixTrie();
+        for (String word : new String[] {"report", "read", "return", "re", "book", "reports"}) {
+            trie.add(word);
+        }
+        assertEquals(List.of("re", "read", "report", "reports", "return"), trie.complete("re", 10));
+        assertEquals(List.of("re", "read"), trie.complete("re", 2));
+        assertEquals(List.of("book"), trie.complete("b", 10));
+        assertEquals(List.of(), trie.complete("x", 10));
+    }
+
+    @Test
+    public void wordStaysUntilEveryOccurrenceIsRemoved() {
+        PrefixTrie trie = new PrefixTrie();
+        trie.add("milk");
+        trie.add("milk");
+        trie.remove("milk");
+        assertTrue(trie.contains("milk"));
+        trie.remove("milk");
+        assertFalse(trie.contains("milk"));
+        assertEquals(0, trie.size());
+        assertEquals(List.of(), trie.complete("", 10));
+    }
+
+    @Test
+    public void completeMatchesScanAfterRandomChanges() {
+        Random random = new Random(42);
+        PrefixTrie trie = new PrefixTrie();
+        TreeMap<String, Integer> counts = new TreeMap<>();
+        for (int i = 0; i < 5000; i++) {
+            StringBuilder word = new StringBuilder();
+            int length = 1 + random.nextInt(5);
+            for (int j = 0; j < length; j++) {
+                word.append((char) ('a' + random.nextInt(3)));
+            }
+            String w = word.toString();
+            if (counts.containsKey(w) && random.nextBoolean()) {
+                trie.remove(w);
+                counts.merge(w, -1, Integer::sum);
+                counts.remove(w, 0);
+            } else {
+                trie.add(w);
+                counts.merge(w, 1, Integer::sum);
+            }
+        }
+        assertEquals(counts.size(), trie.size());
+        for (String prefix : new String[] {"", "a", "ab", "cab", "bbb"}) {
+            List<String> expected = counts.keySet().stream().filter(w -> w.startsWith(prefix))
+                    .limit(20).collect(Collectors.toList());
+            assertEquals(expected, trie.complete(prefix, 20));
+        }
+    }
+}
@@ -0,0 +1,125 @@
+package duke.logic.index;
+
+import duke.logic.tasks.Deadline;
+import duke.logic.tasks.Event;
+import duke.logic.tasks.PersistentTaskTree;
+import duke.logic.tasks.Task;
+import duke.logic.tasks.ToDo;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.TreeMap;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class TaskCountersTest {
+    private static final LocalDate START_DATE = LocalDate.parse("2021-01-01");
+    private static final String[] TAGS = {"", "work", "home"};
+
+    @Test
+    public void overdueFollowsTheDay() {
+        TaskCounters counters = new TaskCounters();
+        counters.onTasksLoaded(PersistentTaskTree.empty());
+        Deadline deadline = new Deadline("return book", "", START_DATE.plusDays(2));
+        deadline.setId(1);
+        counters.onTaskChanged(null, deadline);
+        assertEquals(0, counters.getSummary(START_DATE).getOverdue());
+        assertEquals(0, counters.getSummary(START_DATE.plusDays(2)).getOverdue());
+        assertEquals(1, counters.getSummary(START_DATE.plusDays(3)).getOverdue());
+
+        Deadline doneDeadline = (Deadline) deadline.copy();
+        doneDeadline.markAsDone();
+        counters.onTaskChanged(deadline, doneDeadline);
+        assertEquals(0, counters.getSummary(START_DATE.plusDays(3)).getOverdue());
+        counters.onTaskChanged(doneDeadline, deadline);
+        assertEquals(1, counters.getSummary(START_DATE.plusDays(3)).getOverdue());
+        assertEquals(0, counters.getSummary(START_DATE).getOverdue());
+    }
+
+    @Test
+    public void countsMatchScanAfterRandomChanges() {
+        Random random = new Random(7);
+        TaskCounters counters = new TaskCounters();
+        List<Task> tasks = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            tasks.add(createTask(random, i + 1));
+        }
+        counters.onTasksLoaded(PersistentTaskTree.of(tasks));
+        int nextId = tasks.size() + 1;
+        for (int i = 0; i < 2000; i++) {
+            int position = random.nextInt(tasks.size());
+            Task oldTask = tasks.get(position);
+            switch (random.nextInt(4)) {
+            case 0:
+                Task added = createTask(random, nextId++);
+                tasks.add(added);
+                counters.onTaskChanged(null, added);
+                break;
+            case 1:
+                tasks.remove(position);
+                counters.onTaskChanged(oldTask, null);
+                break;
+            case 2:
+                Task doneTask = oldTask.copy();
+                doneTask.markAsDone();
+                tasks.set(position, doneTask);
+                counters.onTaskChanged(oldTask, doneTask);
+                break;
+            default:
+                Task taggedTask = oldTask.copy();
+                taggedTask.tag(TAGS[random.nextInt(TAGS.length)]);
+                tasks.set(position, taggedTask);
+                counters.onTaskChanged(oldTask, taggedTask);
+                break;
+            }
+            LocalDate today = START_DATE.plusDays(random.nextInt(60));
+            assertSummaryMatches(tasks, counters.getSummary(today), today);
+        }
+    }
+
+    private static Task createTask(Random random, int id) {
+        String tag = TAGS[random.nextInt(TAGS.length)];
+        Task task;
+        switch (random.nextInt(3)) {
+        case 0:
+            task = new ToDo("read book " + id, tag);
+            break;
+        case 1:
+            task = new Deadline("return book " + id, tag, START_DATE.plusDays(random.nextInt(60)));
+            break;
+        default:
+            task = new Event("project meeting " + id, tag, START_DATE.plusDays(random.nextInt(60)));
+            break;
+        }
+        task.setId(id);
+        return task;
+    }
+
+    private static void assertSummaryMatches(List<Task> tasks, TaskCounters.Summary summary, LocalDate today) {
+        int done = 0;
+        int deadlines = 0;
+        int events = 0;
+        int overdue = 0;
+        TreeMap<String, Integer> tagCounts = new TreeMap<>();
+        for (Task task : tasks) {
+            done += task.isDone() ? 1 : 0;
+            if (task instanceof Deadline) {
+                deadlines++;
+                overdue += !task.isDone() && task.getDate().isBefore(today) ? 1 : 0;
+            } else if (task instanceof Event) {
+                events++;
+            }
+            tagCounts.merge(task.getTag(), 1, Integer::sum);
+        }
+        assertEquals(tasks.size(), summary.getTotal());
+        assertEquals(done, summary.getDone());
+        assertEquals(deadlines, summary.getDeadlines());
+        assertEquals(events, summary.getEvents());
+        assertEquals(tasks.size() - deadlines - events, summary.getTodos());
+        assertEquals(overdue, summary.getOverdue());
+        assertEquals(tagCounts, summary.getTagCounts());
+    }
+}
@@ -0,0 +1,61 @@
+package duke.logic.reminder;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class TimingWheelTest {
+    @Test
+    public void timersExpireAtTheirTick() {
+        Random random = new Random(7);
+        TimingWheel<Long> wheel = new TimingWheel<>(1000);
+        List<TimingWheel.Entry<Long>> entries = new ArrayList<>();
+        for (int i = 0; i < 5000; i++) {
+            // spans every level of the wheel and the overflow
+            long tick = 1000 + (long) Math.pow(2, random.nextDouble() * 26);
+            entries.add(wheel.schedule(tick, tick));
+        }
+        for (int i = 0; i < entries.size(); i += 3) {
+            wheel.cancel(entries.get(i));
+            assertFalse(entries.get(i).isPending());
+        }
+        int expected = entries.size() - (entries.size() + 2) / 3;
+        assertEquals(expected, wheel.size());
+
+        List<Long> expired = new ArrayList<>();
+        long end = 1000 + (1L << 26);
+        long previous = 1000;
+        for (long tick = 1000; tick <= end; tick += 1 + random.nextInt(5000)) {
+            long from = previous;
+            long to = tick;
+            wheel.advance(to, item -> {
+                // each timer expires on the first advance reaching its tick
+                assertTrue(item > from && item <= to, "Timer " + item + " expired between " + from + " and " + to);
+                expired.add(item);
+            });
+            previous = tick;
+        }
+        wheel.advance(end, expired::add);
+        assertEquals(expected, expired.size());
+        assertEquals(0, wheel.size());
+    }
+
+    @Test
+    public void pastTimersExpireOnNextAdvance() {
+        TimingWheel<String> wheel = new TimingWheel<>(100);
+        wheel.schedule("past", 50);
+        wheel.schedule("now", 100);
+        wheel.schedule("next", 101);
+        List<String> expired = new ArrayList<>();
+        wheel.advance(100, expired::add);
+        assertEquals(List.of("past", "now"), expired);
+        wheel.advance(101, expired::add);
+        assertEquals(List.of("past", "now", "next"), expired);
+    }
+}
@@ -5,6 +5,7 @@ import org.junit.jupiter.api.Test;
 import java.time.LocalDate;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 public class EventTest {
     @Test
@@ -12,4 +13,13 @@ public class EventTest {
         assertEquals("[E] [ ] run (at: Oct 20 2020)",
                 new Event("run", "", LocalDate.parse("2020-10-20")).toString());
     }
+
+    @Test
+    public void eventOverSeveralDays() {
+        Event event = new Event("conference", "", LocalDate.parse("2020-10-20"), LocalDate.parse("2020-10-22"));
+        event.setRecurrence(Recurrence.fromName("year"));
+        assertEquals("[E] [ ] conference (at: Oct 20 2020 to Oct 22 2020, every year)", event.toString());
+        assertTrue(event.toSaveInHardDisk().startsWith("E ; 0 ; conference ; 2020-10-20 to 2020-10-22 every year ; "));
+        assertEquals(LocalDate.parse("2021-10-22"), event.getOccurrence(LocalDate.parse("2021-10-20")).getEndDate());
+    }
 }
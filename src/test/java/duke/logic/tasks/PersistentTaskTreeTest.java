@@ -0,0 +1,67 @@
+package duke.logic.tasks;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+public class PersistentTaskTreeTest {
+    private static ToDo createTask(int id) {
+        ToDo task = new ToDo("task " + id, "");
+        task.setId(id);
+        return task;
+    }
+
+    @Test
+    public void positionalAccess() {
+        List<Task> tasks = new ArrayList<>();
+        for (int id = 1; id <= 100; id++) {
+            tasks.add(createTask(id * 2));
+        }
+        PersistentTaskTree tree = PersistentTaskTree.of(tasks);
+        assertEquals(100, tree.size());
+        for (int i = 0; i < 100; i++) {
+            assertSame(tasks.get(i), tree.getAt(i));
+            assertEquals(i, tree.indexOf(tasks.get(i).getId()));
+        }
+        assertEquals(-1, tree.indexOf(3));
+        assertEquals(List.of(tasks.get(1), tasks.get(2)), tree.getRange(4, 7));
+    }
+
+    @Test
+    public void oldVersionsAreUnchanged() {
+        PersistentTaskTree empty = PersistentTaskTree.empty();
+        PersistentTaskTree one = empty.put(createTask(1));
+        PersistentTaskTree two = one.put(createTask(2));
+        Task doneTask = createTask(1);
+        doneTask.markAsDone();
+        PersistentTaskTree changed = two.put(doneTask);
+        PersistentTaskTree removed = changed.remove(2);
+
+        assertEquals(0, empty.size());
+        assertEquals(1, one.size());
+        assertEquals(2, two.size());
+        assertEquals(" ", two.get(1).getStatusIcon());
+        assertEquals("X", changed.get(1).getStatusIcon());
+        assertEquals(1, removed.size());
+        assertNull(removed.get(2));
+        assertEquals(2, changed.size());
+    }
+
+    @Test
+    public void iteratesInIdOrder() {
+        PersistentTaskTree tree = PersistentTaskTree.empty();
+        for (int id : new int[] {5, 3, 9, 1, 7}) {
+            tree = tree.put(createTask(id));
+        }
+        List<Integer> ids = new ArrayList<>();
+        for (Task task : tree) {
+            ids.add(task.getId());
+        }
+        assertEquals(List.of(1, 3, 5, 7, 9), ids);
+    }
+}
@@ -0,0 +1,45 @@
+package duke.logic.tasks;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class RecurrenceTest {
+    @Test
+    public void occurrencesWithinWindow() {
+        LocalDate start = LocalDate.parse("2021-01-04");
+        assertEquals(List.of(LocalDate.parse("2021-01-18"), LocalDate.parse("2021-01-25")),
+                Recurrence.WEEK.getOccurrences(start, LocalDate.parse("2021-01-12"), LocalDate.parse("2021-01-25"),
+                        10));
+        assertEquals(List.of(start), Recurrence.WEEK.getOccurrences(start, null, null, 1));
+        assertEquals(List.of(), Recurrence.WEEK.getOccurrences(start, null, LocalDate.parse("2021-01-03"), 10));
+    }
+
+    @Test
+    public void farWindowOnlyComputesItsOccurrences() {
+        LocalDate start = LocalDate.parse("2021-01-01");
+        assertEquals(List.of(LocalDate.parse("3021-01-01")),
+                Recurrence.DAY.getOccurrences(start, LocalDate.parse("3021-01-01"), LocalDate.parse("3021-01-01"),
+                        10));
+    }
+
+    @Test
+    public void monthlyOccurrencesDontDrift() {
+        LocalDate start = LocalDate.parse("2021-01-31");
+        assertEquals(List.of(LocalDate.parse("2021-02-28"), LocalDate.parse("2021-03-31")),
+                Recurrence.MONTH.getOccurrences(start, LocalDate.parse("2021-02-01"), null, 2));
+    }
+
+    @Test
+    public void recurringEventIsSavedAsOneRule() {
+        Event event = new Event("standup", "", LocalDate.parse("2021-01-04"));
+        event.setRecurrence(Recurrence.WEEK);
+        event.setId(3);
+        assertEquals("E ; 0 ; standup ; 2021-01-04 every week ;  ; 3", event.toSaveInHardDisk());
+        assertEquals("[E] [ ] standup (at: Jan 11 2021, every week)",
+                event.getOccurrence(LocalDate.parse("2021-01-11")).toString());
+    }
+}
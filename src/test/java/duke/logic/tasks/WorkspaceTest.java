@@ -0,0 +1,101 @@
+package duke.logic.tasks;
+
+import duke.storage.InMemoryStorage;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+public class WorkspaceTest {
+    /**
+     * Records the descriptions of the tasks added to the lists it follows.
+     */
+    private static class AddedTasks implements TaskListListener {
+        private final List<String> descriptions = new ArrayList<>();
+
+        @Override
+        public void onTasksLoaded(PersistentTaskTree tasks) {
+        }
+
+        @Override
+        public synchronized void onTaskChanged(Task oldTask, Task newTask) {
+            if (oldTask == null) {
+                descriptions.add(newTask.getDescription());
+            }
+        }
+
+        private synchronized List<String> get() {
+            return new ArrayList<>(descriptions);
+        }
+    }
+
+    private static void addTasks(TaskList taskList, int count) {
+        for (int i = 0; i < count; i++) {
+            taskList.addTask(new ToDo("task " + i, ""));
+        }
+    }
+
+    @Test
+    public void commandsAndListenersFollowTheListInUse() {
+        Workspace workspace = new Workspace(new InMemoryStorage());
+        AddedTasks addedTasks = new AddedTasks();
+        workspace.addListener(addedTasks);
+        TaskList defaultList = workspace.getActiveList();
+        defaultList.addTask(new ToDo("read book", ""));
+
+        assertEquals("Now using the list work", workspace.use("work"));
+        assertEquals("work", workspace.getActiveName());
+        TaskList workList = workspace.getActiveList();
+        workList.addTask(new ToDo("write report", ""));
+        workList.addTask(new ToDo("call client", ""));
+        defaultList.addTask(new ToDo("buy milk", ""));
+        assertEquals(2, workList.getSize());
+        assertEquals(List.of("read book", "write report", "call client"), addedTasks.get());
+
+        assertEquals("You are already using the list work", workspace.use("work"));
+        workspace.use(Workspace.DEFAULT_LIST_NAME);
+        assertSame(defaultList, workspace.getActiveList());
+        assertEquals(2, workspace.getActiveList().getSize());
+        workspace.close();
+    }
+
+    @Test
+    public void leastRecentlyUsedListsAreUnloaded() {
+        System.setProperty(Workspace.MAX_CACHED_TASKS_PROPERTY, "4");
+        try {
+            Workspace workspace = new Workspace(new InMemoryStorage());
+            TaskList defaultList = workspace.getActiveList();
+            addTasks(defaultList, 2);
+            workspace.use("home");
+            TaskList homeList = workspace.getActiveList();
+            addTasks(homeList, 2);
+            workspace.use("work");
+            TaskList workList = workspace.getActiveList();
+            addTasks(workList, 10);
+
+            // the list in use stays loaded over the limit
+            assertEquals("You are already using the list work", workspace.use("work"));
+            assertSame(workList, workspace.getActiveList());
+            assertEquals(10, workList.getSize());
+
+            // the least recently used lists are dropped until the loaded lists fit in the limit
+            workspace.use("home");
+            assertSame(homeList, workspace.getActiveList());
+            workspace.use(Workspace.DEFAULT_LIST_NAME);
+            assertFalse(workspace.getActiveList() == defaultList);
+            assertEquals(2, workspace.getActiveList().getSize());
+            workspace.use("home");
+            assertSame(homeList, workspace.getActiveList());
+            workspace.use("work");
+            assertFalse(workspace.getActiveList() == workList);
+            assertEquals(10, workspace.getActiveList().getSize());
+            workspace.close();
+        } finally {
+            System.clearProperty(Workspace.MAX_CACHED_TASKS_PROPERTY);
+        }
+    }
+}
@@ -0,0 +1,138 @@
+package duke.storage;
+
+import duke.exception.DukeImportException;
+import duke.logic.command.ImportCommand;
+import duke.logic.tasks.Deadline;
+import duke.logic.tasks.Event;
+import duke.logic.tasks.Recurrence;
+import duke.logic.tasks.Task;
+import duke.logic.tasks.TaskList;
+import duke.logic.tasks.ToDo;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.fail;
+
+public class TaskTransferTest {
+    private static List<Task> createTasks() {
+        List<Task> tasks = new ArrayList<>();
+        tasks.add(new ToDo("buy milk, eggs and \"bread\"", "home"));
+        Deadline deadline = new Deadline("return book", "", LocalDate.parse("2021-03-01"));
+        deadline.markAsDone();
+        deadline.setDoneDate(LocalDate.parse("2021-02-27"));
+        tasks.add(deadline);
+        tasks.add(new Event("say \"hi\" \\ caf\u00e9", "work, urgent", LocalDate.parse("2021-04-10")));
+        Event conference = new Event("conference", "", LocalDate.parse("2021-05-01"), LocalDate.parse("2021-05-03"));
+        conference.setRecurrence(Recurrence.YEAR);
+        tasks.add(conference);
+        Deadline rent = new Deadline("pay rent", "", LocalDate.parse("2021-01-31"));
+        rent.setRecurrence(Recurrence.MONTH);
+        tasks.add(rent);
+        return tasks;
+    }
+
+    private static List<String> toSaveLines(List<Task> tasks) {
+        List<String> lines = new ArrayList<>();
+        for (Task task : tasks) {
+            lines.add(task.toSaveInHardDisk());
+        }
+        return lines;
+    }
+
+    @Test
+    public void exportedTasksAreImportedUnchanged() throws Exception {
+        Path directory = Files.createTempDirectory("duke-transfer-test");
+        List<Task> tasks = createTasks();
+        for (String fileName : new String[] {"tasks.csv", "tasks.jsonl"}) {
+            Path file = directory.resolve(fileName);
+            TaskFormat format = TaskFormat.forFileName(fileName);
+            assertEquals(tasks.size(), TaskTransfer.exportTasks(tasks, file, format));
+            assertEquals(toSaveLines(tasks), toSaveLines(TaskTransfer.importTasks(file, format)));
+        }
+    }
+
+    @Test
+    public void csvFieldsWithCommasAndQuotesAreQuoted() {
+        CsvTaskFormat format = new CsvTaskFormat();
+        String line = "todo,false,\"buy milk, eggs and \"\"bread\"\"\",,home,";
+        Task task = format.parse(line);
+        assertEquals("buy milk, eggs and \"bread\"", task.getDescription());
+        assertEquals("home", task.getTag());
+        assertTrue(format.format(task).startsWith(line));
+        // files exported before the end date and the recurrence were added
+        assertTrue(format.isHeader("type,done,description,date,tag,doneDate"));
+        try {
+            format.parse("todo,false,read,,,,,week");
+            fail();
+        } catch (IllegalArgumentException e) {
+            assertEquals("a todo can't recur", e.getMessage());
+        }
+        try {
+            format.parse("todo,false,\"not closed");
+            fail();
+        } catch (IllegalArgumentException e) {
+            assertEquals("a quoted field is not closed", e.getMessage());
+        }
+    }
+
+    @Test
+    public void jsonEscapesAreRead() {
+        JsonLinesTaskFormat format = new JsonLinesTaskFormat();
+        Task task = format.parse("{ \"type\": \"todo\", \"done\": 1,"
+                + " \"description\": \"say \\\"hi\\\" \\\\ caf\\u00e9\", \"tag\": null, \"extra\": 42 }");
+        assertEquals("say \"hi\" \\ caf\u00e9", task.getDescription());
+        assertEquals("", task.getTag());
+        assertTrue(task.isDone());
+        assertEquals(task.getDescription(), format.parse(format.format(task)).getDescription());
+    }
+
+    @Test
+    public void invalidLineIsReportedWithItsLineNumber() throws Exception {
+        Path file = Files.createTempDirectory("duke-transfer-test").resolve("tasks.csv");
+        List<String> lines = new ArrayList<>();
+        lines.add(new CsvTaskFormat().getHeader());
+        // past the first chunk of lines, which is parsed separately
+        for (int i = 1; i <= 9000; i++) {
+            lines.add("todo,false,task " + i + ",,,");
+        }
+        lines.add("meeting,false,not a task,,,");
+        Files.write(file, lines, StandardCharsets.UTF_8);
+        try {
+            TaskTransfer.importTasks(file, new CsvTaskFormat());
+            fail();
+        } catch (DukeImportException e) {
+            assertEquals("OOPS!!! Line 9002 is invalid: unknown task type 'meeting'", e.getMessage());
+        }
+    }
+
+    @Test
+    public void textBreakingTheSaveFileIsNotImported() throws Exception {
+        Path directory = Files.createTempDirectory("duke-transfer-test");
+        TaskList taskList = new TaskList(new FileStorage(directory.resolve("data").toString()));
+        taskList.addTask(new ToDo("go to school", ""));
+        String[][] files = {
+            {"tasks.jsonl", "{\"type\":\"todo\",\"description\":\"first\\nsecond\"}"},
+            {"tasks.csv", "todo,false,a ; b,,,"},
+            {"tasks.csv", "todo,false,read,,work ;,"},
+        };
+        for (String[] file : files) {
+            Path path = directory.resolve(file[0]);
+            Files.write(path, List.of(file[1]), StandardCharsets.UTF_8);
+            String result = new ImportCommand(path, TaskFormat.forFileName(file[0])).executeCommand(taskList);
+            assertTrue(result.startsWith("OOPS!!! Line 1 is invalid: "), result);
+        }
+        taskList.close();
+
+        TaskList reloaded = new TaskList(new FileStorage(directory.resolve("data").toString()));
+        assertEquals(1, reloaded.getSize());
+        reloaded.close();
+    }
+}